@@ -16,11 +16,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.script.ScriptEngine;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.graalvm.polyglot.Engine;
+import org.openhab.automation.jsscripting.internal.fs.CachingFileSystem;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 
@@ -32,6 +39,15 @@ import com.oracle.truffle.js.scriptengine.GraalJSEngineFactory;
 @Component(service = ScriptEngineFactory.class)
 public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
+    private static final long FILE_SYSTEM_CACHE_TIME_TO_LIVE = TimeUnit.SECONDS.toMillis(10);
+
+    private final Logger logger = LoggerFactory.getLogger(GraalJSScriptEngineFactory.class);
+
+    private final CachingFileSystem.Cache fileSystemCache = new CachingFileSystem.Cache(FILE_SYSTEM_CACHE_TIME_TO_LIVE);
+
+    // created on first use, shared by all script engines so that the code of scripts and modules is cached
+    private @Nullable Engine polyglotEngine;
+
     @Override
     public List<String> getScriptTypes() {
         List<String> scriptTypes = new ArrayList<>();
@@ -50,7 +66,30 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     @Override
     public ScriptEngine createScriptEngine(String scriptType) {
-        OpenhabGraalJSScriptEngine engine = new OpenhabGraalJSScriptEngine();
+        long start = System.nanoTime();
+        OpenhabGraalJSScriptEngine engine = new OpenhabGraalJSScriptEngine(getPolyglotEngine(), fileSystemCache);
+        logger.debug("Created script engine for script type {} in {} ms", scriptType,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         return new DebuggingGraalScriptEngine<>(engine);
     }
+
+    private synchronized Engine getPolyglotEngine() {
+        Engine localEngine = polyglotEngine;
+        if (localEngine == null) {
+            localEngine = Engine.newBuilder().allowExperimentalOptions(true).build();
+            polyglotEngine = localEngine;
+        }
+        return localEngine;
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
+        Engine localEngine = polyglotEngine;
+        if (localEngine != null) {
+            // also closes the contexts of the script engines which have not been closed yet
+            localEngine.close(true);
+            polyglotEngine = null;
+        }
+        fileSystemCache.clear();
+    }
 }
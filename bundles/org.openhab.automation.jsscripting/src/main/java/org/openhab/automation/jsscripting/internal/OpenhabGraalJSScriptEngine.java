@@ -30,7 +30,8 @@ import javax.script.ScriptContext;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.graalvm.polyglot.Context;
-import org.openhab.automation.jsscripting.internal.fs.DelegatingFileSystem;
+import org.graalvm.polyglot.Engine;
+import org.openhab.automation.jsscripting.internal.fs.CachingFileSystem;
 import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChannel;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocable;
 import org.openhab.core.OpenHAB;
@@ -62,15 +63,18 @@ public class OpenhabGraalJSScriptEngine extends InvocationInterceptingScriptEngi
     /**
      * Creates an implementation of ScriptEngine (& Invocable), wrapping the contained engine, that tracks the script
      * lifecycle and provides hooks for scripts to do so too.
+     *
+     * @param engine the polyglot engine shared by all scripts, which caches the code of scripts and modules
+     * @param fileSystemCache the cache for module lookups shared by all scripts
      */
-    public OpenhabGraalJSScriptEngine() {
+    public OpenhabGraalJSScriptEngine(Engine engine, CachingFileSystem.Cache fileSystemCache) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
-        delegate = GraalJSScriptEngine.create(null,
+        delegate = GraalJSScriptEngine.create(engine,
                 Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true)
                         .option("js.commonjs-require-cwd", MODULE_DIR).option("js.nashorn-compat", "true") // to ease
                                                                                                            // migration
                         .option("js.commonjs-require", "true") // enable CommonJS module support
-                        .fileSystem(new DelegatingFileSystem(FileSystems.getDefault().provider()) {
+                        .fileSystem(new CachingFileSystem(FileSystems.getDefault().provider(), fileSystemCache) {
                             @Override
                             public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options,
                                     FileAttribute<?>... attrs) throws IOException {
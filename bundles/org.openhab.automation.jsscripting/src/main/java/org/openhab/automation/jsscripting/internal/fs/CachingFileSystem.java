@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.fs;
+
+import java.io.IOException;
+import java.nio.file.AccessMode;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link DelegatingFileSystem} caching the lookups done while resolving CommonJS modules. Each require() probes
+ * several candidate files and node_modules folders, and every script requiring the same modules probes the same
+ * paths again. Real paths and missing files are remembered for a short time, so that new or moved modules are found
+ * shortly after.
+ *
+ * @author agent - Initial contribution
+ */
+public class CachingFileSystem extends DelegatingFileSystem {
+
+    /**
+     * Cache shared by the file systems of all script engines
+     */
+    public static class Cache {
+        private static final int CLEANUP_SIZE = 1000;
+
+        private final long timeToLive;
+        private final LongSupplier currentTimeMillis;
+        private final Map<Path, CachedPath> realPaths = new ConcurrentHashMap<>();
+        private final Map<Path, Long> missingPaths = new ConcurrentHashMap<>();
+
+        /**
+         * @param timeToLive the time in milliseconds a lookup is cached
+         */
+        public Cache(long timeToLive) {
+            this(timeToLive, System::currentTimeMillis);
+        }
+
+        /**
+         * @param timeToLive the time in milliseconds a lookup is cached
+         * @param currentTimeMillis returns the current time in milliseconds
+         */
+        Cache(long timeToLive, LongSupplier currentTimeMillis) {
+            this.timeToLive = timeToLive;
+            this.currentTimeMillis = currentTimeMillis;
+        }
+
+        public void clear() {
+            realPaths.clear();
+            missingPaths.clear();
+        }
+
+        private boolean isMissing(Path path) {
+            Long expiresAt = missingPaths.get(path);
+            return expiresAt != null && expiresAt > currentTimeMillis.getAsLong();
+        }
+
+        private void setMissing(Path path) {
+            if (missingPaths.size() > CLEANUP_SIZE) {
+                long now = currentTimeMillis.getAsLong();
+                missingPaths.values().removeIf(expiresAt -> expiresAt <= now);
+            }
+            missingPaths.put(path, currentTimeMillis.getAsLong() + timeToLive);
+        }
+
+        private Path getRealPath(Path path) {
+            CachedPath cachedPath = realPaths.get(path);
+            return cachedPath != null && cachedPath.expiresAt > currentTimeMillis.getAsLong() ? cachedPath.realPath
+                    : null;
+        }
+
+        private void setRealPath(Path path, Path realPath) {
+            if (realPaths.size() > CLEANUP_SIZE) {
+                long now = currentTimeMillis.getAsLong();
+                realPaths.values().removeIf(cachedPath -> cachedPath.expiresAt <= now);
+            }
+            realPaths.put(path, new CachedPath(realPath, currentTimeMillis.getAsLong() + timeToLive));
+        }
+    }
+
+    private static class CachedPath {
+        private final Path realPath;
+        private final long expiresAt;
+
+        CachedPath(Path realPath, long expiresAt) {
+            this.realPath = realPath;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Cache cache;
+
+    public CachingFileSystem(FileSystemProvider delegate, Cache cache) {
+        super(delegate);
+        this.cache = cache;
+    }
+
+    @Override
+    public void checkAccess(Path path, Set<? extends AccessMode> modes, LinkOption... linkOptions) throws IOException {
+        if (cache.isMissing(path)) {
+            throw new NoSuchFileException(path.toString());
+        }
+        try {
+            super.checkAccess(path, modes, linkOptions);
+        } catch (NoSuchFileException e) {
+            cache.setMissing(path);
+            throw e;
+        }
+    }
+
+    @Override
+    public Path toRealPath(Path path, LinkOption... linkOptions) throws IOException {
+        if (linkOptions.length > 0) {
+            return super.toRealPath(path, linkOptions);
+        }
+        Path realPath = cache.getRealPath(path);
+        if (realPath == null) {
+            realPath = super.toRealPath(path, linkOptions);
+            cache.setRealPath(path, realPath);
+        }
+        return realPath;
+    }
+}
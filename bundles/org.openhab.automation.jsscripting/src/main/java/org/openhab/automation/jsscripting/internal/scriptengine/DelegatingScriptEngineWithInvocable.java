@@ -29,7 +29,7 @@ import javax.script.ScriptException;
  * @author Jonathan Gilbert - Initial contribution
  */
 public abstract class DelegatingScriptEngineWithInvocable<T extends ScriptEngine & Invocable>
-        implements ScriptEngine, Invocable {
+        implements ScriptEngine, Invocable, AutoCloseable {
     protected T delegate;
 
     public DelegatingScriptEngineWithInvocable(T delegate) {
@@ -125,4 +125,11 @@ public abstract class DelegatingScriptEngineWithInvocable<T extends ScriptEngine
     public <T> T getInterface(Object o, Class<T> aClass) {
         return delegate.getInterface(o, aClass);
     }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.mockito.Mockito.mock;
+import static org.openhab.core.automation.module.script.ScriptEngineFactory.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.graalvm.polyglot.Engine;
+import org.openhab.automation.jsscripting.internal.fs.CachingFileSystem;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the creation of several script engines which all require the same modules, as it happens when openHAB
+ * starts or the scripts are reloaded. The engines are either created by the factory, which shares the polyglot engine
+ * and the module lookups, or each with its own polyglot engine. It is not run by the build, start it with the main
+ * method from the test classpath.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GraalJSScriptEngineStartupBenchmark {
+
+    private static final int MODULES = 10;
+    private static final int FUNCTIONS_PER_MODULE = 50;
+
+    @Param({ "10" })
+    public int engines;
+
+    @Param({ "true", "false" })
+    public boolean shared;
+
+    private final ScriptExtensionAccessor scriptExtensionAccessor = mock(ScriptExtensionAccessor.class);
+
+    private final GraalJSScriptEngineFactory factory = new GraalJSScriptEngineFactory();
+    private String script = "";
+    private Path configFolder = Path.of("");
+
+    @Setup
+    public void setUp() throws IOException {
+        configFolder = Files.createTempDirectory("jsscripting-benchmark");
+        // must be set before the script engine class is loaded, which resolves the module folder once
+        System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, configFolder.toString());
+        Path nodeModules = Files.createDirectories(
+                configFolder.resolve(Path.of("automation", "lib", "javascript", "personal", "node_modules")));
+
+        StringBuilder common = new StringBuilder();
+        for (int i = 0; i < FUNCTIONS_PER_MODULE; i++) {
+            common.append("exports.function").append(i).append(" = function (value) { return value * ").append(i)
+                    .append(" + '").append(i).append("'; };\n");
+        }
+        writeModule(nodeModules, "benchmark-common", common.toString());
+
+        StringBuilder requires = new StringBuilder();
+        for (int i = 0; i < MODULES; i++) {
+            StringBuilder module = new StringBuilder("const common = require('benchmark-common');\n");
+            for (int j = 0; j < FUNCTIONS_PER_MODULE; j++) {
+                module.append("exports.function").append(j).append(" = function (value) { return common.function")
+                        .append(j).append("(value) + ").append(i).append("; };\n");
+            }
+            writeModule(nodeModules, "benchmark-module" + i, module.toString());
+            requires.append("require('benchmark-module").append(i).append("').function0(1);\n");
+        }
+        script = requires.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        factory.deactivate();
+        try (Stream<Path> paths = Files.walk(configFolder)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(file -> file.delete());
+        }
+    }
+
+    @Benchmark
+    public void createScriptEngines() throws Exception {
+        for (int i = 0; i < engines; i++) {
+            if (shared) {
+                ScriptEngine engine = factory.createScriptEngine("application/javascript");
+                try {
+                    run(engine, i);
+                } finally {
+                    ((AutoCloseable) engine).close();
+                }
+            } else {
+                try (Engine polyglotEngine = Engine.newBuilder().allowExperimentalOptions(true).build()) {
+                    OpenhabGraalJSScriptEngine engine = new OpenhabGraalJSScriptEngine(polyglotEngine,
+                            new CachingFileSystem.Cache(0));
+                    try {
+                        run(engine, i);
+                    } finally {
+                        engine.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private void run(ScriptEngine engine, int index) throws ScriptException {
+        engine.getContext().setAttribute(CONTEXT_KEY_ENGINE_IDENTIFIER, "benchmark-" + index,
+                ScriptContext.ENGINE_SCOPE);
+        engine.getContext().setAttribute(CONTEXT_KEY_EXTENSION_ACCESSOR, scriptExtensionAccessor,
+                ScriptContext.ENGINE_SCOPE);
+        engine.eval(script);
+    }
+
+    private static void writeModule(Path nodeModules, String name, String content) throws IOException {
+        Path moduleFolder = Files.createDirectories(nodeModules.resolve(name));
+        Files.writeString(moduleFolder.resolve("index.js"), content, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GraalJSScriptEngineStartupBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.fs;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.AccessMode;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link CachingFileSystem}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CachingFileSystemTest {
+
+    private static final long TIME_TO_LIVE = 10000;
+
+    private static final Set<AccessMode> READ = Set.of(AccessMode.READ);
+
+    @TempDir
+    public Path folder;
+
+    private final AtomicLong currentTimeMillis = new AtomicLong(1000000);
+
+    private CachingFileSystem.Cache createCache() {
+        return new CachingFileSystem.Cache(TIME_TO_LIVE, currentTimeMillis::get);
+    }
+
+    private static CachingFileSystem createFileSystem(CachingFileSystem.Cache cache) {
+        return new CachingFileSystem(FileSystems.getDefault().provider(), cache);
+    }
+
+    @Test
+    public void missingPathIsRememberedUntilItExpires() throws IOException {
+        CachingFileSystem fileSystem = createFileSystem(createCache());
+        Path module = folder.resolve("module.js");
+
+        assertThrows(NoSuchFileException.class, () -> fileSystem.checkAccess(module, READ));
+        Files.writeString(module, "exports.value = 1;");
+        currentTimeMillis.addAndGet(TIME_TO_LIVE - 1);
+        assertThrows(NoSuchFileException.class, () -> fileSystem.checkAccess(module, READ));
+
+        currentTimeMillis.incrementAndGet();
+        assertDoesNotThrow(() -> fileSystem.checkAccess(module, READ));
+    }
+
+    @Test
+    public void missingPathIsSharedByAllFileSystems() throws IOException {
+        CachingFileSystem.Cache cache = createCache();
+        Path module = folder.resolve("module.js");
+
+        assertThrows(NoSuchFileException.class, () -> createFileSystem(cache).checkAccess(module, READ));
+        Files.writeString(module, "exports.value = 1;");
+
+        assertThrows(NoSuchFileException.class, () -> createFileSystem(cache).checkAccess(module, READ));
+    }
+
+    @Test
+    public void existingPathIsNotRememberedAsMissing() throws IOException {
+        CachingFileSystem fileSystem = createFileSystem(createCache());
+        Path module = Files.writeString(folder.resolve("module.js"), "exports.value = 1;");
+
+        assertDoesNotThrow(() -> fileSystem.checkAccess(module, READ));
+        Files.delete(module);
+
+        assertThrows(NoSuchFileException.class, () -> fileSystem.checkAccess(module, READ));
+    }
+
+    @Test
+    public void clearedCacheForgetsMissingPaths() throws IOException {
+        CachingFileSystem.Cache cache = createCache();
+        CachingFileSystem fileSystem = createFileSystem(cache);
+        Path module = folder.resolve("module.js");
+
+        assertThrows(NoSuchFileException.class, () -> fileSystem.checkAccess(module, READ));
+        Files.writeString(module, "exports.value = 1;");
+        cache.clear();
+
+        assertDoesNotThrow(() -> fileSystem.checkAccess(module, READ));
+    }
+
+    @Test
+    public void realPathIsRememberedUntilItExpires() throws IOException {
+        CachingFileSystem fileSystem = createFileSystem(createCache());
+        Path module = Files.writeString(folder.resolve("module.js"), "exports.value = 1;");
+        Path realPath = module.toRealPath();
+
+        assertThat(fileSystem.toRealPath(module), is(realPath));
+        Files.delete(module);
+        currentTimeMillis.addAndGet(TIME_TO_LIVE - 1);
+        assertThat(fileSystem.toRealPath(module), is(realPath));
+
+        currentTimeMillis.incrementAndGet();
+        assertThrows(NoSuchFileException.class, () -> fileSystem.toRealPath(module));
+    }
+
+    @Test
+    public void missingRealPathIsNotCached() throws IOException {
+        CachingFileSystem fileSystem = createFileSystem(createCache());
+        Path module = folder.resolve("module.js");
+
+        assertThrows(NoSuchFileException.class, () -> fileSystem.toRealPath(module));
+        Files.writeString(module, "exports.value = 1;");
+
+        assertThat(fileSystem.toRealPath(module), is(module.toRealPath()));
+    }
+
+    @Test
+    public void realPathWithLinkOptionsIsNotCached() throws IOException {
+        CachingFileSystem fileSystem = createFileSystem(createCache());
+        Path module = Files.writeString(folder.resolve("module.js"), "exports.value = 1;");
+
+        fileSystem.toRealPath(module, LinkOption.NOFOLLOW_LINKS);
+        Files.delete(module);
+
+        assertThrows(NoSuchFileException.class, () -> fileSystem.toRealPath(module, LinkOption.NOFOLLOW_LINKS));
+    }
+}
@@ -278,6 +278,7 @@ public class BlueGigaBridgeHandler extends AbstractBluetoothBridgeHandler<BlueGi
 
                     // Get maximum parallel connections
                     maxConnections = readMaxConnections().getMaxconn();
+                    limitConnections(maxConnections);
 
                     // Close all connections so we start from a known position
                     for (int connection = 0; connection < maxConnections; connection++) {
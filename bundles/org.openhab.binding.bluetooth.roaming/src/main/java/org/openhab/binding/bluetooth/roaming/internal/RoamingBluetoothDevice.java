@@ -25,6 +25,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.BluetoothAdapter;
 import org.openhab.binding.bluetooth.BluetoothAddress;
 import org.openhab.binding.bluetooth.BluetoothCharacteristic;
+import org.openhab.binding.bluetooth.BluetoothConnectionScheduler;
 import org.openhab.binding.bluetooth.BluetoothDescriptor;
 import org.openhab.binding.bluetooth.BluetoothDevice;
 import org.openhab.binding.bluetooth.BluetoothDeviceListener;
@@ -72,6 +73,7 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
     protected @Nullable BluetoothDevice getDelegate() {
         BluetoothDevice newDelegate = null;
         int newRssi = Integer.MIN_VALUE;
+        boolean newHasCapacity = false;
         for (BluetoothDevice device : devices.keySet()) {
             ConnectionState state = device.getConnectionState();
             if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
@@ -79,8 +81,15 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
                 break;
             }
             Integer rssi = device.getRssi();
-            if (rssi != null && (newDelegate == null || rssi > newRssi)) {
+            if (rssi == null) {
+                continue;
+            }
+            // an adapter with a free connection is preferred, so connecting does not wait for other devices
+            boolean hasCapacity = hasConnectionCapacity(device);
+            if (newDelegate == null || (hasCapacity && !newHasCapacity)
+                    || (hasCapacity == newHasCapacity && rssi > newRssi)) {
                 newRssi = rssi;
+                newHasCapacity = hasCapacity;
                 newDelegate = device;
             }
         }
@@ -91,6 +100,11 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
         return newDelegate;
     }
 
+    private boolean hasConnectionCapacity(BluetoothDevice device) {
+        BluetoothConnectionScheduler scheduler = device.getAdapter().getConnectionScheduler();
+        return scheduler == null || scheduler.hasCapacity(device.getAddress());
+    }
+
     private BluetoothAdapter getAdapter(@Nullable BluetoothDevice delegate) {
         if (delegate != null) {
             return delegate.getAdapter();
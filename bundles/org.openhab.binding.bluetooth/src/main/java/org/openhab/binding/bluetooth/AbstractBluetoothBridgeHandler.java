@@ -59,8 +59,13 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private BaseBluetoothBridgeHandlerConfiguration config = new BaseBluetoothBridgeHandlerConfiguration();
 
+    private final BluetoothConnectionScheduler connectionScheduler = new BluetoothConnectionScheduler(
+            config.maxConnections);
+
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    private @Nullable ScheduledFuture<?> scanRecordDispatchJob;
+
     /**
      * Constructor
      *
@@ -88,10 +93,19 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
+        connectionScheduler.setMaxConnections(config.maxConnections);
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
                 TimeUnit.SECONDS);
+
+        // scan records held back by the devices are dispatched together, instead of one task per device
+        int rssiIntervalSecs = Math.max(0, config.rssiUpdateInterval);
+        devices.values().forEach(device -> device.setScanRecordInterval(rssiIntervalSecs, TimeUnit.SECONDS));
+        if (rssiIntervalSecs > 0) {
+            scanRecordDispatchJob = scheduler.scheduleWithFixedDelay(this::dispatchPendingScanRecords,
+                    rssiIntervalSecs, rssiIntervalSecs, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -102,6 +116,12 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         }
         this.inactiveRemovalJob = null;
 
+        ScheduledFuture<?> scanRecordDispatchJob = this.scanRecordDispatchJob;
+        if (scanRecordDispatchJob != null) {
+            scanRecordDispatchJob.cancel(true);
+        }
+        this.scanRecordDispatchJob = null;
+
         synchronized (devices) {
             for (BD device : devices.values()) {
                 removeDevice(device);
@@ -113,6 +133,10 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
 
+    private void dispatchPendingScanRecords() {
+        devices.values().forEach(BaseBluetoothDevice::dispatchPendingScanRecord);
+    }
+
     private void removeInactiveDevices() {
         // clean up orphaned entries
         synchronized (devices) {
@@ -184,13 +208,39 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         // We need to keep the adapter in discovery mode as we otherwise won't get any RSSI updates either
     }
 
+    @Override
+    public BluetoothConnectionScheduler getConnectionScheduler() {
+        return connectionScheduler;
+    }
+
+    /**
+     * Limits the concurrent connections to the number supported by the adapter, if it is less than configured.
+     *
+     * @param adapterMaxConnections the maximum number of connections supported by the adapter
+     */
+    protected void limitConnections(int adapterMaxConnections) {
+        connectionScheduler.setMaxConnections(Math.min(config.maxConnections, adapterMaxConnections));
+    }
+
     @Override
     public BD getDevice(BluetoothAddress address) {
+        // this is called for every received advertisement, so known devices are returned without locking
+        @Nullable
+        BD device = devices.get(address);
+        if (device != null) {
+            return device;
+        }
         synchronized (devices) {
-            return Objects.requireNonNull(devices.computeIfAbsent(address, this::createDevice));
+            return Objects.requireNonNull(devices.computeIfAbsent(address, this::createConfiguredDevice));
         }
     }
 
+    private BD createConfiguredDevice(BluetoothAddress address) {
+        BD device = createDevice(address);
+        device.setScanRecordInterval(Math.max(0, config.rssiUpdateInterval), TimeUnit.SECONDS);
+        return device;
+    }
+
     protected abstract BD createDevice(BluetoothAddress address);
 
     @Override
@@ -13,7 +13,9 @@
 package org.openhab.binding.bluetooth;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -26,6 +28,8 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,6 +94,21 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
 
     private volatile boolean servicesDiscovered = false;
 
+    /**
+     * Minimum time between two dispatched scan records which don't carry a new advertisement, 0 for no limit
+     */
+    private volatile long scanRecordIntervalNanos = 0;
+
+    private final Object scanRecordLock = new Object();
+
+    /**
+     * The last dispatched advertisement of each beacon type, to detect repeated advertisements
+     */
+    private final Map<BluetoothBeaconType, BluetoothScanNotification> lastAdvertisements = new EnumMap<>(
+            BluetoothBeaconType.class);
+    private long lastScanRecordDispatchTime = 0;
+    private @Nullable BluetoothScanNotification pendingScanRecord = null;
+
     /**
      * Construct a Bluetooth device taking the Bluetooth address
      *
@@ -118,6 +137,73 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
         lastSeenTime = ZonedDateTime.now();
     }
 
+    /**
+     * Sets the minimum time between two scan records dispatched to the listeners, which only repeat the previous
+     * advertisement or only update the RSSI. Such a scan record received earlier is held back until it is dispatched
+     * by {@link #dispatchPendingScanRecord()}, and replaced by a newer one in the meantime. Scan records with a new
+     * advertisement are always dispatched immediately.
+     *
+     * @param interval the minimum time between two dispatched scan records, 0 to dispatch all
+     * @param unit the unit of the interval
+     */
+    public void setScanRecordInterval(long interval, TimeUnit unit) {
+        scanRecordIntervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Dispatches the scan record which has been held back because of the scan record interval, if any.
+     */
+    public void dispatchPendingScanRecord() {
+        BluetoothScanNotification notification;
+        synchronized (scanRecordLock) {
+            notification = pendingScanRecord;
+            if (notification == null || System.nanoTime() - lastScanRecordDispatchTime < scanRecordIntervalNanos) {
+                return;
+            }
+            pendingScanRecord = null;
+            lastScanRecordDispatchTime = System.nanoTime();
+        }
+        super.notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+    }
+
+    /**
+     * Decides whether a received scan record is dispatched to the listeners now.
+     *
+     * Repeated advertisements of devices without listeners are dropped, since no handler is interested in them.
+     * For the other devices, scan records without a new advertisement are limited to one per scan record interval.
+     *
+     * @param notification the received scan record
+     * @return true if the scan record is to be dispatched now
+     */
+    private boolean shouldDispatchScanRecord(BluetoothScanNotification notification) {
+        long now = System.nanoTime();
+        synchronized (scanRecordLock) {
+            if (isNewAdvertisement(notification)) {
+                lastAdvertisements.put(notification.getBeaconType(), notification);
+            } else if (!hasListeners()) {
+                return false;
+            } else if (now - lastScanRecordDispatchTime < scanRecordIntervalNanos) {
+                pendingScanRecord = notification;
+                return false;
+            }
+            pendingScanRecord = null;
+            lastScanRecordDispatchTime = now;
+            return true;
+        }
+    }
+
+    private boolean isNewAdvertisement(BluetoothScanNotification notification) {
+        if (notification.getManufacturerData() == null && notification.getData() == null
+                && notification.getDeviceName().isEmpty()) {
+            // only the RSSI
+            return false;
+        }
+        BluetoothScanNotification last = lastAdvertisements.get(notification.getBeaconType());
+        return last == null || !Arrays.equals(last.getManufacturerData(), notification.getManufacturerData())
+                || !Arrays.equals(last.getData(), notification.getData())
+                || !last.getDeviceName().equals(notification.getDeviceName());
+    }
+
     /**
      * Returns the name of the Bluetooth device.
      *
@@ -337,6 +423,11 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
                     deviceLock.unlock();
                 }
                 break;
+            case SCAN_RECORD:
+                if (!shouldDispatchScanRecord((BluetoothScanNotification) args[0])) {
+                    return;
+                }
+                break;
             default:
                 break;
         }
@@ -99,4 +99,14 @@ public interface BluetoothAdapter extends Identifiable<ThingUID> {
      * @return true if this adapter has a {@link BluetoothDevice} with that address
      */
     boolean hasHandlerForDevice(BluetoothAddress address);
+
+    /**
+     * Gets the {@link BluetoothConnectionScheduler} limiting the devices connected through this adapter at the same
+     * time.
+     *
+     * @return the scheduler, or null if this adapter does not limit its connections
+     */
+    default @Nullable BluetoothConnectionScheduler getConnectionScheduler() {
+        return null;
+    }
 }
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link BluetoothConnectionScheduler} limits the number of devices connected through one adapter at the same
+ * time. Bluetooth controllers only support a few concurrent connections, and connection attempts beyond that fail.
+ *
+ * A device holds a connection slot from the start of its connection attempt until it is disconnected. Devices waiting
+ * for a slot are queued by the priority of their operation, and in the order of their requests within a priority.
+ * Devices can either wait for a slot, or keep their place in the queue and ask for the slot again later.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothConnectionScheduler {
+
+    /**
+     * Priority of operations requested by the user, like writing a characteristic for a command
+     */
+    public static final int PRIORITY_HIGH = 0;
+
+    /**
+     * Priority of regular operations, like reading a characteristic
+     */
+    public static final int PRIORITY_NORMAL = 1;
+
+    /**
+     * Priority of background connections, like reconnecting a device which is always connected
+     */
+    public static final int PRIORITY_LOW = 2;
+
+    private static class Request {
+        private final int priority;
+        private final long sequence;
+
+        Request(int priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition slotChanged = lock.newCondition();
+    private final Set<BluetoothAddress> connectedDevices = new HashSet<>();
+    private final PriorityQueue<Request> waitingRequests = new PriorityQueue<>(Comparator
+            .<Request> comparingInt(request -> request.priority).thenComparingLong(request -> request.sequence));
+    // the requests of devices which ask for a slot again later
+    private final Map<BluetoothAddress, Request> queuedDevices = new HashMap<>();
+    private long sequence = 0;
+    private int maxConnections;
+
+    /**
+     * Creates a scheduler
+     *
+     * @param maxConnections the maximum number of devices connected at the same time
+     */
+    public BluetoothConnectionScheduler(int maxConnections) {
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+
+    /**
+     * Sets the maximum number of devices connected at the same time. Devices holding a slot keep it, even if there are
+     * more than the new maximum.
+     *
+     * @param maxConnections the maximum number of devices connected at the same time
+     */
+    public void setMaxConnections(int maxConnections) {
+        lock.lock();
+        try {
+            this.maxConnections = Math.max(1, maxConnections);
+            slotChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a connection slot for the device, if it does not already hold one.
+     *
+     * @param address the address of the device to connect
+     * @param priority the priority of the operation requiring the connection, one of the PRIORITY constants
+     * @param timeout the maximum time to wait, 0 to only take a slot which is available now
+     * @param unit the unit of the timeout
+     * @return true if the device holds a connection slot, false if no slot became available in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean acquire(BluetoothAddress address, int priority, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        lock.lock();
+        try {
+            if (connectedDevices.contains(address)) {
+                return true;
+            }
+            Request request = new Request(priority, sequence++);
+            waitingRequests.add(request);
+            try {
+                long nanosTimeout = unit.toNanos(timeout);
+                while (waitingRequests.peek() != request || connectedDevices.size() >= maxConnections) {
+                    if (nanosTimeout <= 0L) {
+                        return false;
+                    }
+                    nanosTimeout = slotChanged.awaitNanos(nanosTimeout);
+                    if (connectedDevices.contains(address)) {
+                        return true;
+                    }
+                }
+                connectedDevices.add(address);
+                return true;
+            } finally {
+                waitingRequests.remove(request);
+                // the next request in the queue may be served now
+                slotChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a connection slot for the device without waiting, if it does not already hold one. If no slot is available,
+     * the device keeps its place in the queue until it asks again, takes the slot or {@link #cancel(BluetoothAddress)
+     * cancels} its request.
+     *
+     * @param address the address of the device to connect
+     * @param priority the priority of the operation requiring the connection, one of the PRIORITY constants
+     * @return true if the device holds a connection slot, false if it has to ask again later
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean tryAcquire(BluetoothAddress address, int priority) {
+        lock.lock();
+        try {
+            if (connectedDevices.contains(address)) {
+                return true;
+            }
+            Request request = queuedDevices.get(address);
+            if (request == null || priority < request.priority) {
+                long requestSequence = request != null ? request.sequence : sequence++;
+                if (request != null) {
+                    // a more urgent operation keeps the place of the device within its new priority
+                    waitingRequests.remove(request);
+                }
+                request = new Request(priority, requestSequence);
+                queuedDevices.put(address, request);
+                waitingRequests.add(request);
+            }
+            if (waitingRequests.peek() != request || connectedDevices.size() >= maxConnections) {
+                return false;
+            }
+            waitingRequests.remove(request);
+            queuedDevices.remove(address);
+            connectedDevices.add(address);
+            // the next request in the queue may be served now
+            slotChanged.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the device from the queue, if it asked for a slot with {@link #tryAcquire(BluetoothAddress, int)} and
+     * did not get one yet.
+     *
+     * @param address the address of the device
+     */
+    public void cancel(BluetoothAddress address) {
+        lock.lock();
+        try {
+            Request request = queuedDevices.remove(address);
+            if (request != null) {
+                waitingRequests.remove(request);
+                slotChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the connection slot of the device, if it holds one.
+     *
+     * @param address the address of the disconnected device
+     */
+    public void release(BluetoothAddress address) {
+        lock.lock();
+        try {
+            if (connectedDevices.remove(address)) {
+                slotChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the device could connect without waiting.
+     *
+     * @param address the address of the device
+     * @return true if the device holds a connection slot or a slot is available
+     */
+    public boolean hasCapacity(BluetoothAddress address) {
+        lock.lock();
+        try {
+            return connectedDevices.contains(address)
+                    || (waitingRequests.isEmpty() && connectedDevices.size() < maxConnections);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of devices holding a connection slot
+     *
+     * @return the number of connected devices
+     */
+    public int getConnectionCount() {
+        lock.lock();
+        try {
+            return connectedDevices.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -21,12 +21,14 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
 import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
+import org.openhab.binding.bluetooth.util.RetryException;
 import org.openhab.binding.bluetooth.util.RetryFuture;
 import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.thing.Thing;
@@ -45,9 +47,26 @@ import org.slf4j.LoggerFactory;
 public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
 
     private final Logger logger = LoggerFactory.getLogger(ConnectedBluetoothHandler.class);
+
+    /**
+     * Maximum time in seconds to wait for a free connection of the adapter
+     */
+    private static final int CONNECTION_SLOT_TIMEOUT = 30;
+
+    /**
+     * Time in milliseconds between two requests for a free connection of the adapter
+     */
+    private static final int CONNECTION_SLOT_RETRY_DELAY = 500;
+
     private @Nullable Future<?> reconnectJob;
     private @Nullable Future<?> pendingDisconnect;
 
+    // the scheduler of the adapter holding a connection slot for the device
+    private volatile @Nullable BluetoothConnectionScheduler connectionScheduler;
+
+    // the number of requested operations which have not completed yet
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+
     private boolean alwaysConnected;
     private int idleDisconnectDelay = 1000;
 
@@ -89,9 +108,7 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
             reconnectJob = connectionTaskExecutor.scheduleWithFixedDelay(() -> {
                 try {
                     if (device.getConnectionState() != ConnectionState.CONNECTED) {
-                        if (!device.connect()) {
-                            logger.debug("Failed to connect to {}", address);
-                        }
+                        connectInBackground();
                         // we do not set the Thing status here, because we will anyhow receive a call to
                         // onConnectionStateChange
                     } else {
@@ -116,6 +133,8 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
         pendingDisconnect = null;
 
         super.dispose();
+        cancelConnectionSlotRequest();
+        releaseConnectionSlot();
 
         // just in case something goes really wrong in the core and it tries to dispose a handler before initializing it
         if (scheduler != connectionTaskExecutor) {
@@ -130,29 +149,126 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
     }
 
     public void connect() {
-        connectionTaskExecutor.execute(() -> {
-            if (!device.connect()) {
-                logger.debug("Failed to connect to {}", address);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CONNECTION_SLOT_TIMEOUT);
+        connectionTaskExecutor.execute(() -> connectWhenSlotIsFree(deadline));
+    }
+
+    private void connectWhenSlotIsFree(long deadline) {
+        if (!acquireConnectionSlot(BluetoothConnectionScheduler.PRIORITY_NORMAL)) {
+            if (deadline - System.nanoTime() <= 0) {
+                cancelConnectionSlotRequest();
+                logger.debug("No free connection on adapter to connect to {}", address);
+            } else if (!connectionTaskExecutor.isShutdown()) {
+                // the executor is not blocked while waiting, so that other operations of the device still run
+                connectionTaskExecutor.schedule(() -> connectWhenSlotIsFree(deadline), CONNECTION_SLOT_RETRY_DELAY,
+                        TimeUnit.MILLISECONDS);
             }
-        });
+            return;
+        }
+        if (!device.connect()) {
+            releaseConnectionSlot();
+            logger.debug("Failed to connect to {}", address);
+        }
     }
 
     public void disconnect() {
-        connectionTaskExecutor.execute(device::disconnect);
+        connectionTaskExecutor.execute(this::disconnectDevice);
+    }
+
+    private void disconnectDevice() {
+        device.disconnect();
+        // a failed connection attempt is not always followed by a DISCONNECTED notification
+        if (device.getConnectionState() != ConnectionState.CONNECTED) {
+            releaseConnectionSlot();
+        }
     }
 
     private void scheduleDisconnect() {
         cancel(pendingDisconnect, false);
-        pendingDisconnect = connectionTaskExecutor.schedule(device::disconnect, idleDisconnectDelay,
+        pendingDisconnect = connectionTaskExecutor.schedule(this::disconnectDevice, idleDisconnectDelay,
                 TimeUnit.MILLISECONDS);
     }
 
-    private void connectAndWait() throws ConnectionException, TimeoutException, InterruptedException {
+    /**
+     * Returns the connection scheduler of the adapter the device is currently seen by.
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private @Nullable BluetoothConnectionScheduler getConnectionScheduler() {
+        BluetoothConnectionScheduler adapterScheduler = device.getAdapter().getConnectionScheduler();
+        BluetoothConnectionScheduler currentScheduler = connectionScheduler;
+        if (currentScheduler != null && currentScheduler != adapterScheduler) {
+            // a roaming device moved to another adapter
+            currentScheduler.cancel(address);
+            currentScheduler.release(address);
+        }
+        connectionScheduler = adapterScheduler;
+        return adapterScheduler;
+    }
+
+    /**
+     * Takes a connection slot of the adapter for the device without waiting. If all connections of the adapter are in
+     * use, the device keeps its place in the queue of the adapter until it asks again.
+     *
+     * @param priority the priority of the operation, one of the {@link BluetoothConnectionScheduler} priorities
+     * @return true if the device may connect
+     */
+    private boolean acquireConnectionSlot(int priority) {
+        BluetoothConnectionScheduler adapterScheduler = getConnectionScheduler();
+        return adapterScheduler == null || adapterScheduler.tryAcquire(address, priority);
+    }
+
+    private void cancelConnectionSlotRequest() {
+        BluetoothConnectionScheduler currentScheduler = connectionScheduler;
+        if (currentScheduler != null) {
+            currentScheduler.cancel(address);
+        }
+    }
+
+    private void releaseConnectionSlot() {
+        BluetoothConnectionScheduler currentScheduler = connectionScheduler;
+        if (currentScheduler != null) {
+            currentScheduler.release(address);
+        }
+    }
+
+    /**
+     * Connects a device which is always connected, if the adapter has a free connection. Otherwise the reconnect job
+     * tries again later.
+     */
+    private void connectInBackground() {
+        BluetoothConnectionScheduler adapterScheduler = getConnectionScheduler();
+        try {
+            // the device does not keep a place in the queue, as the reconnect job only tries again much later
+            if (adapterScheduler != null && !adapterScheduler.acquire(address,
+                    BluetoothConnectionScheduler.PRIORITY_LOW, 0, TimeUnit.SECONDS)) {
+                logger.debug("No free connection on adapter to connect to {}, trying again later", address);
+                return;
+            }
+        } catch (InterruptedException e) {
+            return;
+        }
+        if (!device.connect()) {
+            releaseConnectionSlot();
+            logger.debug("Failed to connect to {}", address);
+        }
+    }
+
+    private void connectAndWait(int priority, long deadline)
+            throws ConnectionException, TimeoutException, InterruptedException, RetryException {
         if (device.getConnectionState() == ConnectionState.CONNECTED) {
             return;
         }
         if (device.getConnectionState() != ConnectionState.CONNECTING) {
+            if (!acquireConnectionSlot(priority)) {
+                if (deadline - System.nanoTime() <= 0) {
+                    cancelConnectionSlotRequest();
+                    throw new ConnectionException("No free connection on adapter");
+                }
+                // the operation is run again later, so that the executor is not blocked while waiting
+                throw new RetryException(CONNECTION_SLOT_RETRY_DELAY, TimeUnit.MILLISECONDS);
+            }
             if (!device.connect()) {
+                releaseConnectionSlot();
                 throw new ConnectionException("Failed to start connecting");
             }
         }
@@ -167,9 +283,10 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
         }
     }
 
-    private BluetoothCharacteristic connectAndGetCharacteristic(UUID serviceUUID, UUID characteristicUUID)
-            throws BluetoothException, TimeoutException, InterruptedException {
-        connectAndWait();
+    private BluetoothCharacteristic connectAndGetCharacteristic(UUID serviceUUID, UUID characteristicUUID,
+            int priority, long deadline)
+            throws BluetoothException, TimeoutException, InterruptedException, RetryException {
+        connectAndWait(priority, deadline);
         BluetoothService service = device.getServices(serviceUUID);
         if (service == null) {
             throw new BluetoothException("Service with uuid " + serviceUUID + " could not be found");
@@ -181,7 +298,7 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
         return characteristic;
     }
 
-    private <T> CompletableFuture<T> executeWithConnection(UUID serviceUUID, UUID characteristicUUID,
+    private <T> CompletableFuture<T> executeWithConnection(UUID serviceUUID, UUID characteristicUUID, int priority,
             Function<BluetoothCharacteristic, CompletableFuture<T>> callable) {
         if (connectionTaskExecutor == scheduler) {
             return CompletableFuture
@@ -190,13 +307,19 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
         if (connectionTaskExecutor.isShutdown()) {
             return CompletableFuture.failedFuture(new IllegalStateException("connectionTaskExecutor is shut down"));
         }
+        // operations requested back-to-back reuse the connection, instead of disconnecting in between
+        pendingOperations.incrementAndGet();
+        cancel(pendingDisconnect, false);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CONNECTION_SLOT_TIMEOUT);
         // we use a RetryFuture because it supports running Callable instances
         return RetryFuture.callWithRetry(() -> {
             // we block for completion here so that we keep the lock on the connectionTaskExecutor active.
-            return callable.apply(connectAndGetCharacteristic(serviceUUID, characteristicUUID)).get();
+            return callable.apply(connectAndGetCharacteristic(serviceUUID, characteristicUUID, priority, deadline))
+                    .get();
         }, connectionTaskExecutor)// we make this completion async so that operations chained off the returned future
                                   // will not run on the connectionTaskExecutor
                 .whenCompleteAsync((r, th) -> {
+                    boolean lastOperation = pendingOperations.decrementAndGet() == 0;
                     // we us a while loop here in case the exceptions get nested
                     while (th instanceof CompletionException || th instanceof ExecutionException) {
                         th = th.getCause();
@@ -208,19 +331,22 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
                     if (th instanceof TimeoutException) {
                         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, th.getMessage());
                     }
-                    if (!alwaysConnected) {
+                    if (!alwaysConnected && lastOperation) {
                         scheduleDisconnect();
                     }
                 }, scheduler);
     }
 
     public CompletableFuture<@Nullable Void> enableNotifications(UUID serviceUUID, UUID characteristicUUID) {
-        return executeWithConnection(serviceUUID, characteristicUUID, device::enableNotifications);
+        return executeWithConnection(serviceUUID, characteristicUUID, BluetoothConnectionScheduler.PRIORITY_HIGH,
+                device::enableNotifications);
     }
 
     public CompletableFuture<@Nullable Void> writeCharacteristic(UUID serviceUUID, UUID characteristicUUID, byte[] data,
             boolean enableNotification) {
-        var future = executeWithConnection(serviceUUID, characteristicUUID, characteristic -> {
+        // writes are usually commands of the user, so they connect before pending reads
+        int priority = BluetoothConnectionScheduler.PRIORITY_HIGH;
+        var future = executeWithConnection(serviceUUID, characteristicUUID, priority, characteristic -> {
             if (enableNotification) {
                 return device.enableNotifications(characteristic)
                         .thenCompose((v) -> device.writeCharacteristic(characteristic, data));
@@ -240,7 +366,8 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
     }
 
     public CompletableFuture<byte[]> readCharacteristic(UUID serviceUUID, UUID characteristicUUID) {
-        var future = executeWithConnection(serviceUUID, characteristicUUID, device::readCharacteristic);
+        var future = executeWithConnection(serviceUUID, characteristicUUID,
+                BluetoothConnectionScheduler.PRIORITY_NORMAL, device::readCharacteristic);
         if (logger.isDebugEnabled()) {
             future = future.whenComplete((data, t) -> {
                 if (t == null) {
@@ -280,9 +407,7 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
                 if (alwaysConnected) {
                     connectionTaskExecutor.submit(() -> {
                         if (device.getConnectionState() != ConnectionState.CONNECTED) {
-                            if (!device.connect()) {
-                                logger.debug("Error connecting to device after discovery.");
-                            }
+                            connectInBackground();
                         }
                     });
                 }
@@ -298,6 +423,7 @@ public class ConnectedBluetoothHandler extends BeaconBluetoothHandler {
                 break;
             case DISCONNECTED:
                 cancel(pendingDisconnect, false);
+                releaseConnectionSlot();
                 if (alwaysConnected) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
                 }
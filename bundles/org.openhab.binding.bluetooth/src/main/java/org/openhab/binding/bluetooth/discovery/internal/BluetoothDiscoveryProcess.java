@@ -34,6 +34,7 @@ import org.openhab.binding.bluetooth.BluetoothBindingConstants;
 import org.openhab.binding.bluetooth.BluetoothCharacteristic;
 import org.openhab.binding.bluetooth.BluetoothCharacteristic.GattCharacteristic;
 import org.openhab.binding.bluetooth.BluetoothCompanyIdentifiers;
+import org.openhab.binding.bluetooth.BluetoothConnectionScheduler;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
 import org.openhab.binding.bluetooth.BluetoothUtils;
 import org.openhab.binding.bluetooth.discovery.BluetoothDiscoveryParticipant;
@@ -56,12 +57,20 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
 
     private static final int DISCOVERY_TTL = 300;
 
+    /**
+     * Maximum time in seconds to wait for a free connection of the adapter
+     */
+    private static final int CONNECTION_SLOT_TIMEOUT = 10;
+
     private final Logger logger = LoggerFactory.getLogger(BluetoothDiscoveryProcess.class);
 
     private final BluetoothDeviceSnapshot device;
     private final Collection<BluetoothDiscoveryParticipant> participants;
     private final Set<BluetoothAdapter> adapters;
 
+    // the scheduler of the adapter holding a connection slot for the device
+    private @Nullable BluetoothConnectionScheduler connectionScheduler;
+
     public BluetoothDiscoveryProcess(BluetoothDeviceSnapshot device,
             Collection<BluetoothDiscoveryParticipant> participants, Set<BluetoothAdapter> adapters) {
         this.participants = participants;
@@ -95,17 +104,21 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
         DiscoveryResult result = null;
         BluetoothAddress address = device.getAddress();
         if (isAddressAvailable(address)) {
-            result = findConnectionResult(connectionParticipants);
-            // make sure to disconnect before letting go of the device
-            if (device.getConnectionState() == ConnectionState.CONNECTED) {
-                try {
-                    if (!device.disconnect()) {
-                        logger.debug("Failed to disconnect from device {}", address);
+            try {
+                result = findConnectionResult(connectionParticipants);
+                // make sure to disconnect before letting go of the device
+                if (device.getConnectionState() == ConnectionState.CONNECTED) {
+                    try {
+                        if (!device.disconnect()) {
+                            logger.debug("Failed to disconnect from device {}", address);
+                        }
+                    } catch (RuntimeException ex) {
+                        logger.warn("Error occurred during bluetooth discovery for device {} on adapter {}", address,
+                                device.getAdapter().getUID(), ex);
                     }
-                } catch (RuntimeException ex) {
-                    logger.warn("Error occurred during bluetooth discovery for device {} on adapter {}", address,
-                            device.getAdapter().getUID(), ex);
                 }
+            } finally {
+                releaseConnectionSlot();
             }
         }
         if (result == null) {
@@ -154,10 +167,16 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
         try {
             for (BluetoothDiscoveryParticipant participant : connectionParticipants) {
                 if (device.getConnectionState() != ConnectionState.CONNECTED) {
-                    if (device.getConnectionState() != ConnectionState.CONNECTING && !device.connect()) {
-                        logger.debug("Connection attempt failed to start for device {}", device.getAddress());
-                        // something failed, so we abandon connection discovery
-                        return null;
+                    if (device.getConnectionState() != ConnectionState.CONNECTING) {
+                        if (!acquireConnectionSlot()) {
+                            logger.debug("No free connection on adapter to connect to device {}", device.getAddress());
+                            return null;
+                        }
+                        if (!device.connect()) {
+                            logger.debug("Connection attempt failed to start for device {}", device.getAddress());
+                            // something failed, so we abandon connection discovery
+                            return null;
+                        }
                     }
                     if (!device.awaitConnection(1, TimeUnit.SECONDS)) {
                         logger.debug("Connection to device {} timed out", device.getAddress());
@@ -190,6 +209,31 @@ public class BluetoothDiscoveryProcess implements Supplier<DiscoveryResult> {
         return null;
     }
 
+    /**
+     * Takes a connection slot of the adapter for the device, so that discovery does not exceed the connections the
+     * adapter supports. Discovery waits behind the connections of things, which have a higher priority.
+     */
+    private boolean acquireConnectionSlot() throws InterruptedException {
+        BluetoothConnectionScheduler adapterScheduler = device.getAdapter().getConnectionScheduler();
+        if (adapterScheduler == null) {
+            return true;
+        }
+        if (!adapterScheduler.acquire(device.getAddress(), BluetoothConnectionScheduler.PRIORITY_LOW,
+                CONNECTION_SLOT_TIMEOUT, TimeUnit.SECONDS)) {
+            return false;
+        }
+        connectionScheduler = adapterScheduler;
+        return true;
+    }
+
+    private void releaseConnectionSlot() {
+        BluetoothConnectionScheduler currentScheduler = connectionScheduler;
+        if (currentScheduler != null) {
+            currentScheduler.release(device.getAddress());
+            connectionScheduler = null;
+        }
+    }
+
     private void readDeviceInformationIfMissing() throws InterruptedException {
         if (device.getName() == null) {
             fecthGattCharacteristic(GattCharacteristic.DEVICE_NAME, device::setName);
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests the filtering of scan records in {@link BaseBluetoothDevice}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BaseBluetoothDeviceTest {
+
+    private @NonNullByDefault({}) BaseBluetoothDevice device;
+    private @NonNullByDefault({}) BluetoothDeviceListener listener;
+
+    /**
+     * Device which notifies its listeners synchronously
+     */
+    private static class ScanningBluetoothDevice extends BaseBluetoothDevice {
+
+        public ScanningBluetoothDevice(BluetoothAdapter adapter, BluetoothAddress address) {
+            super(adapter, address);
+        }
+
+        public void receive(BluetoothScanNotification notification) {
+            notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+        }
+
+        @Override
+        public boolean connect() {
+            return false;
+        }
+
+        @Override
+        public boolean disconnect() {
+            return false;
+        }
+
+        @Override
+        public boolean discoverServices() {
+            return false;
+        }
+
+        @Override
+        public CompletableFuture<byte[]> readCharacteristic(BluetoothCharacteristic characteristic) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException());
+        }
+
+        @Override
+        public CompletableFuture<@Nullable Void> writeCharacteristic(BluetoothCharacteristic characteristic,
+                byte[] value) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException());
+        }
+
+        @Override
+        public boolean isNotifying(BluetoothCharacteristic characteristic) {
+            return false;
+        }
+
+        @Override
+        public CompletableFuture<@Nullable Void> enableNotifications(BluetoothCharacteristic characteristic) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException());
+        }
+
+        @Override
+        public CompletableFuture<@Nullable Void> disableNotifications(BluetoothCharacteristic characteristic) {
+            return CompletableFuture.failedFuture(new UnsupportedOperationException());
+        }
+
+        @Override
+        public boolean enableNotifications(BluetoothDescriptor descriptor) {
+            return false;
+        }
+
+        @Override
+        public boolean disableNotifications(BluetoothDescriptor descriptor) {
+            return false;
+        }
+    }
+
+    private static BluetoothScanNotification advertisement(int rssi, byte... manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        notification.setManufacturerData(manufacturerData);
+        return notification;
+    }
+
+    private static BluetoothScanNotification rssiUpdate(int rssi) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        return notification;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        device = new ScanningBluetoothDevice(new MockBluetoothAdapter(), TestUtils.randomAddress());
+        listener = mock(BluetoothDeviceListener.class);
+    }
+
+    private void receive(BluetoothScanNotification notification) {
+        ((ScanningBluetoothDevice) device).receive(notification);
+    }
+
+    @Test
+    public void repeatedAdvertisementsOfDevicesWithoutListenersAreDropped() {
+        receive(advertisement(-60, (byte) 1, (byte) 2));
+        receive(advertisement(-61, (byte) 1, (byte) 2));
+        receive(rssiUpdate(-62));
+
+        device.addListener(listener);
+        BluetoothScanNotification changed = advertisement(-63, (byte) 1, (byte) 3);
+        receive(changed);
+
+        verify(listener, times(1)).onScanRecordReceived(any());
+        verify(listener).onScanRecordReceived(changed);
+    }
+
+    @Test
+    public void allScanRecordsAreDispatchedWithoutInterval() {
+        device.addListener(listener);
+
+        receive(advertisement(-60, (byte) 1, (byte) 2));
+        receive(advertisement(-61, (byte) 1, (byte) 2));
+        receive(rssiUpdate(-62));
+
+        verify(listener, times(3)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void rssiUpdatesAreLimitedByInterval() {
+        device.setScanRecordInterval(1, TimeUnit.HOURS);
+        device.addListener(listener);
+
+        receive(advertisement(-60, (byte) 1, (byte) 2));
+        receive(rssiUpdate(-61));
+        BluetoothScanNotification latest = advertisement(-62, (byte) 1, (byte) 2);
+        receive(latest);
+        verify(listener, times(1)).onScanRecordReceived(any());
+
+        BluetoothScanNotification changed = advertisement(-63, (byte) 4);
+        receive(changed);
+        verify(listener).onScanRecordReceived(changed);
+
+        // the held back scan record is only dispatched after the interval
+        device.dispatchPendingScanRecord();
+        verify(listener, never()).onScanRecordReceived(latest);
+        verify(listener, times(2)).onScanRecordReceived(any());
+    }
+
+    @Test
+    public void pendingScanRecordIsDispatchedAfterInterval() throws InterruptedException {
+        device.setScanRecordInterval(50, TimeUnit.MILLISECONDS);
+        device.addListener(listener);
+
+        receive(advertisement(-60, (byte) 1, (byte) 2));
+        receive(rssiUpdate(-61));
+        BluetoothScanNotification latest = rssiUpdate(-62);
+        receive(latest);
+        verify(listener, times(1)).onScanRecordReceived(any());
+
+        Thread.sleep(100);
+        device.dispatchPendingScanRecord();
+        device.dispatchPendingScanRecord();
+
+        verify(listener).onScanRecordReceived(latest);
+        verify(listener, times(2)).onScanRecordReceived(any());
+    }
+}
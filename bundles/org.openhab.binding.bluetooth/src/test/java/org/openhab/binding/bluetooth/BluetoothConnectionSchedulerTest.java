@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BluetoothConnectionScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothConnectionSchedulerTest {
+
+    private final BluetoothConnectionScheduler scheduler = new BluetoothConnectionScheduler(2);
+
+    @Test
+    public void connectionsAreLimited() throws InterruptedException {
+        BluetoothAddress address1 = TestUtils.randomAddress();
+        BluetoothAddress address2 = TestUtils.randomAddress();
+        BluetoothAddress address3 = TestUtils.randomAddress();
+
+        assertTrue(scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS));
+        assertTrue(scheduler.acquire(address2, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS));
+        assertFalse(scheduler.hasCapacity(address3));
+        assertFalse(scheduler.acquire(address3, BluetoothConnectionScheduler.PRIORITY_HIGH, 10, TimeUnit.MILLISECONDS));
+
+        // a connected device keeps its slot
+        assertTrue(scheduler.hasCapacity(address1));
+        assertTrue(scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_LOW, 0, TimeUnit.SECONDS));
+        assertEquals(2, scheduler.getConnectionCount());
+
+        scheduler.release(address1);
+        assertTrue(scheduler.acquire(address3, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void waitingDevicesAreServedByPriority() throws Exception {
+        BluetoothAddress address1 = TestUtils.randomAddress();
+        BluetoothAddress address2 = TestUtils.randomAddress();
+        scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS);
+        scheduler.acquire(address2, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS);
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> low = waitForSlot(BluetoothConnectionScheduler.PRIORITY_LOW, order);
+        Thread.sleep(50);
+        CompletableFuture<Void> high = waitForSlot(BluetoothConnectionScheduler.PRIORITY_HIGH, order);
+        Thread.sleep(50);
+
+        scheduler.release(address1);
+        high.get(1, TimeUnit.SECONDS);
+        assertFalse(low.isDone());
+
+        scheduler.release(address2);
+        low.get(1, TimeUnit.SECONDS);
+        assertEquals(List.of(BluetoothConnectionScheduler.PRIORITY_HIGH, BluetoothConnectionScheduler.PRIORITY_LOW),
+                order);
+    }
+
+    @Test
+    public void queuedDeviceKeepsItsPlace() throws InterruptedException {
+        BluetoothAddress address1 = TestUtils.randomAddress();
+        BluetoothAddress address2 = TestUtils.randomAddress();
+        BluetoothAddress queued = TestUtils.randomAddress();
+        scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS);
+        scheduler.acquire(address2, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS);
+
+        assertFalse(scheduler.tryAcquire(queued, BluetoothConnectionScheduler.PRIORITY_NORMAL));
+        scheduler.release(address1);
+
+        // the free slot is reserved for the queued device until it asks again
+        assertFalse(scheduler.hasCapacity(address1));
+        assertFalse(scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS));
+        assertTrue(scheduler.tryAcquire(queued, BluetoothConnectionScheduler.PRIORITY_NORMAL));
+        assertEquals(2, scheduler.getConnectionCount());
+    }
+
+    @Test
+    public void queuedDevicesAreServedByPriority() {
+        BluetoothAddress address1 = TestUtils.randomAddress();
+        BluetoothAddress address2 = TestUtils.randomAddress();
+        BluetoothAddress low = TestUtils.randomAddress();
+        BluetoothAddress high = TestUtils.randomAddress();
+        scheduler.tryAcquire(address1, BluetoothConnectionScheduler.PRIORITY_NORMAL);
+        scheduler.tryAcquire(address2, BluetoothConnectionScheduler.PRIORITY_NORMAL);
+
+        assertFalse(scheduler.tryAcquire(low, BluetoothConnectionScheduler.PRIORITY_LOW));
+        assertFalse(scheduler.tryAcquire(high, BluetoothConnectionScheduler.PRIORITY_NORMAL));
+        // a more urgent operation of a queued device moves it ahead
+        assertFalse(scheduler.tryAcquire(high, BluetoothConnectionScheduler.PRIORITY_HIGH));
+        scheduler.release(address1);
+
+        assertFalse(scheduler.tryAcquire(low, BluetoothConnectionScheduler.PRIORITY_LOW));
+        assertTrue(scheduler.tryAcquire(high, BluetoothConnectionScheduler.PRIORITY_NORMAL));
+    }
+
+    @Test
+    public void cancelledDeviceGivesUpItsPlace() throws InterruptedException {
+        BluetoothAddress address1 = TestUtils.randomAddress();
+        BluetoothAddress address2 = TestUtils.randomAddress();
+        BluetoothAddress queued = TestUtils.randomAddress();
+        scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS);
+        scheduler.acquire(address2, BluetoothConnectionScheduler.PRIORITY_NORMAL, 0, TimeUnit.SECONDS);
+        assertFalse(scheduler.tryAcquire(queued, BluetoothConnectionScheduler.PRIORITY_HIGH));
+
+        scheduler.release(address1);
+        scheduler.cancel(queued);
+
+        assertTrue(scheduler.acquire(address1, BluetoothConnectionScheduler.PRIORITY_LOW, 0, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<Void> waitForSlot(int priority, List<Integer> order) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                if (scheduler.acquire(TestUtils.randomAddress(), priority, 5, TimeUnit.SECONDS)) {
+                    order.add(priority);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+}
@@ -56,6 +56,7 @@ public class HomematicConfig {
     private boolean unpairOnDeletion = false;
     private boolean factoryResetOnDeletion = false;
     private int bufferSize = 2048;
+    private int loadParallelism = 2;
 
     private HmGatewayInfo gatewayInfo;
 
@@ -362,6 +363,20 @@ public class HomematicConfig {
         return bufferSize;
     }
 
+    /**
+     * Returns the maximum number of concurrent requests to one interface of the Homematic gateway.
+     */
+    public int getLoadParallelism() {
+        return Math.max(1, loadParallelism);
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests to one interface of the Homematic gateway.
+     */
+    public void setLoadParallelism(int loadParallelism) {
+        this.loadParallelism = loadParallelism;
+    }
+
     /**
      * Returns true, if the configured gatewayType is CCU.
      */
@@ -381,9 +396,9 @@ public class HomematicConfig {
         return String.format(
                 "%s[gatewayAddress=%s,callbackHost=%s,xmlCallbackPort=%d,binCallbackPort=%d,"
                         + "gatewayType=%s,rfPort=%d,wiredPort=%d,hmIpPort=%d,cuxdPort=%d,groupPort=%d,timeout=%d,"
-                        + "discoveryTimeToLive=%d,installModeDuration=%d,socketMaxAlive=%d]",
+                        + "discoveryTimeToLive=%d,installModeDuration=%d,socketMaxAlive=%d,loadParallelism=%d]",
                 getClass().getSimpleName(), gatewayAddress, callbackHost, xmlCallbackPort, binCallbackPort, gatewayType,
                 getRfPort(), getWiredPort(), getHmIpPort(), getCuxdPort(), getGroupPort(), timeout, discoveryTimeToLive,
-                installModeDuration, socketMaxAlive);
+                installModeDuration, socketMaxAlive, loadParallelism);
     }
 }
@@ -15,16 +15,24 @@ package org.openhab.binding.homematic.internal.communicator;
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +44,8 @@ import org.openhab.binding.homematic.internal.communicator.client.RpcClient;
 import org.openhab.binding.homematic.internal.communicator.client.TransferMode;
 import org.openhab.binding.homematic.internal.communicator.client.UnknownParameterSetException;
 import org.openhab.binding.homematic.internal.communicator.client.XmlRpcClient;
+import org.openhab.binding.homematic.internal.communicator.parser.GetParamsetDescriptionParser;
+import org.openhab.binding.homematic.internal.communicator.parser.GetParamsetParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.server.BinRpcServer;
 import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
@@ -75,6 +85,7 @@ import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
 import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,6 +100,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final String LOADER_POOL_NAME = "homematicLoader";
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -105,11 +117,12 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final ParamsetDescriptionCache paramsetDescriptionCache;
 
     static {
         // loads all virtual datapoints
@@ -138,6 +151,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.paramsetDescriptionCache = new ParamsetDescriptionCache(Paths.get(OpenHAB.getUserDataFolder(), "cache",
+                "org.openhab.binding.homematic", id.replaceAll("[<>:\"/\\\\|?*]", "_") + "-paramsets.bin"));
     }
 
     @Override
@@ -369,62 +384,163 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         cancelLoadAllMetadata = false;
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
+        paramsetDescriptionCache.load();
 
-        // loading datapoints for all channels
-        Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
+        // the devices of every interface are loaded by up to loadParallelism loaders at the same time
+        Set<String> loadedDevices = ConcurrentHashMap.newKeySet();
+        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new ConcurrentHashMap<>();
+        Map<HmInterface, Queue<HmDevice>> devicesByInterface = new TreeMap<>();
+        HmDevice gatewayDevice = null;
         for (HmDevice device : deviceDescriptions) {
-            if (!cancelLoadAllMetadata) {
-                try {
-                    logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
-                            device.getType());
-                    if (device.isGatewayExtras()) {
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
-                    } else {
-                        for (HmChannel channel : device.getChannels()) {
-                            logger.trace("  Loading channel {}", channel);
-                            // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
-                                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
-                                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
-                            } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
-                            }
+            if (device.isGatewayExtras()) {
+                gatewayDevice = device;
+            } else {
+                devicesByInterface.computeIfAbsent(device.getHmInterface(), i -> new ConcurrentLinkedQueue<>())
+                        .add(device);
+            }
+        }
+        ExecutorService loaderPool = ThreadPoolManager.getPool(LOADER_POOL_NAME);
+        setParallelLoading(true);
+        try {
+            List<Future<?>> loaders = new ArrayList<>();
+            for (Queue<HmDevice> interfaceDevices : devicesByInterface.values()) {
+                int loaderCount = Math.min(config.getLoadParallelism(), interfaceDevices.size());
+                for (int i = 0; i < loaderCount; i++) {
+                    loaders.add(loaderPool.submit(() -> {
+                        HmDevice device;
+                        while (!cancelLoadAllMetadata && (device = interfaceDevices.poll()) != null) {
+                            loadDeviceMetadata(device, datapointsByChannelIdCache, loadedDevices);
                         }
-                    }
-                    prepareDevice(device);
-                    loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
-                } catch (IOException ex) {
-                    logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
-                            ex.getMessage());
+                    }));
+                }
+            }
+            if (gatewayDevice != null) {
+                loadDeviceMetadata(gatewayDevice, datapointsByChannelIdCache, loadedDevices);
+            }
+            for (Future<?> loader : loaders) {
+                try {
+                    loader.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    cancelLoadAllMetadata = true;
+                } catch (ExecutionException ex) {
+                    logger.warn("Loading devices from gateway '{}' failed: {}", id, ex.getMessage(), ex);
                 }
             }
+        } finally {
+            setParallelLoading(false);
         }
+
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            paramsetDescriptionCache.save();
         }
         initialized = true;
     }
 
+    /**
+     * Allows the RPC clients to send requests in parallel while the device metadata is loaded.
+     */
+    private synchronized void setParallelLoading(boolean parallelLoading) {
+        for (RpcClient<?> rpcClient : rpcClients.values()) {
+            rpcClient.setParallelLoading(parallelLoading);
+        }
+    }
+
+    /**
+     * Loads the metadata of the device and notifies the gateway adapter.
+     */
+    private void loadDeviceMetadata(HmDevice device, Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache,
+            Set<String> loadedDevices) {
+        try {
+            logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(), device.getType());
+            if (device.isGatewayExtras()) {
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
+            } else {
+                List<HmChannel> uncachedChannels = new ArrayList<>();
+                List<HmChannel> clonedChannels = new ArrayList<>();
+                for (HmChannel channel : device.getChannels()) {
+                    logger.trace("  Loading channel {}", channel);
+                    // speed up metadata generation a little bit for equal channels in the gateway devices
+                    if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
+                            || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
+                        clonedChannels.add(channel);
+                    } else {
+                        String channelId = getChannelId(channel);
+                        Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+                        if (cachedDatapoints != null) {
+                            // clone all datapoints
+                            cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
+                        } else {
+                            uncachedChannels.add(channel);
+                        }
+                    }
+                }
+
+                addChannelDatapoints(uncachedChannels);
+                for (HmChannel channel : uncachedChannels) {
+                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+                    // the data point set might change depending on the selected mode.
+                    if (!channel.isReconfigurable()) {
+                        datapointsByChannelIdCache.put(getChannelId(channel), channel.getDatapoints());
+                    }
+                }
+
+                // every channel is cloned from the previous one, so they are cloned in ascending order
+                clonedChannels.sort(Comparator.comparing(HmChannel::getNumber));
+                for (HmChannel channel : clonedChannels) {
+                    HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
+                    cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+                }
+            }
+            prepareDevice(device);
+            loadedDevices.add(device.getAddress());
+            gatewayAdapter.onDeviceLoaded(device);
+        } catch (IOException ex) {
+            logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
+                    ex.getMessage());
+        }
+    }
+
+    private String getChannelId(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Loads all datapoints of the channels of a device from the paramset description cache, or from the gateway with
+     * one request per paramset type for all channels which are not cached.
+     */
+    private void addChannelDatapoints(List<HmChannel> channels) throws IOException {
+        if (channels.isEmpty()) {
+            return;
+        }
+        RpcClient<?> rpcClient = getRpcClient(channels.get(0).getDevice().getHmInterface());
+        // the MASTER paramset is loaded first, it tells if the VALUES of a channel depend on its function
+        for (HmParamsetType paramsetType : List.of(HmParamsetType.MASTER, HmParamsetType.VALUES)) {
+            List<HmChannel> uncachedChannels = new ArrayList<>();
+            for (HmChannel channel : channels) {
+                Object[] description = paramsetDescriptionCache.get(channel, paramsetType);
+                if (description != null) {
+                    new GetParamsetDescriptionParser(channel, paramsetType).parse(description);
+                } else {
+                    uncachedChannels.add(channel);
+                }
+            }
+            Map<HmChannel, Object[]> descriptions = rpcClient.getParamsetDescriptions(uncachedChannels, paramsetType);
+            for (HmChannel channel : uncachedChannels) {
+                Object[] description = descriptions.get(channel);
+                if (description != null) {
+                    new GetParamsetDescriptionParser(channel, paramsetType).parse(description);
+                    paramsetDescriptionCache.put(channel, paramsetType, description);
+                } else {
+                    addChannelDatapoints(channel, paramsetType);
+                }
+            }
+        }
+    }
+
     /**
      * Loads all datapoints from the gateway.
      */
@@ -481,17 +597,48 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                     logger.debug("Loaded {} gateway script(s)", datapoints.size());
                 }
             }
+            for (HmDatapoint dp : channel.getDatapoints()) {
+                handleVirtualDatapointEvent(dp, false);
+            }
+            channel.setInitialized(true);
         } else {
-            logger.debug("Loading values for channel {} of device '{}'", channel, channel.getDevice().getAddress());
-            setChannelDatapointValues(channel, HmParamsetType.MASTER);
-            setChannelDatapointValues(channel, HmParamsetType.VALUES);
+            // the values of the other channels are usually requested right after, so all uninitialized channels of the
+            // device are loaded together
+            List<HmChannel> channels = new ArrayList<>();
+            channels.add(channel);
+            for (HmChannel deviceChannel : channel.getDevice().getChannels()) {
+                if (deviceChannel != channel && !deviceChannel.isInitialized()) {
+                    channels.add(deviceChannel);
+                }
+            }
+            logger.debug("Loading values for channel {} of device '{}' together with {} other channels", channel,
+                    channel.getDevice().getAddress(), channels.size() - 1);
+            setChannelDatapointValues(channels, HmParamsetType.MASTER);
+            setChannelDatapointValues(channels, HmParamsetType.VALUES);
+
+            for (HmChannel loadedChannel : channels) {
+                for (HmDatapoint dp : loadedChannel.getDatapoints()) {
+                    handleVirtualDatapointEvent(dp, false);
+                }
+                loadedChannel.setInitialized(true);
+            }
         }
+    }
 
-        for (HmDatapoint dp : channel.getDatapoints()) {
-            handleVirtualDatapointEvent(dp, false);
+    /**
+     * Sets all datapoint values for the given channels of one device, with one request for all channels.
+     */
+    private void setChannelDatapointValues(List<HmChannel> channels, HmParamsetType paramsetType) throws IOException {
+        Map<HmChannel, Object[]> paramsets = getRpcClient(channels.get(0).getDevice().getHmInterface())
+                .getParamsets(channels, paramsetType);
+        for (HmChannel channel : channels) {
+            Object[] paramset = paramsets.get(channel);
+            if (paramset != null) {
+                new GetParamsetParser(channel, paramsetType).parse(paramset);
+            } else {
+                setChannelDatapointValues(channel, paramsetType);
+            }
         }
-
-        channel.setInitialized(true);
     }
 
     @Override
@@ -757,10 +904,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                     List<HmDevice> deviceDescriptions = getDeviceDescriptions();
                     for (HmDevice device : deviceDescriptions) {
                         if (device.getAddress().equals(address)) {
-                            for (HmChannel channel : device.getChannels()) {
-                                addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                addChannelDatapoints(channel, HmParamsetType.VALUES);
-                            }
+                            addChannelDatapoints(device.getChannels());
                             prepareDevice(device);
                             gatewayAdapter.onNewDevice(device);
                         }
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the paramset descriptions of a Homematic gateway, so the metadata of the devices is only loaded
+ * from the gateway if it changed since the previous start.
+ *
+ * The descriptions are stored by the type and firmware of the device and the type and description version of the
+ * channel, as reported by listDevices. A changed description comes with a new firmware or version, so an outdated
+ * description is never used. Channels without a version and the VALUES of reconfigurable channels, which depend on
+ * the configured function, are not cached. The file is written in the BIN-RPC format, which keeps the types of the
+ * values as received from the gateway.
+ *
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCache {
+    private final Logger logger = LoggerFactory.getLogger(ParamsetDescriptionCache.class);
+    private static final Integer FORMAT_VERSION = 1;
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+
+    private final Path file;
+    private final Map<String, Object[]> descriptions = new ConcurrentHashMap<>();
+    private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+    private boolean loaded;
+
+    public ParamsetDescriptionCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the cached descriptions from the file, if not already done.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            Object[] data = new BinRpcMessage(Files.readAllBytes(file), false, ENCODING).getResponseData();
+            if (data.length == 2 && FORMAT_VERSION.equals(data[0]) && data[1] instanceof Map) {
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) data[1]).entrySet()) {
+                    if (entry.getValue() instanceof Object[]) {
+                        descriptions.put(entry.getKey(), (Object[]) entry.getValue());
+                    }
+                }
+                logger.debug("Loaded {} paramset descriptions from '{}'", descriptions.size(), file);
+            }
+        } catch (IOException | ParseException | RuntimeException ex) {
+            logger.debug("Ignoring the paramset description cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the cached paramset description of the channel, or null if it is not cached.
+     */
+    public Object[] get(HmChannel channel, HmParamsetType paramsetType) {
+        String key = getKey(channel, paramsetType);
+        if (key == null) {
+            return null;
+        }
+        Object[] description = descriptions.get(key);
+        if (description != null) {
+            usedKeys.add(key);
+        }
+        return description;
+    }
+
+    /**
+     * Caches the paramset description of the channel, as received from the gateway.
+     */
+    public void put(HmChannel channel, HmParamsetType paramsetType, Object[] description) {
+        String key = getKey(channel, paramsetType);
+        if (key != null) {
+            descriptions.put(key, description);
+            usedKeys.add(key);
+        }
+    }
+
+    /**
+     * Writes the descriptions which have been used since the last save, the others belong to removed devices or to
+     * outdated firmwares.
+     */
+    public synchronized void save() {
+        descriptions.keySet().retainAll(usedKeys);
+        usedKeys.clear();
+
+        BinRpcMessage message = new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+        message.addArg(FORMAT_VERSION);
+        message.addArg(descriptions);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tempFile, message.createMessage());
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Saved {} paramset descriptions to '{}'", descriptions.size(), file);
+        } catch (IOException ex) {
+            logger.debug("Can't save the paramset description cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    private String getKey(HmChannel channel, HmParamsetType paramsetType) {
+        if (channel.getVersion() == null || (paramsetType == HmParamsetType.VALUES && channel.isReconfigurable())) {
+            return null;
+        }
+        HmDevice device = channel.getDevice();
+        return String.join("|", String.valueOf(device.getHmInterface()), device.getType(),
+                String.valueOf(device.getFirmware()), channel.getType(), String.valueOf(channel.getNumber()),
+                String.valueOf(channel.getVersion()), paramsetType.toString());
+    }
+}
@@ -15,10 +15,14 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.homematic.internal.HomematicBindingConstants;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
@@ -32,6 +36,7 @@ import org.openhab.binding.homematic.internal.communicator.parser.GetValueParser
 import org.openhab.binding.homematic.internal.communicator.parser.HomegearLoadDeviceNamesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListDevicesParser;
+import org.openhab.binding.homematic.internal.communicator.parser.RpcResponseParser;
 import org.openhab.binding.homematic.internal.communicator.parser.RssiInfoParser;
 import org.openhab.binding.homematic.internal.misc.MiscUtils;
 import org.openhab.binding.homematic.internal.model.HmChannel;
@@ -55,6 +60,8 @@ public abstract class RpcClient<T> {
     protected static final int RESP_BUFFER_SIZE = 8192;
 
     protected HomematicConfig config;
+    private final Set<Integer> multicallUnsupportedPorts = ConcurrentHashMap.newKeySet();
+    private volatile boolean parallelLoading;
 
     public RpcClient(HomematicConfig config) {
         this.config = config;
@@ -80,6 +87,21 @@ public abstract class RpcClient<T> {
      */
     protected abstract Object[] sendMessage(int port, RpcRequest<T> request) throws IOException;
 
+    /**
+     * Allows or forbids sending requests to the same interface in parallel, which is only done while the metadata of
+     * all devices is loaded.
+     */
+    public void setParallelLoading(boolean parallelLoading) {
+        this.parallelLoading = parallelLoading;
+    }
+
+    /**
+     * Returns true, if requests to the same interface may be sent in parallel.
+     */
+    protected boolean isParallelLoading() {
+        return parallelLoading;
+    }
+
     /**
      * Register a callback for the specified interface where the Homematic gateway can send its events.
      */
@@ -223,6 +245,103 @@ public abstract class RpcClient<T> {
         }
     }
 
+    /**
+     * Returns the paramset descriptions of the given channels of one device, requested with one system.multicall
+     * request. Channels without a description in the result have to be loaded with
+     * {@link #addChannelDatapoints(HmChannel, HmParamsetType)}, which also handles their failures.
+     */
+    public Map<HmChannel, Object[]> getParamsetDescriptions(List<HmChannel> channels, HmParamsetType paramsetType) {
+        List<HmChannel> batchChannels = new ArrayList<>();
+        for (HmChannel channel : channels) {
+            if (!isConfigurationChannel(channel) || paramsetType == HmParamsetType.MASTER) {
+                batchChannels.add(channel);
+            }
+        }
+        return multicall("getParamsetDescription", batchChannels, paramsetType);
+    }
+
+    /**
+     * Returns the paramsets of the given channels of one device, requested with one system.multicall request.
+     * Channels without a paramset in the result have to be loaded with
+     * {@link #setChannelDatapointValues(HmChannel, HmParamsetType)}, which also handles their failures.
+     */
+    public Map<HmChannel, Object[]> getParamsets(List<HmChannel> channels, HmParamsetType paramsetType) {
+        List<HmChannel> batchChannels = new ArrayList<>();
+        for (HmChannel channel : channels) {
+            if ((!isConfigurationChannel(channel) || paramsetType == HmParamsetType.MASTER)
+                    && (channel.getDevice().getHmInterface() != HmInterface.CUXD
+                            || paramsetType != HmParamsetType.VALUES)) {
+                batchChannels.add(channel);
+            }
+        }
+        return multicall("getParamset", batchChannels, paramsetType);
+    }
+
+    /**
+     * Sends the paramset method for all channels with one system.multicall request and returns the response data of
+     * the successful calls. If the request fails, nothing is returned. If the interface answers with a fault, i.e.
+     * does not support system.multicall, later batches for the interface are not sent anymore.
+     */
+    private Map<HmChannel, Object[]> multicall(String methodName, List<HmChannel> channels,
+            HmParamsetType paramsetType) {
+        Map<HmChannel, Object[]> results = new LinkedHashMap<>();
+        if (channels.size() < 2) {
+            // nothing to gain, the single request is sent by the caller
+            return results;
+        }
+        int port = config.getRpcPort(channels.get(0));
+        if (multicallUnsupportedPorts.contains(port)) {
+            return results;
+        }
+
+        List<RpcRequest<T>> requests = new ArrayList<>();
+        List<Map<String, Object>> calls = new ArrayList<>();
+        for (HmChannel channel : channels) {
+            List<Object> params = List.of(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel),
+                    paramsetType.toString());
+            RpcRequest<T> request = createRpcRequest(methodName);
+            params.forEach(request::addArg);
+            requests.add(request);
+            calls.add(Map.of("methodName", methodName, "params", params));
+        }
+        RpcRequest<T> multicallRequest = createRpcRequest("system.multicall");
+        multicallRequest.addArg(calls);
+
+        Object response;
+        try {
+            response = sendMessage(port, multicallRequest)[0];
+        } catch (RpcFaultException ex) {
+            logger.debug("The system.multicall request is not supported on port {}, sending single requests: {}", port,
+                    ex.getMessage());
+            multicallUnsupportedPorts.add(port);
+            return results;
+        } catch (IOException ex) {
+            // transport errors are not specific to system.multicall, the next batch tries it again
+            logger.debug("The system.multicall request failed on port {}, sending single requests: {}", port,
+                    ex.getMessage());
+            return results;
+        }
+        if (!(response instanceof Object[]) || ((Object[]) response).length != calls.size()) {
+            logger.debug("Unexpected system.multicall response on port {}, sending single requests: {}", port,
+                    response);
+            multicallUnsupportedPorts.add(port);
+            return results;
+        }
+        Object[] responses = (Object[]) response;
+        for (int i = 0; i < responses.length; i++) {
+            // a successful call returns its result in an array, a failed call returns a fault struct
+            if (responses[i] instanceof Object[]) {
+                try {
+                    Object[] result = new RpcResponseParser(requests.get(i)).parse((Object[]) responses[i]);
+                    results.put(channels.get(i), result);
+                } catch (IOException ex) {
+                    logger.trace("Batched call failed, loading it again by a single call: {}", ex.getMessage());
+                }
+            }
+        }
+        return results;
+    }
+
     /**
      * Tries to identify the gateway and returns the GatewayInfo.
      */
@@ -12,15 +12,13 @@
  */
 package org.openhab.binding.homematic.internal.communicator.client;
 
-import java.io.IOException;
-
 /**
  * Exception if the RPC call returns a unknown -1 Failure.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 
-public class UnknownRpcFailureException extends IOException {
+public class UnknownRpcFailureException extends RpcFaultException {
     private static final long serialVersionUID = -5695414238422364040L;
 
     public UnknownRpcFailureException(String message) {
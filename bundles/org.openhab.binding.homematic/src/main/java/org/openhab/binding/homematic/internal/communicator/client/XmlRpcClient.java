@@ -14,7 +14,10 @@ package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -43,6 +46,7 @@ import org.xml.sax.SAXException;
 public class XmlRpcClient extends RpcClient<String> {
     private final Logger logger = LoggerFactory.getLogger(XmlRpcClient.class);
     private HttpClient httpClient;
+    private final Map<Integer, Semaphore> portPermits = new ConcurrentHashMap<>();
 
     public XmlRpcClient(HomematicConfig config, HttpClient httpClient) throws IOException {
         super(config);
@@ -66,8 +70,33 @@ public class XmlRpcClient extends RpcClient<String> {
         return "http://" + config.getCallbackHost() + ":" + config.getXmlCallbackPort();
     }
 
+    /**
+     * Sends the message. While the metadata of the devices is loaded, up to loadParallelism requests are sent to the
+     * same interface at the same time, otherwise the requests are sent one after the other.
+     */
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+        Semaphore permits = portPermits.computeIfAbsent(port, p -> new Semaphore(config.getLoadParallelism(), true));
+        if (isParallelLoading()) {
+            permits.acquireUninterruptibly();
+            try {
+                return sendLimitedMessage(port, request);
+            } finally {
+                permits.release();
+            }
+        }
+        synchronized (this) {
+            // waits for the parallel requests still running after loading
+            permits.acquireUninterruptibly(config.getLoadParallelism());
+            try {
+                return sendLimitedMessage(port, request);
+            } finally {
+                permits.release(config.getLoadParallelism());
+            }
+        }
+    }
+
+    private Object[] sendLimitedMessage(int port, RpcRequest<String> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client XmlRpcRequest (port {}):\n{}", port, request);
         }
@@ -19,6 +19,8 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,14 +47,20 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         RESPONSE
     }
 
+    /**
+     * Size of the header with the signature and the length of the payload
+     */
+    public static final int HEADER_LENGTH = 8;
+
     private Object[] messageData;
     private byte binRpcData[];
+    private ByteBuffer binRpcBuffer;
     private int offset;
 
     private String methodName;
     private TYPE type;
     private int args;
-    private String encoding;
+    private Charset charset;
 
     public BinRpcMessage(String methodName, String encoding) {
         this(methodName, TYPE.REQUEST, encoding);
@@ -64,7 +72,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     public BinRpcMessage(String methodName, TYPE type, String encoding) {
         this.methodName = methodName;
         this.type = type;
-        this.encoding = encoding;
+        this.charset = toCharset(encoding);
         createHeader();
     }
 
@@ -72,48 +80,75 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      * Decodes a BIN-RPC message from the given InputStream.
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
-        this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        this.charset = toCharset(encoding);
+        byte header[] = new byte[HEADER_LENGTH];
+        int length = readFully(is, header, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        validateBinXSignature(header);
+        length = readFully(is, header, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(Arrays.copyOfRange(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
-
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
-        }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
+        int datasize = getPayloadLength(header);
+        // the payload is read directly behind the header, so the message is decoded without copying it
+        byte[] message = Arrays.copyOf(header, HEADER_LENGTH + datasize);
+        length = readFully(is, message, HEADER_LENGTH, datasize);
+        if (length != datasize) {
+            throw new EOFException("Only " + length + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = new byte[sig.length + payload.length];
-        System.arraycopy(sig, 0, message, 0, sig.length);
-        System.arraycopy(payload, 0, message, sig.length, payload.length);
 
         decodeMessage(message, methodHeader);
     }
 
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+    /**
+     * Returns the charset for the given encoding, or the default charset if the encoding is not supported.
+     */
+    private static Charset toCharset(String encoding) {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    private static int readFully(InputStream is, byte[] buffer, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(buffer, offset + read, length - read)) != -1) {
+            read += currentLength;
+        }
+        return read;
+    }
+
+    /**
+     * Checks the BinX signature of a message.
+     *
+     * @param sig at least the first three bytes of a message
+     */
+    public static void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
         if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
             throw new UnsupportedEncodingException("No BinX signature");
         }
     }
 
+    /**
+     * Returns the length of the payload following the header of a message.
+     *
+     * @param header at least the {@link #HEADER_LENGTH} bytes of the header of a message
+     */
+    public static int getPayloadLength(byte[] header) {
+        return ByteBuffer.wrap(header, 4, 4).getInt();
+    }
+
     /**
      * Decodes a BIN-RPC message from the given byte array.
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
-        this.encoding = encoding;
-        if (message.length < 8) {
+        this.charset = toCharset(encoding);
+        if (message.length < HEADER_LENGTH) {
             throw new EOFException("Only " + message.length + " bytes received");
         }
         validateBinXSignature(message);
@@ -122,8 +157,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
         binRpcData = message;
+        binRpcBuffer = ByteBuffer.wrap(message);
 
-        offset = 8;
+        offset = HEADER_LENGTH;
 
         if (methodHeader) {
             methodName = readString();
@@ -137,7 +173,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
+        if (binRpcBuffer == null || binRpcBuffer.array() != binRpcData) {
+            binRpcBuffer = ByteBuffer.wrap(binRpcData);
+        }
+        offset = HEADER_LENGTH + (methodName != null ? methodName.length() + 8 : 0);
         List<Object> values = new ArrayList<>();
         while (offset < binRpcData.length) {
             values.add(readRpcValue());
@@ -198,25 +237,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         return messageData;
     }
 
-    // read rpc values
+    // read rpc values in place, BIN-RPC uses the big endian default byte order of ByteBuffer
     private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
+        int value = binRpcBuffer.getInt(offset);
         offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return value;
     }
 
     private long readInt64() {
-        byte bi[] = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
+        long value = binRpcBuffer.getLong(offset);
         offset += 8;
-        return (new BigInteger(bi)).longValue();
+        return value;
     }
 
-    private String readString() throws UnsupportedEncodingException {
+    private String readString() {
         int len = readInt();
         offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+        return new String(binRpcData, offset - len, len, charset);
     }
 
     private Object readRpcValue() throws IOException {
@@ -271,20 +308,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         offset = temp;
     }
 
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    private void ensureCapacity(int length) {
+        if (offset + length > binRpcData.length) {
+            binRpcData = Arrays.copyOf(binRpcData, Math.max(binRpcData.length * 2, offset + length));
         }
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
         binRpcData[offset++] = b;
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData[offset++] = (byte) (value >> 24);
+        binRpcData[offset++] = (byte) (value >> 16);
+        binRpcData[offset++] = (byte) (value >> 8);
+        binRpcData[offset++] = (byte) (value);
     }
 
     private void addDouble(double value) {
@@ -310,15 +350,22 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void addString(String string) {
-        byte sd[];
-        try {
-            sd = string.getBytes(encoding);
-        } catch (UnsupportedEncodingException use) {
-            sd = string.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
-        }
+        addBytes(string.getBytes(charset));
+    }
+
+    /**
+     * Adds the string with the length of its encoded bytes, which differs from the number of characters for UTF-8.
+     */
+    private void addStringValue(String string) {
+        byte sd[] = string.getBytes(charset);
+        addInt(sd.length);
+        addBytes(sd);
+    }
+
+    private void addBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, binRpcData, offset, bytes.length);
+        offset += bytes.length;
     }
 
     private void addList(Collection<?> collection) {
@@ -330,9 +377,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
             addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addStringValue((String) object);
         } else if (object.getClass() == Boolean.class) {
             addInt(2);
             addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
@@ -360,6 +405,11 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             addInt(0x100);
             addInt(list.size());
             addList(list);
+        } else if (object instanceof Object[]) {
+            Object[] array = (Object[]) object;
+            addInt(0x100);
+            addInt(array.length);
+            addList(Arrays.asList(array));
         } else if (object instanceof Map<?, ?>) {
             Map<?, ?> map = (Map<?, ?>) object;
             addInt(0x101);
@@ -367,8 +417,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
-                    addString(key);
+                    addStringValue(key);
                     addList(Collections.singleton(entry.getValue()));
                 }
             }
@@ -12,32 +12,108 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and handles them with the RpcResponseHandler.
+ *
+ * All connections are served by one non-blocking event loop, which only reads the messages and writes the results.
+ * A completely received message is decoded and handled on the RPC thread pool. The gateway waits for the result of a
+ * call before sending the next one, so a connection is not read while its message is handled.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
+    /**
+     * Messages with a larger payload are considered garbage and close the connection
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 64 * 1024 * 1024;
+
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Queue<Connection> handledConnections = new ConcurrentLinkedQueue<>();
+
+    /**
+     * State of a connection from the Homematic gateway.
+     */
+    private static class Connection {
+        private final SocketChannel channel;
+        private final long created = System.currentTimeMillis();
+        private final ByteBuffer header = ByteBuffer.allocate(BinRpcMessage.HEADER_LENGTH);
+        private ByteBuffer message;
+        private ByteBuffer result;
+        private boolean close;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads the available data of the current message.
+         *
+         * @return the completely received message, or null if more data is needed
+         */
+        private byte[] read() throws IOException {
+            if (message == null) {
+                if (channel.read(header) < 0) {
+                    throw new EOFException();
+                }
+                if (header.hasRemaining()) {
+                    return null;
+                }
+                byte[] headerBytes = header.array();
+                BinRpcMessage.validateBinXSignature(headerBytes);
+                int payloadLength = BinRpcMessage.getPayloadLength(headerBytes);
+                if (payloadLength < 0 || payloadLength > MAX_PAYLOAD_LENGTH) {
+                    throw new IOException("Invalid BIN-RPC message length " + payloadLength);
+                }
+                message = ByteBuffer.wrap(Arrays.copyOf(headerBytes, BinRpcMessage.HEADER_LENGTH + payloadLength));
+                message.position(BinRpcMessage.HEADER_LENGTH);
+                header.clear();
+            }
+            if (message.hasRemaining() && channel.read(message) < 0) {
+                throw new EOFException("Only " + (message.position() - BinRpcMessage.HEADER_LENGTH)
+                        + " bytes received while reading message payload, expected "
+                        + (message.capacity() - BinRpcMessage.HEADER_LENGTH) + " bytes");
+            }
+            if (message.hasRemaining()) {
+                return null;
+            }
+            byte[] completeMessage = message.array();
+            message = null;
+            return completeMessage;
+        }
+    }
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +121,18 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBinCallbackPort()));
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,18 +159,150 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Runs the event loop, reading the messages of all connections and writing their results.
      */
     @Override
     public void run() {
-        while (accept) {
-            try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
-                // ignore
+        try {
+            while (accept) {
+                selector.select();
+                resumeHandledConnections();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else if (key.isReadable()) {
+                        readMessage(key);
+                    } else if (key.isWritable()) {
+                        writeResult(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (accept) {
+                logger.warn("BIN-RPC server stopped: {}", e.getMessage(), e);
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void acceptConnection() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
             }
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    private void readMessage(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            byte[] message = connection.read();
+            if (message != null) {
+                key.interestOps(0);
+                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> handleMessage(connection, message));
+            }
+        } catch (EOFException eof) {
+            close(key);
+        } catch (IOException e) {
+            logger.warn("{}", e.getMessage(), e);
+            close(key);
+        }
+    }
+
+    /**
+     * Decodes the message and handles the method call, on the RPC thread pool.
+     */
+    private void handleMessage(Connection connection, byte[] data) {
+        try {
+            BinRpcMessage message = new BinRpcMessage(data, true, config.getEncoding());
+            logger.trace("Event BinRpcMessage: {}", message);
+            byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
+                    message.getResponseData());
+            if (returnValue != null) {
+                connection.result = ByteBuffer.wrap(returnValue);
+            }
+        } catch (Exception e) {
+            logger.warn("{}", e.getMessage(), e);
+            connection.close = true;
+        }
+        handledConnections.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Writes the results of the handled messages, or continues reading if there is no result.
+     */
+    private void resumeHandledConnections() {
+        Connection connection;
+        while ((connection = handledConnections.poll()) != null) {
+            SelectionKey key = connection.channel.keyFor(selector);
+            if (key == null || !key.isValid()) {
+                continue;
+            }
+            if (connection.close) {
+                close(key);
+            } else if (connection.result != null) {
+                writeResult(key);
+            } else {
+                continueReading(key);
+            }
+        }
+    }
+
+    private void writeResult(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            connection.channel.write(connection.result);
+            if (connection.result.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else {
+                connection.result = null;
+                continueReading(key);
+            }
+        } catch (IOException e) {
+            logger.warn("{}", e.getMessage(), e);
+            close(key);
+        }
+    }
+
+    private void continueReading(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        long maxAliveMillis = config.getSocketMaxAlive() * 1000L;
+        if (System.currentTimeMillis() - connection.created > maxAliveMillis) {
+            close(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+    }
+
+    private void closeAll() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException ioe) {
+            // ignore
         }
     }
 
@@ -95,9 +312,10 @@ public class BinRpcNetworkService implements Runnable {
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        selector.wakeup();
     }
 }
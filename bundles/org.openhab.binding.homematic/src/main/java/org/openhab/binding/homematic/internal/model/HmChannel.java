@@ -39,6 +39,7 @@ public class HmChannel {
     private HmDevice device;
     private boolean initialized;
     private Integer lastFunction;
+    private Integer version;
     private Map<HmDatapointInfo, HmDatapoint> datapoints = new HashMap<>();
 
     public HmChannel(String type, Integer number) {
@@ -74,6 +75,21 @@ public class HmChannel {
         return type;
     }
 
+    /**
+     * Returns the version of the channel description, which changes if the paramsets of the channel change, or null
+     * if the gateway does not provide a version.
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the channel description.
+     */
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     /**
      * Sets the flag, if the values for all datapoints has been loaded.
      *
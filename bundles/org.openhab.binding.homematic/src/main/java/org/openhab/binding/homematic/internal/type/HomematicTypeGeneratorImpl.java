@@ -132,8 +132,12 @@ public class HomematicTypeGeneratorImpl implements HomematicTypeGenerator {
         MetadataUtils.initialize();
     }
 
+    /**
+     * Generates the types of the device. Devices are loaded in parallel, so the types are generated one device after
+     * the other.
+     */
     @Override
-    public void generate(HmDevice device) {
+    public synchronized void generate(HmDevice device) {
         if (thingTypeProvider != null) {
             ThingTypeUID thingTypeUID = UidUtils.generateThingTypeUID(device);
             ThingType tt = thingTypeProvider.getInternalThingType(thingTypeUID);
@@ -186,7 +190,7 @@ public class HomematicTypeGeneratorImpl implements HomematicTypeGenerator {
     }
 
     @Override
-    public void validateFirmwares() {
+    public synchronized void validateFirmwares() {
         for (String deviceType : firmwaresByType.keySet()) {
             Set<String> firmwares = firmwaresByType.get(deviceType);
             if (firmwares.size() > 1) {
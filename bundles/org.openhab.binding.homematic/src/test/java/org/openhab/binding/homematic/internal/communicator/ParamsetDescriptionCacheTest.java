@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+
+/**
+ * Tests for {@link ParamsetDescriptionCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCacheTest {
+
+    private static final Object[] DESCRIPTION = new Object[] { Map.of("LEVEL",
+            Map.of("TYPE", "FLOAT", "MIN", 0.0, "MAX", 1.01, "OPERATIONS", 7, "UNIT", "100%")) };
+
+    @TempDir
+    public Path folder;
+
+    private static HmChannel createChannel(String firmware, Integer version) {
+        HmDevice device = new HmDevice("ABC12345678", HmInterface.RF, "HM-LC-Dim1-Pl3", "CCU2", "", firmware);
+        HmChannel channel = new HmChannel("DIMMER", 1);
+        channel.setVersion(version);
+        device.addChannel(channel);
+        return channel;
+    }
+
+    @Test
+    public void descriptionsAreLoadedAfterRestart() {
+        Path file = folder.resolve("cache").resolve("gateway-paramsets.bin");
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        cache.put(createChannel("2.9", 15), HmParamsetType.VALUES, DESCRIPTION);
+        cache.save();
+
+        ParamsetDescriptionCache restartedCache = new ParamsetDescriptionCache(file);
+        restartedCache.load();
+        Object[] description = restartedCache.get(createChannel("2.9", 15), HmParamsetType.VALUES);
+
+        assertThat(Arrays.deepEquals(description, DESCRIPTION), is(true));
+        assertThat(restartedCache.get(createChannel("2.9", 15), HmParamsetType.MASTER), is(nullValue()));
+    }
+
+    @Test
+    public void changedFirmwareOrVersionIsNotFound() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(folder.resolve("gateway-paramsets.bin"));
+        cache.put(createChannel("2.9", 15), HmParamsetType.VALUES, DESCRIPTION);
+
+        assertThat(cache.get(createChannel("2.11", 15), HmParamsetType.VALUES), is(nullValue()));
+        assertThat(cache.get(createChannel("2.9", 16), HmParamsetType.VALUES), is(nullValue()));
+    }
+
+    @Test
+    public void channelsWithoutVersionAreNotCached() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(folder.resolve("gateway-paramsets.bin"));
+        cache.put(createChannel("2.9", null), HmParamsetType.VALUES, DESCRIPTION);
+
+        assertThat(cache.get(createChannel("2.9", null), HmParamsetType.VALUES), is(nullValue()));
+    }
+
+    @Test
+    public void unusedDescriptionsAreRemovedOnSave() {
+        Path file = folder.resolve("gateway-paramsets.bin");
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.put(createChannel("2.9", 15), HmParamsetType.VALUES, DESCRIPTION);
+        cache.save();
+        cache.put(createChannel("2.11", 15), HmParamsetType.VALUES, DESCRIPTION);
+        cache.save();
+
+        ParamsetDescriptionCache restartedCache = new ParamsetDescriptionCache(file);
+        restartedCache.load();
+
+        assertThat(restartedCache.get(createChannel("2.9", 15), HmParamsetType.VALUES), is(nullValue()));
+        assertThat(restartedCache.get(createChannel("2.11", 15), HmParamsetType.VALUES), is(notNullValue()));
+    }
+}
@@ -19,6 +19,8 @@ import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
 import static org.openhab.binding.homematic.test.util.RpcClientMockImpl.*;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -95,6 +97,50 @@ public class RpcClientTest extends JavaTest {
         assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_NAME), is(0));
     }
 
+    @Test
+    public void paramsetDescriptionsOfAllChannelsAreLoadedWithOneMulticall() throws IOException {
+        List<HmChannel> channels = List.of(createDimmerHmChannel(), createDimmerHmChannel(),
+                createDimmerDummyChannel());
+
+        Map<HmChannel, Object[]> descriptions = rpcClient.getParamsetDescriptions(channels, HmParamsetType.MASTER);
+
+        assertThat(descriptions.size(), is(3));
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(1));
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(0));
+    }
+
+    @Test
+    public void valuesParamsetsAreNotLoadedForDummyChannelWithMulticall() throws IOException {
+        List<HmChannel> channels = List.of(createDimmerHmChannel(), createDimmerHmChannel(),
+                createDimmerDummyChannel());
+
+        Map<HmChannel, Object[]> paramsets = rpcClient.getParamsets(channels, HmParamsetType.VALUES);
+
+        assertThat(paramsets.size(), is(2));
+        assertThat(paramsets.containsKey(channels.get(2)), is(false));
+    }
+
+    @Test
+    public void multicallIsNotSentAgainIfUnsupported() throws IOException {
+        List<HmChannel> channels = List.of(createDimmerHmChannel(), createDimmerHmChannel());
+        rpcClient.multicallSupported = false;
+
+        assertThat(rpcClient.getParamsets(channels, HmParamsetType.VALUES).isEmpty(), is(true));
+        assertThat(rpcClient.getParamsets(channels, HmParamsetType.VALUES).isEmpty(), is(true));
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(1));
+    }
+
+    @Test
+    public void multicallIsSentAgainAfterTransportError() throws IOException {
+        List<HmChannel> channels = List.of(createDimmerHmChannel(), createDimmerHmChannel());
+        rpcClient.multicallTransportFails = true;
+
+        assertThat(rpcClient.getParamsets(channels, HmParamsetType.VALUES).isEmpty(), is(true));
+        rpcClient.multicallTransportFails = false;
+        assertThat(rpcClient.getParamsets(channels, HmParamsetType.VALUES).size(), is(2));
+        assertThat(rpcClient.numberOfCalls.get(MULTICALL_NAME), is(2));
+    }
+
     @Test
     public void burstRxModeIsConfiguredAsParameterOnRequest() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the decoding of a system.multicall burst with events of many devices, as the CCU sends it after a restart
+ * or for a group of devices switched at once. It is not run by the build, start it with the main method from the
+ * test classpath.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinRpcMessageBenchmark {
+
+    private static final String ENCODING = "ISO-8859-1";
+
+    @Param({ "10", "100", "1000" })
+    public int events;
+
+    private byte[] data = new byte[0];
+
+    @Setup
+    public void setUp() {
+        BinRpcMessage request = new BinRpcMessage("system.multicall", ENCODING);
+        List<Object> calls = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            String address = String.format("NEQ%07d:%d", i / 4, i % 4 + 1);
+            Object value = i % 3 == 0 ? Boolean.TRUE
+                    : i % 3 == 1 ? (Object) Integer.valueOf(i) : Double.valueOf(i / 4.0);
+            calls.add(Map.of("methodName", "event", "params", List.of("openHAB-RF", address, "STATE", value)));
+        }
+        request.addArg(calls);
+        data = request.createMessage();
+    }
+
+    @Benchmark
+    public Object[] decode() throws IOException, ParseException {
+        return new BinRpcMessage(data, true, ENCODING).getResponseData();
+    }
+
+    @Benchmark
+    public Object[] decodeFromStream() throws IOException {
+        return new BinRpcMessage(new ByteArrayInputStream(data), true, ENCODING).getResponseData();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BinRpcMessageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
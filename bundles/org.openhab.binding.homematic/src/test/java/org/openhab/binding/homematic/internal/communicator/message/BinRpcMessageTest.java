@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for encoding and decoding of {@link BinRpcMessage}s.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcMessageTest {
+
+    private static final String ENCODING = "ISO-8859-1";
+
+    private static byte[] createMulticall(int events) {
+        BinRpcMessage request = new BinRpcMessage("system.multicall", ENCODING);
+        List<Object> calls = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            Object value = i % 3 == 0 ? Boolean.TRUE
+                    : i % 3 == 1 ? (Object) Integer.valueOf(i) : Double.valueOf(i / 4.0);
+            calls.add(Map.of("methodName", "event", "params",
+                    List.of("openHAB-RF", "NEQ00000" + i + ":1", "STATE", value)));
+        }
+        request.addArg(calls);
+        return request.createMessage();
+    }
+
+    @Test
+    public void testMulticallRoundTrip() throws IOException, ParseException {
+        BinRpcMessage message = new BinRpcMessage(createMulticall(3), true, ENCODING);
+
+        assertThat(message.getMethodName(), is("system.multicall"));
+        Object[] calls = (Object[]) message.getResponseData()[0];
+        assertThat(calls.length, is(3));
+        Map<?, ?> call = (Map<?, ?>) calls[2];
+        assertThat(call.get("methodName"), is("event"));
+        assertThat(Arrays.asList((Object[]) call.get("params")),
+                is(List.of("openHAB-RF", "NEQ000002:1", "STATE", Double.valueOf(0.5))));
+        assertThat(((Object[]) ((Map<?, ?>) calls[0]).get("params"))[3], is(Boolean.TRUE));
+        assertThat(((Object[]) ((Map<?, ?>) calls[1]).get("params"))[3], is(Integer.valueOf(1)));
+    }
+
+    @Test
+    public void testUnsupportedEncodingFallsBackToDefault() throws IOException, ParseException {
+        BinRpcMessage request = new BinRpcMessage("getValue", "NO-SUCH-ENCODING");
+        request.addArg("NEQ0000001:1");
+
+        BinRpcMessage message = new BinRpcMessage(request.createMessage(), true, "NO-SUCH-ENCODING");
+
+        assertThat(message.getMethodName(), is("getValue"));
+        assertThat(message.getResponseData()[0], is("NEQ0000001:1"));
+    }
+
+    @Test
+    public void testDecodeFromFragmentedStream() throws IOException {
+        byte[] data = createMulticall(50);
+        // delivers at most 7 bytes per read, like a slow network connection
+        InputStream is = new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+
+        BinRpcMessage message = new BinRpcMessage(is, true, ENCODING);
+
+        assertThat(message.getMethodName(), is("system.multicall"));
+        assertThat(((Object[]) message.getResponseData()[0]).length, is(50));
+    }
+
+    @Test
+    public void testTruncatedMessage() {
+        byte[] data = createMulticall(2);
+        InputStream is = new ByteArrayInputStream(Arrays.copyOf(data, data.length - 1));
+
+        EOFException e = assertThrows(EOFException.class, () -> new BinRpcMessage(is, true, ENCODING));
+        assertThat(e.getMessage(), containsString("expected " + (data.length - BinRpcMessage.HEADER_LENGTH)));
+    }
+
+    @Test
+    public void testMultiByteStrings() throws IOException, ParseException {
+        BinRpcMessage request = new BinRpcMessage("setValue", "UTF-8");
+        request.addArg(Map.of("NAME", "Küche Süd"));
+        request.addArg("Wohnzimmer");
+
+        BinRpcMessage message = new BinRpcMessage(request.createMessage(), true, "UTF-8");
+
+        assertThat(message.getResponseData()[0], is(Map.of("NAME", "Küche Süd")));
+        assertThat(message.getResponseData()[1], is("Wohnzimmer"));
+    }
+
+    @Test
+    public void testPayloadLength() {
+        byte[] data = createMulticall(2);
+
+        assertThat(BinRpcMessage.getPayloadLength(data), is(data.length - BinRpcMessage.HEADER_LENGTH));
+    }
+}
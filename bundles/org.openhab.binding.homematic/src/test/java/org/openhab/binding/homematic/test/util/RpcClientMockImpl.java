@@ -13,12 +13,15 @@
 package org.openhab.binding.homematic.test.util;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.RpcClient;
+import org.openhab.binding.homematic.internal.communicator.client.RpcFaultException;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 
 /**
@@ -28,8 +31,11 @@ public class RpcClientMockImpl extends RpcClient<String> {
 
     public static final String GET_PARAMSET_DESCRIPTION_NAME = "getParamsetDescription";
     public static final String GET_PARAMSET_NAME = "getParamset";
+    public static final String MULTICALL_NAME = "system.multicall";
 
     public Map<String, Integer> numberOfCalls = new HashMap<>();
+    public boolean multicallSupported = true;
+    public boolean multicallTransportFails = false;
 
     public RpcClientMockImpl() throws IOException {
         this(new HomematicConfig());
@@ -38,7 +44,8 @@ public class RpcClientMockImpl extends RpcClient<String> {
     public RpcClientMockImpl(HomematicConfig config) throws IOException {
         super(config);
 
-        Arrays.asList(GET_PARAMSET_DESCRIPTION_NAME, GET_PARAMSET_NAME).forEach(method -> numberOfCalls.put(method, 0));
+        Arrays.asList(GET_PARAMSET_DESCRIPTION_NAME, GET_PARAMSET_NAME, MULTICALL_NAME)
+                .forEach(method -> numberOfCalls.put(method, 0));
     }
 
     @Override
@@ -47,6 +54,16 @@ public class RpcClientMockImpl extends RpcClient<String> {
 
         increaseNumberOfCalls(methodName);
 
+        if (MULTICALL_NAME.equals(methodName)) {
+            if (!multicallSupported) {
+                throw new RpcFaultException("-1 Unknown method");
+            }
+            if (multicallTransportFails) {
+                throw new IOException("Connection refused");
+            }
+            List<?> calls = (List<?>) ((MockRpcRequest) request).args.get(0);
+            return new Object[] { calls.stream().map(call -> mockResponse()).toArray() };
+        }
         return mockResponse();
     }
 
@@ -67,22 +84,31 @@ public class RpcClientMockImpl extends RpcClient<String> {
 
     @Override
     protected RpcRequest<String> createRpcRequest(String methodName) {
-        return new RpcRequest<String>() {
+        return new MockRpcRequest(methodName);
+    }
 
-            @Override
-            public void addArg(Object arg) {
-            }
+    private static class MockRpcRequest implements RpcRequest<String> {
+        private final String methodName;
+        private final List<Object> args = new ArrayList<>();
 
-            @Override
-            public String createMessage() {
-                return null;
-            }
+        private MockRpcRequest(String methodName) {
+            this.methodName = methodName;
+        }
 
-            @Override
-            public String getMethodName() {
-                return methodName;
-            }
-        };
+        @Override
+        public void addArg(Object arg) {
+            args.add(arg);
+        }
+
+        @Override
+        public String createMessage() {
+            return null;
+        }
+
+        @Override
+        public String getMethodName() {
+            return methodName;
+        }
     }
 
     @Override
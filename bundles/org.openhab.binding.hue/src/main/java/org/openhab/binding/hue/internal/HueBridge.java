@@ -72,8 +72,10 @@ public class HueBridge {
     private @Nullable String username;
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
+    private final PolledResources<FullLight> polledLights = new PolledResources<>(gson, FullLight.class);
+    private final PolledResources<FullSensor> polledSensors = new PolledResources<>(gson, FullSensor.class);
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final HueCommandScheduler commandScheduler;
 
     @Nullable
     private Config cachedConfig;
@@ -96,7 +98,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler, this::getGroupActionURL);
     }
 
     /**
@@ -124,8 +126,8 @@ public class HueBridge {
         this.ip = ip;
         this.baseUrl = baseUrl;
         this.username = username;
-        this.scheduler = scheduler;
         this.http = http;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler, this::getGroupActionURL);
     }
 
     /**
@@ -187,14 +189,20 @@ public class HueBridge {
 
     /**
      * Returns a list of lights known to the bridge.
+     * The lights which did not change since the previous call are returned as the same objects.
      *
      * @return list of known lights as {@link FullLight}s
      * @throws UnauthorizedException thrown if the user no longer exists
      */
     public List<FullLight> getFullLights() throws IOException, ApiException {
         if (ApiVersionUtils.supportsFullLights(getVersion())) {
-            Type gsonType = FullLight.GSON_TYPE;
-            return getTypedLights(gsonType);
+            requireAuthentication();
+
+            Result result = http.get(getRelativeURL("lights"));
+
+            handleErrors(result);
+
+            return polledLights.update(result.getBody());
         } else {
             return getFullConfig().getLights();
         }
@@ -234,7 +242,8 @@ public class HueBridge {
     }
 
     /**
-     * Returns a list of sensors known to the bridge
+     * Returns a list of sensors known to the bridge.
+     * The sensors which did not change since the previous call are returned as the same objects.
      *
      * @return list of sensors
      * @throws UnauthorizedException thrown if the user no longer exists
@@ -246,16 +255,7 @@ public class HueBridge {
 
         handleErrors(result);
 
-        Map<String, FullSensor> sensorMap = safeFromJson(result.getBody(), FullSensor.GSON_TYPE);
-        ArrayList<FullSensor> sensorList = new ArrayList<>();
-
-        for (String id : sensorMap.keySet()) {
-            FullSensor sensor = sensorMap.get(id);
-            sensor.setId(id);
-            sensorList.add(sensor);
-        }
-
-        return sensorList;
+        return polledSensors.update(result.getBody());
     }
 
     /**
@@ -380,9 +380,7 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.updateLight(getRelativeURL("lights/" + enc(light.getId()) + "/state"), light, update);
     }
 
     /**
@@ -398,9 +396,7 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.updateSensor(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update);
     }
 
     /**
@@ -415,9 +411,7 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandScheduler.updateSensor(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update);
     }
 
     /**
@@ -463,6 +457,7 @@ public class HueBridge {
             groupList.add(group);
         });
 
+        commandScheduler.setGroups(groupList);
         return groupList;
     }
 
@@ -642,9 +637,7 @@ public class HueBridge {
     public CompletableFuture<Result> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandScheduler.updateGroup(getGroupActionURL(group), group, update);
     }
 
     /**
@@ -1122,6 +1115,10 @@ public class HueBridge {
         }
     }
 
+    private String getGroupActionURL(Group group) {
+        return getRelativeURL("groups/" + enc(group.getId()) + "/action");
+    }
+
     private String getRelativeURL(String path) {
         String relativeUrl = baseUrl;
         if (username != null) {
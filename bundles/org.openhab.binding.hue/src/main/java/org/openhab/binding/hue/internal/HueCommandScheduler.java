@@ -0,0 +1,335 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the state and config updates to the bridge within its rate budget.
+ *
+ * Philips recommends to send at most about 10 commands per second to lights and 1 command per second to groups, see
+ * https://developers.meethue.com/documentation/hue-system-performance. Updates are therefore queued and sent one after
+ * another with a pause depending on the kind and size of the sent command. While an update is waiting in the queue,
+ * following updates for the same light, group or sensor are merged into it, so only the latest values are sent. When a
+ * series of queued light updates sets the same state on all lights of a group, a single group command is sent
+ * instead, if it is cheaper than the light commands.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandScheduler {
+
+    /**
+     * Minimum pause in milliseconds after a light or sensor command
+     */
+    static final long MIN_COMMAND_INTERVAL = 100;
+
+    /**
+     * Minimum pause in milliseconds after a group command
+     */
+    static final long MIN_GROUP_COMMAND_INTERVAL = 1000;
+
+    /**
+     * Pause in milliseconds per attribute of a command
+     */
+    private static final long ATTRIBUTE_DELAY = 40;
+
+    private static final Set<String> COLOR_KEYS = Set.of("hue", "sat", "xy", "ct");
+    private static final Set<String> HS_KEYS = Set.of("hue", "sat");
+    private static final String SCENE_KEY = "scene";
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandScheduler.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final Function<Group, String> groupAddressProvider;
+
+    private final Deque<PendingCommand> queue = new ArrayDeque<>();
+    private final Map<String, PendingCommand> pendingByAddress = new HashMap<>();
+    private List<FullGroup> groups = List.of();
+    private @Nullable ScheduledFuture<?> job;
+    private long nextSendTime;
+
+    /**
+     * A queued command together with the futures of all updates merged into it
+     */
+    private static class PendingCommand {
+        private final String address;
+        private final @Nullable String lightId;
+        private final boolean group;
+        /**
+         * Lights affected by the command, <code>null</code> for all lights
+         */
+        private final @Nullable Set<String> affectedLightIds;
+        private final Map<String, Command> commands = new LinkedHashMap<>();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+
+        PendingCommand(String address, @Nullable String lightId, boolean group,
+                @Nullable Set<String> affectedLightIds) {
+            this.address = address;
+            this.lightId = lightId;
+            this.group = group;
+            this.affectedLightIds = affectedLightIds;
+        }
+
+        boolean canMerge(ConfigUpdate update) {
+            // a scene recall is not combined with anything, the result would depend on the order applied by the bridge
+            return !commands.containsKey(SCENE_KEY) && update.commands.stream().noneMatch(c -> SCENE_KEY.equals(c.key));
+        }
+
+        void merge(ConfigUpdate update) {
+            for (Command command : update.commands) {
+                if (COLOR_KEYS.contains(command.key)) {
+                    // the bridge prefers xy over ct over hue/sat, so only the latest color mode must be sent
+                    commands.keySet().removeIf(key -> COLOR_KEYS.contains(key)
+                            && !(HS_KEYS.contains(key) && HS_KEYS.contains(command.key)));
+                }
+                commands.put(command.key, command);
+            }
+        }
+
+        String toJson() {
+            return commands.values().stream().map(Command::toJson).collect(joining(",", "{", "}"));
+        }
+
+        /**
+         * Pause to keep after the command, as recommended by Philips
+         */
+        long getDelay() {
+            long minDelay = group ? MIN_GROUP_COMMAND_INTERVAL : MIN_COMMAND_INTERVAL;
+            return Math.max(commands.size() * ATTRIBUTE_DELAY, minDelay);
+        }
+
+        boolean overlaps(PendingCommand other) {
+            Set<String> lightIds = affectedLightIds;
+            Set<String> otherLightIds = other.affectedLightIds;
+            if (lightIds == null) {
+                return otherLightIds == null || !otherLightIds.isEmpty();
+            } else if (otherLightIds == null) {
+                return !lightIds.isEmpty();
+            }
+            return lightIds.stream().anyMatch(otherLightIds::contains);
+        }
+    }
+
+    /**
+     * @param http client sending the commands
+     * @param scheduler scheduler sending the commands
+     * @param groupAddressProvider provides the address of the action of a group
+     */
+    public HueCommandScheduler(HttpClient http, ScheduledExecutorService scheduler,
+            Function<Group, String> groupAddressProvider) {
+        this.http = http;
+        this.scheduler = scheduler;
+        this.groupAddressProvider = groupAddressProvider;
+    }
+
+    /**
+     * Set the groups known to the bridge, which are used to combine light commands into group commands
+     *
+     * @param groups groups with their lights
+     */
+    public synchronized void setGroups(List<FullGroup> groups) {
+        this.groups = List.copyOf(groups);
+    }
+
+    /**
+     * Queue the state update of a light
+     *
+     * @param address address of the state of the light
+     * @param light the light
+     * @param update the state update
+     * @return future completed with the result of the sent command, which may include merged updates
+     */
+    public CompletableFuture<Result> updateLight(String address, HueObject light, ConfigUpdate update) {
+        return enqueue(new PendingCommand(address, light.getId(), false, Set.of(light.getId())), update);
+    }
+
+    /**
+     * Queue the action of a group
+     *
+     * @param address address of the action of the group
+     * @param group the group
+     * @param update the state update
+     * @return future completed with the result of the sent command, which may include merged updates
+     */
+    public CompletableFuture<Result> updateGroup(String address, Group group, ConfigUpdate update) {
+        Set<String> lightIds = null;
+        if (group instanceof FullGroup && ((FullGroup) group).getLightIds() != null) {
+            lightIds = Set.copyOf(((FullGroup) group).getLightIds());
+        }
+        return enqueue(new PendingCommand(address, null, true, lightIds), update);
+    }
+
+    /**
+     * Queue the state or config update of a sensor
+     *
+     * @param address address of the state or config of the sensor
+     * @param update the update
+     * @return future completed with the result of the sent command, which may include merged updates
+     */
+    public CompletableFuture<Result> updateSensor(String address, ConfigUpdate update) {
+        return enqueue(new PendingCommand(address, null, false, Set.of()), update);
+    }
+
+    private synchronized CompletableFuture<Result> enqueue(PendingCommand command, ConfigUpdate update) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        PendingCommand pending = pendingByAddress.get(command.address);
+        if (pending != null && pending.canMerge(update) && !isOverlappedLater(pending)) {
+            logger.trace("Merging update {} into queued command to {}", update.toJson(), pending.address);
+            pending.merge(update);
+            pending.futures.add(future);
+        } else {
+            command.merge(update);
+            command.futures.add(future);
+            queue.add(command);
+            pendingByAddress.put(command.address, command);
+        }
+        if (job == null) {
+            long delay = Math.max(0, nextSendTime - System.currentTimeMillis());
+            job = scheduler.schedule(this::sendNext, delay, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Whether a command queued after the given one affects the same lights, so updates can't be merged into the given
+     * command without changing their order
+     */
+    private boolean isOverlappedLater(PendingCommand pending) {
+        boolean later = false;
+        for (PendingCommand command : queue) {
+            if (later && command.overlaps(pending)) {
+                return true;
+            }
+            later |= command == pending;
+        }
+        return false;
+    }
+
+    private void sendNext() {
+        PendingCommand command;
+        synchronized (this) {
+            command = takeNext();
+            if (command == null) {
+                job = null;
+                return;
+            }
+        }
+        String body = command.toJson();
+        logger.debug("Sending put to address: {} delay: {} body: {}", command.address, command.getDelay(), body);
+        try {
+            Result result = http.put(command.address, body);
+            command.futures.forEach(future -> future.complete(result));
+        } catch (IOException e) {
+            command.futures.forEach(future -> future.completeExceptionally(e));
+        } catch (RuntimeException e) {
+            command.futures.forEach(future -> future.completeExceptionally(e));
+            logger.warn("Unexpected failure sending command to {}", command.address, e);
+        }
+        synchronized (this) {
+            long delay = command.getDelay();
+            nextSendTime = System.currentTimeMillis() + delay;
+            job = queue.isEmpty() ? null : scheduler.schedule(this::sendNext, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Remove the next command to send from the queue, combining identical light commands into a group command if
+     * possible
+     */
+    private @Nullable PendingCommand takeNext() {
+        PendingCommand first = queue.poll();
+        if (first == null) {
+            return null;
+        }
+        pendingByAddress.remove(first.address);
+        String firstLightId = first.lightId;
+        if (firstLightId == null) {
+            return first;
+        }
+
+        // queued light commands following each other with the same body can be sent in any order
+        String body = first.toJson();
+        Map<String, PendingCommand> sameLightCommands = new HashMap<>();
+        sameLightCommands.put(firstLightId, first);
+        for (PendingCommand command : queue) {
+            String lightId = command.lightId;
+            if (lightId == null || !body.equals(command.toJson())) {
+                break;
+            }
+            sameLightCommands.put(lightId, command);
+        }
+        if (sameLightCommands.size() < 2) {
+            return first;
+        }
+
+        FullGroup bestGroup = null;
+        for (FullGroup group : groups) {
+            List<String> lightIds = group.getLightIds();
+            if (lightIds != null && !lightIds.isEmpty() && sameLightCommands.keySet().containsAll(lightIds)
+                    && (bestGroup == null || lightIds.size() > bestGroup.getLightIds().size())) {
+                bestGroup = group;
+            }
+        }
+        if (bestGroup == null) {
+            return first;
+        }
+        PendingCommand groupCommand = new PendingCommand(groupAddressProvider.apply(bestGroup), null, true,
+                Set.copyOf(bestGroup.getLightIds()));
+        groupCommand.commands.putAll(first.commands);
+        long lightCommandsDelay = bestGroup.getLightIds().size() * first.getDelay();
+        if (groupCommand.getDelay() >= lightCommandsDelay) {
+            return first;
+        }
+
+        logger.debug("Combining commands of {} lights into one command to group {}", bestGroup.getLightIds().size(),
+                bestGroup.getId());
+        for (String lightId : bestGroup.getLightIds()) {
+            PendingCommand command = sameLightCommands.get(lightId);
+            if (command != null) {
+                groupCommand.futures.addAll(command.futures);
+                if (command != first) {
+                    queue.remove(command);
+                    pendingByAddress.remove(command.address);
+                }
+            }
+        }
+        if (!bestGroup.getLightIds().contains(firstLightId)) {
+            queue.addFirst(first);
+            pendingByAddress.put(first.address, first);
+        }
+        return groupCommand;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Parses the regularly polled resources of one kind, like all lights or all sensors, reusing the objects of the
+ * resources which did not change since the previous poll.
+ *
+ * The response is read with a streaming {@link JsonReader}, so only the JSON of one resource at a time is held as a
+ * tree and only changed resources are bound to new objects. An unchanged resource is returned as the same object as
+ * by the previous poll, so callers can skip it by comparing the identity of the objects.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PolledResources<T extends HueObject> {
+
+    private static class PolledResource<T> {
+        private final JsonElement json;
+        private final T resource;
+
+        PolledResource(JsonElement json, T resource) {
+            this.json = json;
+            this.resource = resource;
+        }
+    }
+
+    private final Gson gson;
+    private final Class<T> resourceClass;
+    private final TypeAdapter<JsonElement> jsonElementAdapter;
+    private Map<String, PolledResource<T>> lastResources = Map.of();
+
+    PolledResources(Gson gson, Class<T> resourceClass) {
+        this.gson = gson;
+        this.resourceClass = resourceClass;
+        this.jsonElementAdapter = gson.getAdapter(JsonElement.class);
+    }
+
+    /**
+     * Parse a polled response
+     *
+     * @param json JSON object of all resources by their id
+     * @return the resources, with the objects of the previous poll for the unchanged resources
+     * @throws ApiException if the response is no valid JSON object of resources
+     */
+    synchronized List<T> update(String json) throws ApiException {
+        Map<String, PolledResource<T>> resources = new HashMap<>();
+        List<T> resourceList = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String id = reader.nextName();
+                JsonElement element = jsonElementAdapter.read(reader);
+                PolledResource<T> resource = lastResources.get(id);
+                if (resource == null || !resource.json.equals(element)) {
+                    @Nullable
+                    T newResource = gson.fromJson(element, resourceClass);
+                    if (newResource == null) {
+                        continue;
+                    }
+                    newResource.setId(id);
+                    resource = new PolledResource<>(element, newResource);
+                }
+                resources.put(id, resource);
+                resourceList.add(resource.resource);
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+        lastResources = resources;
+        return resourceList;
+    }
+}
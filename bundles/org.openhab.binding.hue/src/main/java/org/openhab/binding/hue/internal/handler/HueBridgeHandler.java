@@ -186,6 +186,11 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullSensor sensor : hueBridge.getSensors()) {
                 String sensorId = sensor.getId();
+                if (lastSensorStates.get(sensorId) == sensor) {
+                    // unchanged since the previous poll and already processed
+                    lastSensorStateCopy.remove(sensorId);
+                    continue;
+                }
 
                 final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
                 if (sensorStatusListener == null) {
@@ -242,6 +247,11 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
+                if (lastLightStates.get(lightId) == fullLight) {
+                    // unchanged since the previous poll and already processed
+                    lastLightStateCopy.remove(lightId);
+                    continue;
+                }
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
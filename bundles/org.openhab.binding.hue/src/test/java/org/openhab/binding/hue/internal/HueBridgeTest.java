@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.hue.internal;
 
-import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -68,6 +68,35 @@ public class HueBridgeTest {
         assertThat(scenes.get(2).getId(), is("id2"));
     }
 
+    @Test
+    public void testGetSensorsReusesUnchangedSensors() throws IOException, ApiException {
+        HttpClient mockHttpClient = Mockito.mock(HttpClient.class);
+
+        HueBridge hueBridge = new HueBridge("ip", "baseUrl", "username", Executors.newScheduledThreadPool(1),
+                mockHttpClient);
+
+        when(mockHttpClient.get("baseUrl/username/sensors")).thenReturn(
+                new Result("{\"1\": {\"state\": {\"presence\": false}}, \"2\": {\"state\": {\"flag\": true}}}",
+                        200),
+                new Result("{\"1\": {\"state\": {\"presence\": true}}, \"2\": {\"state\": {\"flag\": true}}}",
+                        200),
+                new Result("{\"2\": {\"state\": {\"flag\": true}}}", 200));
+
+        List<FullSensor> first = hueBridge.getSensors();
+        assertThat(first.size(), is(2));
+        assertThat(first.get(1).getId(), is("2"));
+
+        List<FullSensor> second = hueBridge.getSensors();
+        assertThat(second.get(0).getId(), is("1"));
+        assertThat(second.get(0), is(not(sameInstance(first.get(0)))));
+        assertThat(second.get(0).getState().get(FullSensor.STATE_PRESENCE), is(true));
+        assertThat(second.get(1), is(sameInstance(first.get(1))));
+
+        List<FullSensor> third = hueBridge.getSensors();
+        assertThat(third.size(), is(1));
+        assertThat(third.get(0), is(sameInstance(first.get(1))));
+    }
+
     private static String createMockResponse(List<Scene> scenes) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("{");
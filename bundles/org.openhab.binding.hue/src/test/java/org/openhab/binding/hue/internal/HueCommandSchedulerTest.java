@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests for {@link HueCommandScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandSchedulerTest {
+
+    private final HttpClient http = mock(HttpClient.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Runnable> scheduledJobs = new ArrayList<>();
+    private final List<Long> scheduledDelays = new ArrayList<>();
+    private final List<String> sentCommands = new ArrayList<>();
+
+    private final HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler,
+            group -> "groups/" + group.getId() + "/action");
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any())).thenAnswer(invocation -> {
+            scheduledJobs.add(invocation.getArgument(0));
+            scheduledDelays.add(invocation.getArgument(1));
+            return mock(ScheduledFuture.class);
+        });
+        when(http.put(anyString(), anyString())).thenAnswer(invocation -> {
+            sentCommands.add(invocation.getArgument(0) + " " + invocation.getArgument(1));
+            return new Result("[]", 200);
+        });
+    }
+
+    private static HueObject light(String id) {
+        HueObject light = new HueObject();
+        light.setId(id);
+        return light;
+    }
+
+    private static FullGroup group(String id, String... lightIds) {
+        return new FullGroup(id, "group" + id, "Room", new State(), List.of(lightIds), new State());
+    }
+
+    private CompletableFuture<Result> updateLight(String id, StateUpdate update) {
+        return commandScheduler.updateLight("lights/" + id + "/state", light(id), update);
+    }
+
+    private void runScheduledJobs() {
+        while (!scheduledJobs.isEmpty()) {
+            scheduledJobs.remove(0).run();
+        }
+    }
+
+    @Test
+    public void testUpdatesOfSameLightAreMerged() {
+        CompletableFuture<Result> first = updateLight("1", new StateUpdate().setOn(true).setBrightness(10));
+        CompletableFuture<Result> second = updateLight("1", new StateUpdate().setBrightness(20));
+        updateLight("2", new StateUpdate().setBrightness(30));
+        runScheduledJobs();
+
+        assertThat(sentCommands, is(List.of("lights/1/state {\"on\":true,\"bri\":20}", "lights/2/state {\"bri\":30}")));
+        assertThat(first.isDone() && second.isDone(), is(true));
+        assertThat(first.join(), is(second.join()));
+    }
+
+    @Test
+    public void testOnlyLatestColorModeIsSent() {
+        updateLight("1", new StateUpdate().setXY(0.5f, 0.5f).setBrightness(10));
+        updateLight("1", new StateUpdate().setHue(100).setSat(200));
+        runScheduledJobs();
+
+        assertThat(sentCommands, is(List.of("lights/1/state {\"bri\":10,\"hue\":100,\"sat\":200}")));
+    }
+
+    @Test
+    public void testUpdatesAreNotMergedAcrossGroupCommands() {
+        FullGroup group = group("5", "1", "2");
+        updateLight("1", new StateUpdate().setOn(true));
+        commandScheduler.updateGroup("groups/5/action", group, new StateUpdate().setOn(false));
+        updateLight("1", new StateUpdate().setOn(true));
+        updateLight("3", new StateUpdate().setOn(true));
+        updateLight("3", new StateUpdate().setBrightness(1));
+        runScheduledJobs();
+
+        assertThat(sentCommands, is(List.of("lights/1/state {\"on\":true}", "groups/5/action {\"on\":false}",
+                "lights/1/state {\"on\":true}", "lights/3/state {\"on\":true,\"bri\":1}")));
+    }
+
+    @Test
+    public void testSameStateOfGroupLightsIsSentToGroup() {
+        List<String> lightIds = IntStream.range(1, 21).mapToObj(String::valueOf).collect(Collectors.toList());
+        commandScheduler
+                .setGroups(List.of(group("1", "1", "2"), group("2", lightIds.subList(0, 15).toArray(String[]::new))));
+        List<CompletableFuture<Result>> futures = lightIds.stream()
+                .map(id -> updateLight(id, new StateUpdate().setOn(false))).collect(Collectors.toList());
+        runScheduledJobs();
+
+        List<String> expected = new ArrayList<>();
+        expected.add("groups/2/action {\"on\":false}");
+        lightIds.subList(15, 20).forEach(id -> expected.add("lights/" + id + "/state {\"on\":false}"));
+        assertThat(sentCommands, is(expected));
+        assertThat(futures.stream().allMatch(CompletableFuture::isDone), is(true));
+    }
+
+    @Test
+    public void testSmallGroupIsNotPreferred() {
+        commandScheduler.setGroups(List.of(group("1", "1", "2")));
+        updateLight("1", new StateUpdate().setOn(false));
+        updateLight("2", new StateUpdate().setOn(false));
+        runScheduledJobs();
+
+        assertThat(sentCommands, is(List.of("lights/1/state {\"on\":false}", "lights/2/state {\"on\":false}")));
+    }
+
+    @Test
+    public void testCommandsArePaced() {
+        updateLight("1", new StateUpdate().setOn(true));
+        commandScheduler.updateGroup("groups/5/action", group("5", "2"), new StateUpdate().setOn(false));
+        updateLight("3", new StateUpdate().setOn(true).setBrightness(1).setHue(1));
+        updateLight("4", new StateUpdate().setOn(true));
+        runScheduledJobs();
+
+        // three attributes take longer than the minimum interval
+        assertThat(scheduledDelays, is(List.of(0L, HueCommandScheduler.MIN_COMMAND_INTERVAL,
+                HueCommandScheduler.MIN_GROUP_COMMAND_INTERVAL, 120L)));
+        assertThat(sentCommands.size(), is(4));
+        verify(scheduler, times(4)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+}
@@ -201,6 +201,7 @@ public class Ffmpeg {
             }
             if (format.equals(FFmpegFormat.HLS)) {
                 ipCameraHandler.setChannelState(CHANNEL_START_STREAM, OnOffType.OFF);
+                ipCameraHandler.hlsSegmentCache.clear();
             }
         }
     }
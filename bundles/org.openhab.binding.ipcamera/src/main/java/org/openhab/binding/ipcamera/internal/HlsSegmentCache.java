@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * The {@link HlsSegmentCache} keeps the latest HLS segments that FFmpeg created in memory, so that a segment is only
+ * read once from disk no matter how many viewers request it. A cached segment is identified by its path, size and
+ * modification time, so a segment that FFmpeg rewrites after a restart is read again. All other files, like the
+ * playlist or recordings, are sent straight from disk with a {@link DefaultFileRegion}, which lets the operating
+ * system copy the file to the socket.
+ *
+ * @author agent - Initial contribution
+ */
+
+@NonNullByDefault
+public class HlsSegmentCache {
+    public static final int DEFAULT_MAX_SEGMENTS = 6;
+    public static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+    private final int maxSegments;
+    private final long maxBytes;
+    // Insertion order, the oldest segment is evicted first
+    private final LinkedHashMap<String, Segment> segments = new LinkedHashMap<>();
+    private long cachedBytes = 0;
+
+    /**
+     * A segment held in memory. The buffer is released when the segment is evicted.
+     */
+    public static class Segment {
+        private final ByteBuf content;
+        private final long lastModified;
+        private final String etag;
+
+        private Segment(ByteBuf content, long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+            this.etag = "\"" + Long.toHexString(lastModified) + "-" + Integer.toHexString(content.readableBytes())
+                    + "\"";
+        }
+
+        /**
+         * Return a duplicate that shares the content with the cache. The caller owns the returned reference.
+         */
+        public ByteBuf retainedContent() {
+            return content.retainedDuplicate();
+        }
+
+        public int size() {
+            return content.readableBytes();
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        private boolean matches(File file) {
+            return lastModified == file.lastModified() && content.readableBytes() == file.length();
+        }
+    }
+
+    public HlsSegmentCache() {
+        this(DEFAULT_MAX_SEGMENTS, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxSegments The number of segments to keep, 0 disables the cache
+     * @param maxBytes The maximum memory used by all cached segments
+     */
+    public HlsSegmentCache(int maxSegments, long maxBytes) {
+        this.maxSegments = maxSegments;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Send a file from the FFmpeg output folder as the complete response to the request. HLS segments are sent from
+     * memory with an ETag, so a viewer that already has the segment gets a 304 response.
+     *
+     * @throws IOException If the file does not exist or can not be read
+     */
+    public void sendFile(ChannelHandlerContext ctx, HttpRequest request, File file, String contentType)
+            throws IOException {
+        Segment segment = null;
+        ByteBuf content = null;
+        if (isSegment(file.getName())) {
+            synchronized (this) {
+                // Retain while holding the lock, so the segment can not be evicted in between
+                segment = get(file);
+                content = segment != null ? segment.retainedContent() : null;
+            }
+        }
+        if (segment != null && content != null
+                && segment.getEtag().equals(request.headers().get(HttpHeaderNames.IF_NONE_MATCH))) {
+            content.release();
+            HttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED);
+            addHeaders(response.headers(), contentType);
+            response.headers().set(HttpHeaderNames.ETAG, segment.getEtag());
+            ctx.channel().writeAndFlush(response);
+            return;
+        }
+
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        addHeaders(response.headers(), contentType);
+        if (segment != null && content != null) {
+            response.headers().set(HttpHeaderNames.ETAG, segment.getEtag());
+            response.headers().add(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+            ctx.channel().write(response);
+            ctx.channel().write(content);
+        } else {
+            // The region closes the file once it was sent
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            long length = raf.length();
+            response.headers().add(HttpHeaderNames.CONTENT_LENGTH, length);
+            ctx.channel().write(response);
+            ctx.channel().write(new DefaultFileRegion(raf.getChannel(), 0, length));
+        }
+        ctx.channel().writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    /**
+     * Return the segment for the given file, reading it from disk if it is not cached yet or was changed since.
+     * Concurrent requests for the same segment are served by a single read.
+     *
+     * @return The segment, or null if the file is too large to be cached or the cache is disabled.
+     * @throws IOException If the file can not be read
+     */
+    public synchronized @Nullable Segment get(File file) throws IOException {
+        String key = file.getPath();
+        Segment segment = segments.get(key);
+        if (segment != null) {
+            if (segment.matches(file)) {
+                return segment;
+            }
+            remove(key);
+        }
+        long length = file.length();
+        if (maxSegments <= 0 || length == 0 || length > maxBytes || length > Integer.MAX_VALUE) {
+            return null;
+        }
+        ByteBuf content = PooledByteBufAllocator.DEFAULT.directBuffer((int) length);
+        // Take the modification time before reading, a later change is then detected on the next request
+        long lastModified = file.lastModified();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            // The file position equals the bytes read so far, stop when the buffer is full or the file ended early
+            int read = 0;
+            while (read >= 0 && content.isWritable()) {
+                read = content.writeBytes(channel, content.writerIndex(), content.writableBytes());
+            }
+        } catch (IOException e) {
+            content.release();
+            throw e;
+        }
+        segment = new Segment(content, lastModified);
+        segments.put(key, segment);
+        cachedBytes += segment.size();
+        evict();
+        return segment;
+    }
+
+    /**
+     * Release all cached segments, for example when FFmpeg stops creating them.
+     */
+    public synchronized void clear() {
+        for (Segment segment : segments.values()) {
+            segment.content.release();
+        }
+        segments.clear();
+        cachedBytes = 0;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    private static boolean isSegment(String fileName) {
+        return fileName.endsWith(".ts") || fileName.endsWith(".m4s");
+    }
+
+    private static void addHeaders(HttpHeaders headers, String contentType) {
+        headers.add(HttpHeaderNames.CONTENT_TYPE, contentType);
+        // Segment names are reused when FFmpeg restarts, so viewers have to revalidate them with the ETag
+        headers.set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
+        headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        headers.add("Access-Control-Allow-Origin", "*");
+        headers.add("Access-Control-Expose-Headers", "*");
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Segment>> iterator = segments.entrySet().iterator();
+        while ((segments.size() > maxSegments || cachedBytes > maxBytes) && iterator.hasNext()) {
+            Segment oldest = iterator.next().getValue();
+            iterator.remove();
+            cachedBytes -= oldest.size();
+            // Responses still being written hold their own reference
+            oldest.content.release();
+        }
+    }
+
+    private void remove(String key) {
+        Segment segment = segments.remove(key);
+        if (segment != null) {
+            cachedBytes -= segment.size();
+            segment.content.release();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+/**
+ * The {@link MjpegFrame} holds one JPEG as a complete part of a multipart/x-mixed-replace stream, so it can be written
+ * to any number of viewers without copying the image. The part is a reference counted {@link CompositeByteBuf} of a
+ * pooled header, the JPEG itself and a shared footer. Every viewer gets a retained duplicate of it.
+ *
+ * @author agent - Initial contribution
+ */
+
+@NonNullByDefault
+public class MjpegFrame {
+    public static final String BOUNDARY = "thisMjpegStream";
+    private static final ByteBuf FOOTER = Unpooled
+            .unreleasableBuffer(Unpooled.copiedBuffer("\r\n", StandardCharsets.US_ASCII).asReadOnly());
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+    private final CompositeByteBuf part;
+
+    private MjpegFrame(ByteBuf jpg) {
+        int length = jpg.readableBytes();
+        ByteBuf header = ALLOCATOR.buffer(64);
+        header.writeCharSequence(
+                "--" + BOUNDARY + "\r\ncontent-type: image/jpeg\r\ncontent-length: " + length + "\r\n\r\n",
+                StandardCharsets.US_ASCII);
+        part = ALLOCATOR.compositeBuffer(3).addComponents(true, header, jpg, FOOTER.duplicate());
+    }
+
+    /**
+     * Create a frame from a JPEG without copying it. The array must not be changed afterwards.
+     */
+    public static MjpegFrame wrap(byte[] jpg) {
+        return new MjpegFrame(Unpooled.wrappedBuffer(jpg));
+    }
+
+    /**
+     * Create a frame from a JPEG without copying it. The frame takes over the reference of the buffer.
+     */
+    public static MjpegFrame wrap(ByteBuf jpg) {
+        return new MjpegFrame(jpg);
+    }
+
+    /**
+     * Return a duplicate of the complete multipart part that shares its content with this frame. The caller owns
+     * the returned reference, for example by writing it to a channel or channel group.
+     */
+    public ByteBuf retainedDuplicate() {
+        return part.retainedDuplicate();
+    }
+
+    /**
+     * Return the number of bytes of the complete multipart part.
+     */
+    public int size() {
+        return part.readableBytes();
+    }
+
+    /**
+     * Release the reference of the creator of this frame. Duplicates handed out before stay valid until they are
+     * released as well.
+     */
+    public void release() {
+        part.release();
+    }
+}
@@ -41,7 +41,6 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.QueryStringDecoder;
-import io.netty.handler.stream.ChunkedFile;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.ReferenceCountUtil;
@@ -56,6 +55,8 @@ import io.netty.util.ReferenceCountUtil;
 
 @NonNullByDefault
 public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
+    // Sends files straight from disk, used for files that are not HLS segments of a camera
+    private static final HlsSegmentCache UNCACHED = new HlsSegmentCache(0, 0);
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private IpCameraGroupHandler ipCameraGroupHandler;
     private String whiteList = "";
@@ -77,6 +78,13 @@ public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
         // example is /1ipcameraxx.ts
     }
 
+    private HlsSegmentCache resolveIndexToCache(String uri) {
+        if (!uri.substring(1, 2).equals("i")) {
+            return ipCameraGroupHandler.getSegmentCache(Integer.parseInt(uri.substring(1, 2)));
+        }
+        return UNCACHED;
+    }
+
     @Override
     public void channelRead(@Nullable ChannelHandlerContext ctx, @Nullable Object msg) throws Exception {
         if (msg == null || ctx == null) {
@@ -114,12 +122,14 @@ public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
                             return;
                         default:
                             if (httpRequest.uri().contains(".ts")) {
-                                sendFile(ctx, resolveIndexToPath(httpRequest.uri()) + httpRequest.uri().substring(2),
-                                        "video/MP2T");
+                                // Share the segments kept in memory by the camera that created them
+                                sendFile(ctx, httpRequest,
+                                        resolveIndexToPath(httpRequest.uri()) + httpRequest.uri().substring(2),
+                                        "video/MP2T", resolveIndexToCache(httpRequest.uri()));
                             } else if (httpRequest.uri().contains(".jpg")) {
-                                sendFile(ctx, httpRequest.uri(), "image/jpg");
+                                sendFile(ctx, httpRequest, httpRequest.uri(), "image/jpg", UNCACHED);
                             } else if (httpRequest.uri().contains(".m4s") || httpRequest.uri().contains(".mp4")) {
-                                sendFile(ctx, httpRequest.uri(), "video/mp4");
+                                sendFile(ctx, httpRequest, httpRequest.uri(), "video/mp4", UNCACHED);
                             }
                     }
                 }
@@ -138,7 +148,8 @@ public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
         IpCameraHandler handler = ipCameraGroupHandler.cameraOrder.get(ipCameraGroupHandler.cameraIndex);
         handler.lockCurrentSnapshot.lock();
         try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(handler.currentSnapshot);
+            // The snapshot array is replaced and never changed, so it can be sent without a copy
+            ByteBuf snapshotData = Unpooled.wrappedBuffer(handler.currentSnapshot);
             response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
             response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
             response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
@@ -154,21 +165,10 @@ public class StreamServerGroupHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
-    private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
+    private void sendFile(ChannelHandlerContext ctx, HttpRequest request, String fileUri, String contentType,
+            HlsSegmentCache cache) throws IOException {
         logger.trace("file is :{}", fileUri);
-        File file = new File(fileUri);
-        ChunkedFile chunkedFile = new ChunkedFile(file);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
-        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
-        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, chunkedFile.length());
-        response.headers().add("Access-Control-Allow-Origin", "*");
-        response.headers().add("Access-Control-Expose-Headers", "*");
-        ctx.channel().write(response);
-        ctx.channel().write(chunkedFile);
-        ctx.channel().writeAndFlush(footerBbuf);
+        cache.sendFile(ctx, request, new File(fileUri), contentType);
     }
 
     private void sendString(ChannelHandlerContext ctx, String contents, String contentType) {
@@ -26,6 +26,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -39,7 +41,6 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
-import io.netty.handler.stream.ChunkedFile;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.ReferenceCountUtil;
@@ -57,9 +58,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
     private IpCameraHandler ipCameraHandler;
     private boolean handlingMjpeg = false; // used to remove ctx from group when handler is removed.
     private boolean handlingSnapshotStream = false; // used to remove ctx from group when handler is removed.
-    private byte[] incomingJpeg = new byte[0];
+    private @Nullable CompositeByteBuf incomingContent;
     private String whiteList = "";
-    private int recievedBytes = 0;
     private boolean updateSnapshot = false;
     private boolean onvifEvent = false;
 
@@ -103,18 +103,18 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                                 localFfmpeg.startConverting();
                             } else {
                                 localFfmpeg.setKeepAlive(8);
-                                sendFile(ctx, httpRequest.uri(), "application/x-mpegurl");
+                                sendFile(ctx, httpRequest, httpRequest.uri(), "application/x-mpegurl");
                                 return;
                             }
                             // Allow files to be created, or you get old m3u8 from the last time this ran.
                             TimeUnit.MILLISECONDS.sleep(4500);
-                            sendFile(ctx, httpRequest.uri(), "application/x-mpegurl");
+                            sendFile(ctx, httpRequest, httpRequest.uri(), "application/x-mpegurl");
                             return;
                         case "/ipcamera.mpd":
-                            sendFile(ctx, httpRequest.uri(), "application/dash+xml");
+                            sendFile(ctx, httpRequest, httpRequest.uri(), "application/dash+xml");
                             return;
                         case "/ipcamera.gif":
-                            sendFile(ctx, httpRequest.uri(), "image/gif");
+                            sendFile(ctx, httpRequest, httpRequest.uri(), "image/gif");
                             return;
                         case "/ipcamera.jpg":
                             if (!ipCameraHandler.snapshotPolling && ipCameraHandler.snapshotUri != "") {
@@ -147,14 +147,14 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
                         case "/ipcamera0.ts":
                         default:
                             if (httpRequest.uri().contains(".ts")) {
-                                sendFile(ctx, queryStringDecoder.path(), "video/MP2T");
+                                sendFile(ctx, httpRequest, queryStringDecoder.path(), "video/MP2T");
                             } else if (httpRequest.uri().contains(".gif")) {
-                                sendFile(ctx, queryStringDecoder.path(), "image/gif");
+                                sendFile(ctx, httpRequest, queryStringDecoder.path(), "image/gif");
                             } else if (httpRequest.uri().contains(".jpg")) {
                                 // Allow access to the preroll and postroll jpg files
-                                sendFile(ctx, queryStringDecoder.path(), "image/jpg");
+                                sendFile(ctx, httpRequest, queryStringDecoder.path(), "image/jpg");
                             } else if (httpRequest.uri().contains(".m4s") || httpRequest.uri().contains(".mp4")) {
-                                sendFile(ctx, queryStringDecoder.path(), "video/mp4");
+                                sendFile(ctx, httpRequest, queryStringDecoder.path(), "video/mp4");
                             }
                             return;
                     }
@@ -176,27 +176,32 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
             }
             if (msg instanceof HttpContent) {
                 HttpContent content = (HttpContent) msg;
-                if (recievedBytes == 0) {
-                    incomingJpeg = new byte[content.content().readableBytes()];
-                    content.content().getBytes(0, incomingJpeg, 0, content.content().readableBytes());
-                } else {
-                    byte[] temp = incomingJpeg;
-                    incomingJpeg = new byte[recievedBytes + content.content().readableBytes()];
-                    System.arraycopy(temp, 0, incomingJpeg, 0, temp.length);
-                    content.content().getBytes(0, incomingJpeg, temp.length, content.content().readableBytes());
+                CompositeByteBuf incoming = incomingContent;
+                if (incoming == null) {
+                    incoming = ctx.alloc().compositeBuffer();
+                    incomingContent = incoming;
                 }
-                recievedBytes = incomingJpeg.length;
+                // Collect the chunks without copying them, msg is released below.
+                incoming.addComponent(true, content.content().retain());
                 if (content instanceof LastHttpContent) {
+                    incomingContent = null;
                     if (updateSnapshot) {
-                        ipCameraHandler.processSnapshot(incomingJpeg);
+                        ipCameraHandler.processSnapshot(ByteBufUtil.getBytes(incoming));
+                        incoming.release();
                     } else if (onvifEvent) {
-                        ipCameraHandler.onvifCamera.eventRecieved(new String(incomingJpeg, StandardCharsets.UTF_8));
-                    } else { // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
-                        if (recievedBytes > 1000) {
-                            ipCameraHandler.sendMjpegFrame(incomingJpeg, ipCameraHandler.mjpegChannelGroup);
+                        ipCameraHandler.onvifCamera.eventRecieved(incoming.toString(StandardCharsets.UTF_8));
+                        incoming.release();
+                    } else if (incoming.readableBytes() > 1000) {
+                        // handles the snapshots that make up mjpeg from rtsp to ffmpeg conversions.
+                        MjpegFrame frame = MjpegFrame.wrap(incoming);
+                        try {
+                            ipCameraHandler.sendMjpegFrame(frame, ipCameraHandler.mjpegChannelGroup);
+                        } finally {
+                            frame.release();
                         }
+                    } else {
+                        incoming.release();
                     }
-                    recievedBytes = 0;
                 }
             }
         } finally {
@@ -208,7 +213,8 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         ipCameraHandler.lockCurrentSnapshot.lock();
         try {
-            ByteBuf snapshotData = Unpooled.copiedBuffer(ipCameraHandler.currentSnapshot);
+            // The snapshot array is replaced and never changed, so it can be sent without a copy
+            ByteBuf snapshotData = Unpooled.wrappedBuffer(ipCameraHandler.currentSnapshot);
             response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
             response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
             response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
@@ -224,20 +230,10 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
-    private void sendFile(ChannelHandlerContext ctx, String fileUri, String contentType) throws IOException {
+    private void sendFile(ChannelHandlerContext ctx, HttpRequest request, String fileUri, String contentType)
+            throws IOException {
         File file = new File(ipCameraHandler.cameraConfig.getFfmpegOutput() + fileUri);
-        ChunkedFile chunkedFile = new ChunkedFile(file);
-        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-        response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
-        response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
-        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-        response.headers().add(HttpHeaderNames.CONTENT_LENGTH, chunkedFile.length());
-        response.headers().add("Access-Control-Allow-Origin", "*");
-        response.headers().add("Access-Control-Expose-Headers", "*");
-        ctx.channel().write(response);
-        ctx.channel().write(chunkedFile);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        ctx.channel().writeAndFlush(footerBbuf);
+        ipCameraHandler.hlsSegmentCache.sendFile(ctx, request, file, contentType);
     }
 
     @Override
@@ -280,6 +276,11 @@ public class StreamServerHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void handlerRemoved(@Nullable ChannelHandlerContext ctx) {
+        CompositeByteBuf incoming = incomingContent;
+        if (incoming != null) {
+            incomingContent = null;
+            incoming.release();
+        }
         if (ctx == null) {
             return;
         }
@@ -32,6 +32,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.ipcamera.internal.GroupConfig;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
+import org.openhab.binding.ipcamera.internal.HlsSegmentCache;
 import org.openhab.binding.ipcamera.internal.StreamServerGroupHandler;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
@@ -106,6 +107,10 @@ public class IpCameraGroupHandler extends BaseThingHandler {
         return handle.cameraConfig.getFfmpegOutput();
     }
 
+    public HlsSegmentCache getSegmentCache(int index) {
+        return cameraOrder.get(index).hlsSegmentCache;
+    }
+
     private String readCamerasPlaylist(int cameraIndex) {
         String camerasm3u8 = "";
         IpCameraHandler handle = cameraOrder.get(cameraIndex);
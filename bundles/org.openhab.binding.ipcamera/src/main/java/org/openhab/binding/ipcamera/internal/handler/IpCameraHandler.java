@@ -22,7 +22,6 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,6 +34,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -49,11 +49,13 @@ import org.openhab.binding.ipcamera.internal.FoscamHandler;
 import org.openhab.binding.ipcamera.internal.GroupTracker;
 import org.openhab.binding.ipcamera.internal.Helper;
 import org.openhab.binding.ipcamera.internal.HikvisionHandler;
+import org.openhab.binding.ipcamera.internal.HlsSegmentCache;
 import org.openhab.binding.ipcamera.internal.HttpOnlyHandler;
 import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.MjpegFrame;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.StreamServerHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
@@ -138,6 +140,7 @@ public class IpCameraHandler extends BaseThingHandler {
     private final ChannelGroup autoSnapshotMjpegChannelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     public final ChannelGroup openChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     public @Nullable Ffmpeg ffmpegHLS = null;
+    public final HlsSegmentCache hlsSegmentCache = new HlsSegmentCache();
     public @Nullable Ffmpeg ffmpegRecord = null;
     public @Nullable Ffmpeg ffmpegGIF = null;
     public @Nullable Ffmpeg ffmpegRtspHelper = null;
@@ -199,6 +202,9 @@ public class IpCameraHandler extends BaseThingHandler {
     public boolean ffmpegSnapshotGeneration = false;
     public boolean snapshotPolling = false;
     public OnvifConnection onvifCamera = new OnvifConnection(this, "", "", "");
+    private final LongAdder mjpegFramesSent = new LongAdder();
+    private final LongAdder mjpegFramesDropped = new LongAdder();
+    private long mjpegStatisticsStart = System.nanoTime();
 
     // These methods handle the response from all camera brands, nothing specific to 1 brand.
     private class CommonCameraHandler extends ChannelDuplexHandler {
@@ -656,16 +662,24 @@ public class IpCameraHandler extends BaseThingHandler {
             lockCurrentSnapshot.unlock();
         }
 
-        if (streamingSnapshotMjpeg) {
-            sendMjpegFrame(incommingSnapshot, snapshotMjpegChannelGroup);
-        }
-        if (streamingAutoFps) {
-            if (motionDetected) {
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-            } else if (updateAutoFps) {
-                // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
-                sendMjpegFrame(incommingSnapshot, autoSnapshotMjpegChannelGroup);
-                updateAutoFps = false;
+        if (streamingSnapshotMjpeg || streamingAutoFps) {
+            // One frame is shared by all viewers of both streams
+            MjpegFrame frame = MjpegFrame.wrap(incommingSnapshot);
+            try {
+                if (streamingSnapshotMjpeg) {
+                    sendMjpegFrame(frame, snapshotMjpegChannelGroup);
+                }
+                if (streamingAutoFps) {
+                    if (motionDetected) {
+                        sendMjpegFrame(frame, autoSnapshotMjpegChannelGroup);
+                    } else if (updateAutoFps) {
+                        // only happens every 8 seconds as some browsers need a frame that often to keep stream alive.
+                        sendMjpegFrame(frame, autoSnapshotMjpegChannelGroup);
+                        updateAutoFps = false;
+                    }
+                }
+            } finally {
+                frame.release();
             }
         }
 
@@ -732,22 +746,23 @@ public class IpCameraHandler extends BaseThingHandler {
             sendMjpegFirstPacket(ctx);
             if (auto) {
                 autoSnapshotMjpegChannelGroup.add(ctx.channel());
-                lockCurrentSnapshot.lock();
+                // Only the new viewer needs the current picture
+                MjpegFrame frame = getCurrentMjpegFrame();
                 try {
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    ctx.channel().write(frame.retainedDuplicate());
                     // iOS uses a FIFO? and needs two frames to display a pic
-                    sendMjpegFrame(currentSnapshot, autoSnapshotMjpegChannelGroup);
+                    ctx.channel().writeAndFlush(frame.retainedDuplicate());
                 } finally {
-                    lockCurrentSnapshot.unlock();
+                    frame.release();
                 }
                 streamingAutoFps = true;
             } else {
                 snapshotMjpegChannelGroup.add(ctx.channel());
-                lockCurrentSnapshot.lock();
+                MjpegFrame frame = getCurrentMjpegFrame();
                 try {
-                    sendMjpegFrame(currentSnapshot, snapshotMjpegChannelGroup);
+                    ctx.channel().writeAndFlush(frame.retainedDuplicate());
                 } finally {
-                    lockCurrentSnapshot.unlock();
+                    frame.release();
                 }
                 streamingSnapshotMjpeg = true;
                 startSnapshotPolling();
@@ -858,8 +873,7 @@ public class IpCameraHandler extends BaseThingHandler {
 
     // sends direct to ctx so can be either snapshots.mjpeg or normal mjpeg stream
     public void sendMjpegFirstPacket(ChannelHandlerContext ctx) {
-        final String boundary = "thisMjpegStream";
-        String contentType = "multipart/x-mixed-replace; boundary=" + boundary;
+        String contentType = "multipart/x-mixed-replace; boundary=" + MjpegFrame.BOUNDARY;
         HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
         response.headers().add(HttpHeaderNames.CONTENT_TYPE, contentType);
         response.headers().set(HttpHeaderNames.CACHE_CONTROL, HttpHeaderValues.NO_CACHE);
@@ -869,17 +883,54 @@ public class IpCameraHandler extends BaseThingHandler {
         ctx.channel().writeAndFlush(response);
     }
 
+    private MjpegFrame getCurrentMjpegFrame() {
+        lockCurrentSnapshot.lock();
+        try {
+            return MjpegFrame.wrap(currentSnapshot);
+        } finally {
+            lockCurrentSnapshot.unlock();
+        }
+    }
+
     public void sendMjpegFrame(byte[] jpg, ChannelGroup channelGroup) {
-        final String boundary = "thisMjpegStream";
-        ByteBuf imageByteBuf = Unpooled.copiedBuffer(jpg);
-        int length = imageByteBuf.readableBytes();
-        String header = "--" + boundary + "\r\n" + "content-type: image/jpeg" + "\r\n" + "content-length: " + length
-                + "\r\n\r\n";
-        ByteBuf headerBbuf = Unpooled.copiedBuffer(header, 0, header.length(), StandardCharsets.UTF_8);
-        ByteBuf footerBbuf = Unpooled.copiedBuffer("\r\n", 0, 2, StandardCharsets.UTF_8);
-        streamToGroup(headerBbuf, channelGroup, false);
-        streamToGroup(imageByteBuf, channelGroup, false);
-        streamToGroup(footerBbuf, channelGroup, true);
+        MjpegFrame frame = MjpegFrame.wrap(jpg);
+        try {
+            sendMjpegFrame(frame, channelGroup);
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Every viewer in the group gets a retained duplicate of the frame, the JPEG is not copied. Viewers that can not
+     * keep up, because their outbound buffer is full, skip the frame instead of buffering it.
+     */
+    public void sendMjpegFrame(MjpegFrame frame, ChannelGroup channelGroup) {
+        int dropped = 0;
+        for (Channel channel : channelGroup) {
+            if (!channel.isWritable()) {
+                dropped++;
+            }
+        }
+        if (dropped < channelGroup.size()) {
+            channelGroup.writeAndFlush(frame.retainedDuplicate(), Channel::isWritable);
+            mjpegFramesSent.increment();
+        }
+        if (dropped > 0) {
+            mjpegFramesDropped.add(dropped);
+        }
+    }
+
+    private void logMjpegStatistics() {
+        long now = System.nanoTime();
+        long sent = mjpegFramesSent.sumThenReset();
+        long dropped = mjpegFramesDropped.sumThenReset();
+        double seconds = (now - mjpegStatisticsStart) / 1_000_000_000.0;
+        mjpegStatisticsStart = now;
+        if (sent > 0 || dropped > 0) {
+            logger.debug("MJPEG streams of {} sent {} frames/s, {} frames were dropped for slow viewers.",
+                    getThing().getUID().getId(), String.format("%.1f", sent / seconds), dropped);
+        }
     }
 
     public void streamToGroup(Object msg, ChannelGroup channelGroup, boolean flush) {
@@ -1606,6 +1657,9 @@ public class IpCameraHandler extends BaseThingHandler {
      *
      */
     void pollCameraRunnable() {
+        if (logger.isDebugEnabled()) {
+            logMjpegStatistics();
+        }
         // Snapshot should be first to keep consistent time between shots
         if (streamingAutoFps) {
             updateAutoFps = true;
@@ -1811,6 +1865,7 @@ public class IpCameraHandler extends BaseThingHandler {
             localFfmpeg.stopConverting();
             localFfmpeg = null;
         }
+        hlsSegmentCache.clear();
         localFfmpeg = ffmpegRecord;
         if (localFfmpeg != null) {
             localFfmpeg.stopConverting();
@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.DataUnitBuilder;
 import tuwien.auto.calimero.DetachEvent;
 import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
@@ -64,6 +68,8 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int GROUP_READ = 0x00;
+    private static final long READ_PROGRESS_INTERVAL = TimeUnit.SECONDS.toMillis(5);
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -86,7 +92,15 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // listeners by the group addresses they listen to, filled on the first telegram to an address
+    private final Map<GroupAddress, List<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private final ReadPacer readPacer;
+    // identifies the bus job of the current connection, as it reschedules itself
+    private int busJobGeneration;
+    // only used by the bus job
+    private boolean reading;
+    private long lastReadProgress;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -132,6 +146,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.readPacer = new ReadPacer(readingPause, TimeUnit.SECONDS.toMillis(responseTimeout));
     }
 
     public void initialize() {
@@ -196,8 +211,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            scheduleNextRead(busJobGeneration, 0);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -225,7 +239,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
         readDatapoints.clear();
-        busJob = nullify(busJob, j -> j.cancel(true));
+        synchronized (this) {
+            busJobGeneration++;
+            busJob = nullify(busJob, j -> j.cancel(true));
+        }
+        readPacer.reset();
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -252,13 +270,33 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
+        readPacer.received(destination, event.getServiceCode() != GROUP_READ, System.currentTimeMillis());
+        for (GroupAddressListener listener : getGroupAddressListeners(destination)) {
             if (listener.listensTo(destination)) {
                 knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
             }
         }
     }
 
+    private List<GroupAddressListener> getGroupAddressListeners(GroupAddress destination) {
+        List<GroupAddressListener> listeners = listenersByGroupAddress.get(destination);
+        if (listeners == null) {
+            // the lock keeps a concurrent (un)registration from being missed
+            synchronized (groupAddressListeners) {
+                listeners = listenersByGroupAddress.computeIfAbsent(destination, address -> {
+                    List<GroupAddressListener> addressListeners = new ArrayList<>();
+                    for (GroupAddressListener listener : groupAddressListeners) {
+                        if (listener.listensTo(address)) {
+                            addressListeners.add(listener);
+                        }
+                    }
+                    return addressListeners;
+                });
+            }
+        }
+        return listeners;
+    }
+
     /**
      * Transforms a {@link Type} into a datapoint type value for the KNX bus.
      *
@@ -271,33 +309,86 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
+    private void readNextQueuedDatapoint(int generation) {
+        try {
+            readQueuedDatapoints();
+        } finally {
+            scheduleNextRead(generation, readPacer.getPause(System.currentTimeMillis()));
+        }
+    }
+
+    private synchronized void scheduleNextRead(int generation, long delay) {
+        // a job of a released connection ends here
+        if (generation == busJobGeneration) {
+            busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the next queued read request, if the {@link ReadPacer} allows it. The read doesn't wait for the response,
+     * which is delivered to the process listener like any other telegram, so several reads can be on the bus at once.
+     */
     @SuppressWarnings("null")
-    private void readNextQueuedDatapoint() {
+    private void readQueuedDatapoints() {
         if (!connectIfNotAutomatic()) {
             return;
         }
         ProcessCommunicator processCommunicator = this.processCommunicator;
-        if (processCommunicator == null) {
+        KNXNetworkLink link = this.link;
+        if (processCommunicator == null || link == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        long now = System.currentTimeMillis();
+        for (ReadDatapoint datapoint : readPacer.removeExpired(now)) {
+            retryRead(datapoint, "no response within " + responseTimeout + " s");
+        }
+        ReadDatapoint datapoint = readPacer.canSend() ? readDatapoints.poll() : null;
         if (datapoint != null) {
             datapoint.incrementRetries();
+            GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
+                logger.trace("Sending a Group Read Request telegram for {}", groupAddress);
+                link.sendRequestWait(groupAddress, processCommunicator.getPriority(),
+                        DataUnitBuilder.createLengthOptimizedAPDU(GROUP_READ, null));
+                readPacer.sent(datapoint, now);
             } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
+                readPacer.sendFailed();
+                retryRead(datapoint, e.getMessage());
+            }
+        }
+        updateReadProgress(now);
+    }
+
+    private void retryRead(ReadDatapoint datapoint, @Nullable String reason) {
+        if (datapoint.getRetries() < datapoint.getLimit()) {
+            readDatapoints.addRetry(datapoint);
+            logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                    datapoint.getDatapoint().getMainAddress(), reason);
+        } else {
+            logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                    datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
+        }
+    }
+
+    private void updateReadProgress(long now) {
+        int queued = readDatapoints.size();
+        int pending = queued + readPacer.getUnansweredCount();
+        if (pending == 0) {
+            if (reading) {
+                reading = false;
+                logger.debug("Finished reading {} datapoints on {}", readPacer.getAnsweredCount(), thingUID);
+                statusUpdateCallback.readsCompleted(readPacer.getAnsweredCount());
+                readPacer.finished();
+            }
+        } else if (!reading || now - lastReadProgress >= READ_PROGRESS_INTERVAL) {
+            reading = true;
+            lastReadProgress = now;
+            // Only logged, updating the thing this often would store it every time
+            if (logger.isDebugEnabled()) {
+                long remainingSeconds = readPacer.getRemainingSeconds(queued, now);
+                logger.debug("Reading datapoints on {}: {} pending, {} completed, about {} seconds remaining",
+                        thingUID, pending, readPacer.getAnsweredCount(),
+                        remainingSeconds < 0 ? "unknown" : remainingSeconds);
             }
         }
     }
@@ -368,22 +459,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit));
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        synchronized (groupAddressListeners) {
+            listenersByGroupAddress.clear();
+            return groupAddressListeners.add(listener);
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            listenersByGroupAddress.clear();
+            return groupAddressListeners.remove(listener);
+        }
     }
 
     @Override
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Queue of the datapoints waiting to be read from the bus, holding each group address at most once.
+ *
+ * Datapoints which are read for the first time are served before retries of datapoints whose read failed, so a few
+ * unreachable group addresses don't delay reading the state of all others after startup.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueue {
+
+    private final Set<ReadDatapoint> firstReads = new LinkedHashSet<>();
+    private final Set<ReadDatapoint> retries = new LinkedHashSet<>();
+
+    /**
+     * Adds a datapoint to be read, unless its group address is already queued.
+     *
+     * @param datapoint the datapoint to read
+     * @return {@code true} if the datapoint was added
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        if (retries.contains(datapoint)) {
+            return false;
+        }
+        return firstReads.add(datapoint);
+    }
+
+    /**
+     * Adds a datapoint whose read failed, to be read again after all datapoints read for the first time.
+     *
+     * @param datapoint the datapoint to read again
+     * @return {@code true} if the datapoint was added
+     */
+    public synchronized boolean addRetry(ReadDatapoint datapoint) {
+        if (firstReads.contains(datapoint)) {
+            return false;
+        }
+        return retries.add(datapoint);
+    }
+
+    /**
+     * Removes the next datapoint to read.
+     *
+     * @return the datapoint or {@code null} if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        ReadDatapoint datapoint = poll(firstReads);
+        return datapoint != null ? datapoint : poll(retries);
+    }
+
+    public synchronized int size() {
+        return firstReads.size() + retries.size();
+    }
+
+    public synchronized void clear() {
+        firstReads.clear();
+        retries.clear();
+    }
+
+    private static @Nullable ReadDatapoint poll(Set<ReadDatapoint> datapoints) {
+        Iterator<ReadDatapoint> iterator = datapoints.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        ReadDatapoint datapoint = iterator.next();
+        iterator.remove();
+        return datapoint;
+    }
+}
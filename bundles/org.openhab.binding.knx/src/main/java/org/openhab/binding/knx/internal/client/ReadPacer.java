@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Decides how fast read requests are sent to the bus.
+ *
+ * Several read requests may wait for their response at the same time. The number of these unanswered reads grows by
+ * one for every few answered reads and is halved when the interface can't send a request, like the congestion window
+ * of TCP. A read which is not answered within the response timeout is handed back for a retry, it doesn't reduce the
+ * rate as it is usually a group address without read flag.
+ *
+ * The pause between two requests never drops below the configured reading pause. It grows when the bus is loaded by
+ * more than half of its capacity, counting all telegrams the client receives, and after failed requests.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadPacer {
+
+    static final int MAX_UNANSWERED_READS = 8;
+    // a KNX TP1 line transports about 50 telegrams per second
+    static final int BUS_CAPACITY_PER_SECOND = 50;
+    private static final int MAX_PAUSE_FACTOR = 16;
+
+    private final long readingPause;
+    private final long responseTimeout;
+
+    private double window = 1;
+    private long pause;
+    private final Map<GroupAddress, Unanswered> unanswered = new HashMap<>();
+
+    private long busSecond;
+    private int busTelegrams;
+    private int lastBusTelegrams;
+
+    private long batchStart = -1;
+    private int answered;
+
+    private static class Unanswered {
+        final ReadDatapoint datapoint;
+        final long sent;
+
+        Unanswered(ReadDatapoint datapoint, long sent) {
+            this.datapoint = datapoint;
+            this.sent = sent;
+        }
+    }
+
+    /**
+     * @param readingPause the minimum pause between two read requests in milliseconds
+     * @param responseTimeout the time to wait for a response in milliseconds
+     */
+    public ReadPacer(long readingPause, long responseTimeout) {
+        this.readingPause = readingPause;
+        this.responseTimeout = responseTimeout;
+        this.pause = readingPause;
+    }
+
+    /**
+     * Checks whether another read request may be sent now.
+     */
+    public synchronized boolean canSend() {
+        return unanswered.size() < (int) window;
+    }
+
+    /**
+     * Records a read request which was sent to the bus.
+     *
+     * @param now the current time in milliseconds
+     */
+    public synchronized void sent(ReadDatapoint datapoint, long now) {
+        if (batchStart < 0) {
+            batchStart = now;
+        }
+        unanswered.put(datapoint.getDatapoint().getMainAddress(), new Unanswered(datapoint, now));
+    }
+
+    /**
+     * Records a read request which could not be sent, for example because the interface didn't confirm it.
+     */
+    public synchronized void sendFailed() {
+        window = Math.max(1, window / 2);
+        pause = Math.min(readingPause * MAX_PAUSE_FACTOR, Math.max(1, pause * 2));
+    }
+
+    /**
+     * Records a telegram received from the bus. A telegram carrying a value answers the read request of its group
+     * address, if any.
+     *
+     * @param destination the group address of the telegram
+     * @param carriesValue {@code true} for a group write or response, {@code false} for a group read
+     * @param now the current time in milliseconds
+     */
+    public synchronized void received(GroupAddress destination, boolean carriesValue, long now) {
+        countBusLoad(now);
+        busTelegrams++;
+
+        if (carriesValue && unanswered.remove(destination) != null) {
+            answered++;
+            window = Math.min(MAX_UNANSWERED_READS, window + 1 / window);
+            pause = Math.max(readingPause, pause / 2);
+        }
+    }
+
+    /**
+     * Removes the read requests which were not answered within the response timeout.
+     *
+     * @param now the current time in milliseconds
+     * @return the datapoints of these requests
+     */
+    public synchronized List<ReadDatapoint> removeExpired(long now) {
+        List<ReadDatapoint> expired = new ArrayList<>();
+        Iterator<Unanswered> iterator = unanswered.values().iterator();
+        while (iterator.hasNext()) {
+            Unanswered read = iterator.next();
+            if (now - read.sent >= responseTimeout) {
+                iterator.remove();
+                expired.add(read.datapoint);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the pause before the next read request in milliseconds.
+     *
+     * @param now the current time in milliseconds
+     */
+    public synchronized long getPause(long now) {
+        countBusLoad(now);
+        int halfCapacity = BUS_CAPACITY_PER_SECOND / 2;
+        int busLoad = Math.max(busTelegrams, lastBusTelegrams);
+        if (busLoad <= halfCapacity) {
+            return pause;
+        }
+        return Math.min(readingPause * MAX_PAUSE_FACTOR, pause * busLoad / halfCapacity);
+    }
+
+    public synchronized int getUnansweredCount() {
+        return unanswered.size();
+    }
+
+    /**
+     * Returns the number of read requests answered since reading started or was finished the last time.
+     */
+    public synchronized int getAnsweredCount() {
+        return answered;
+    }
+
+    /**
+     * Estimates the time until the given number of pending reads and the unanswered reads are done, based on the rate
+     * reads were answered so far.
+     *
+     * @param pending the number of datapoints waiting to be sent
+     * @param now the current time in milliseconds
+     * @return the remaining time in seconds or -1 if it can't be estimated yet
+     */
+    public synchronized long getRemainingSeconds(int pending, long now) {
+        int remaining = pending + unanswered.size();
+        if (remaining == 0) {
+            return 0;
+        }
+        if (answered == 0 || batchStart < 0) {
+            return -1;
+        }
+        return (now - batchStart) * remaining / answered / 1000;
+    }
+
+    /**
+     * Starts counting the progress anew, when all pending datapoints have been read.
+     */
+    public synchronized void finished() {
+        batchStart = -1;
+        answered = 0;
+    }
+
+    private void countBusLoad(long now) {
+        long second = now / 1000;
+        if (second != busSecond) {
+            lastBusTelegrams = second == busSecond + 1 ? busTelegrams : 0;
+            busSecond = second;
+            busTelegrams = 0;
+        }
+    }
+
+    /**
+     * Forgets all unanswered reads, for example when the connection is lost.
+     */
+    public synchronized void reset() {
+        unanswered.clear();
+        window = 1;
+        pause = readingPause;
+        finished();
+    }
+}
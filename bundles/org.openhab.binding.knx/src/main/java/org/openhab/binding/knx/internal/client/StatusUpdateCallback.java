@@ -38,4 +38,11 @@ public interface StatusUpdateCallback {
      * @param status
      */
     void updateStatus(ThingStatus status, ThingStatusDetail thingStatusDetail, String message);
+
+    /**
+     * Reports that reading the initial state of the datapoints from the bus is finished.
+     *
+     * @param completed the number of datapoints read since reading started
+     */
+    void readsCompleted(int completed);
 }
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+
+/**
+ * The {@link DPTDecoder} decodes the data of a numeric KNX datapoint type straight from the received bytes. It yields
+ * exactly the value of {@link DPTXlator#getNumericValue()}, but without a translator and without formatting and
+ * parsing the value as a string for every telegram.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class DPTDecoder {
+
+    private final int size;
+    private final ToDoubleFunction<byte[]> function;
+
+    private DPTDecoder(int size, ToDoubleFunction<byte[]> function) {
+        this.size = size;
+        this.function = function;
+    }
+
+    /**
+     * Returns the decoder for a datapoint type.
+     *
+     * @param mainNumber main number of the datapoint type, such as 9 for "9.001"
+     * @param subNumber sub number of the datapoint type, such as 1 for "9.001"
+     * @return the decoder or {@code null} if the datapoint type has no numeric value that can be decoded directly
+     */
+    static @Nullable DPTDecoder forType(int mainNumber, int subNumber) {
+        switch (mainNumber) {
+            case 5:
+                switch (subNumber) {
+                    case 1: // 5.001: Scaling, 0...100 %
+                        return new DPTDecoder(1, data -> unsigned8(data) * 100.0 / 255);
+                    case 3: // 5.003: Angle, 0...360 °
+                        return new DPTDecoder(1, data -> unsigned8(data) * 360.0 / 255);
+                    default:
+                        return new DPTDecoder(1, DPTDecoder::unsigned8);
+                }
+            case 6:
+                return new DPTDecoder(1, data -> data[0]);
+            case 7:
+                switch (subNumber) {
+                    case 3: // 7.003: Time period in 10 ms
+                        return new DPTDecoder(2, data -> unsigned16(data) * 10);
+                    case 4: // 7.004: Time period in 100 ms
+                        return new DPTDecoder(2, data -> unsigned16(data) * 100);
+                    default:
+                        return new DPTDecoder(2, DPTDecoder::unsigned16);
+                }
+            case 9:
+                return new DPTDecoder(2, DPTDecoder::float16);
+            case 12:
+                return new DPTDecoder(4, data -> signed32(data) & 0xffffffffL);
+            case 13:
+                return new DPTDecoder(4, DPTDecoder::signed32);
+            case 14:
+                return new DPTDecoder(4, data -> Float.intBitsToFloat(signed32(data)));
+            case 17:
+                return new DPTDecoder(1, data -> data[0] & 0x3f);
+            case 29:
+                return new DPTDecoder(8, DPTDecoder::signed64);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes of one value of this datapoint type.
+     */
+    int getTypeSize() {
+        return size;
+    }
+
+    /**
+     * Decodes the first value of the data, which has to contain at least {@link #getTypeSize()} bytes.
+     */
+    double decode(byte[] data) {
+        return function.applyAsDouble(data);
+    }
+
+    private static int unsigned8(byte[] data) {
+        return data[0] & 0xff;
+    }
+
+    private static int unsigned16(byte[] data) {
+        return (data[0] & 0xff) << 8 | data[1] & 0xff;
+    }
+
+    private static int signed32(byte[] data) {
+        return (data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8 | data[3] & 0xff;
+    }
+
+    private static long signed64(byte[] data) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | data[i] & 0xff;
+        }
+        return value;
+    }
+
+    /**
+     * KNX 2-octet float: sign, 4 bit exponent and 11 bit mantissa in two's complement, value = 0.01 * m * 2^e
+     */
+    private static double float16(byte[] data) {
+        int mantissa = (data[0] & 0x07) << 8 | data[1] & 0xff;
+        if ((data[0] & 0x80) != 0) {
+            mantissa -= 2048;
+        }
+        int exponent = (data[0] >> 3) & 0x0f;
+        return 0.01 * mantissa * (1 << exponent);
+    }
+}
@@ -14,8 +14,6 @@ package org.openhab.binding.knx.internal.dpt;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -25,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -108,6 +107,17 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the decoder for each KNX datapoint type received so far */
+    private final Map<String, Decoder> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * Converts the data of a telegram into an openHAB type, or returns {@code null} if that is not possible.
+     */
+    @FunctionalInterface
+    private interface Decoder {
+        Type decode(Datapoint datapoint, byte[] data);
+    }
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -673,13 +683,115 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        String dptId = datapoint.getDPT();
+        logger.trace("toType datapoint DPT = {}", dptId);
+        Decoder decoder = decoders.get(dptId);
+        if (decoder == null) {
+            try {
+                decoder = createDecoder(TranslatorTypes.createTranslator(datapoint.getMainNumber(), dptId));
+            } catch (KNXException e) {
+                logger.warn("Failed creating a translator for datapoint type '{}'.", dptId, e);
+                return null;
+            }
+            decoders.putIfAbsent(dptId, decoder);
+        }
+        return decoder.decode(datapoint, data);
+    }
+
+    /**
+     * Creates the decoder for the datapoint type of the given translator. Types that are received most often, like
+     * switches, dimmers and numeric values, are decoded straight from the data bytes. All other types are decoded by
+     * the translator, which is kept for subsequent telegrams.
+     */
+    private Decoder createDecoder(DPTXlator translator) {
+        Decoder translatorDecoder = (datapoint, data) -> {
+            // a translator holds the data it translates
+            synchronized (translator) {
+                return toType(datapoint, translator, data);
+            }
+        };
+
+        String id = translator.getType().getID();
+        int mainNumber = getMainNumber(id);
+        int subNumber = getSubNumber(id);
+        Class<? extends Type> typeClass = mainNumber == -1 ? null : toTypeClass(id);
+        if (subNumber == -1 || typeClass == null) {
+            return translatorDecoder;
+        }
+
+        switch (mainNumber) {
+            case 1:
+                Type off;
+                Type on;
+                switch (subNumber) {
+                    case 8:
+                        off = UpDownType.UP;
+                        on = UpDownType.DOWN;
+                        break;
+                    case 9:
+                    case 19:
+                        off = OpenClosedType.CLOSED;
+                        on = OpenClosedType.OPEN;
+                        break;
+                    case 10:
+                        off = StopMoveType.STOP;
+                        on = StopMoveType.MOVE;
+                        break;
+                    case 22:
+                        off = DecimalType.valueOf("0");
+                        on = DecimalType.valueOf("1");
+                        break;
+                    default:
+                        off = OnOffType.OFF;
+                        on = OnOffType.ON;
+                }
+                return (datapoint, data) -> data.length < 1 ? translatorDecoder.decode(datapoint, data)
+                        : (data[0] & 0x01) != 0 ? on : off;
+            case 2:
+                // control bit and value bit
+                return (datapoint, data) -> data.length < 1 ? translatorDecoder.decode(datapoint, data)
+                        : new DecimalType(data[0] & 0x03);
+            case 3:
+                if (subNumber != 7 && subNumber != 8) {
+                    return translatorDecoder;
+                }
+                Type decrease = subNumber == 7 ? IncreaseDecreaseType.DECREASE : UpDownType.UP;
+                Type increase = subNumber == 7 ? IncreaseDecreaseType.INCREASE : UpDownType.DOWN;
+                return (datapoint, data) -> {
+                    if (data.length < 1) {
+                        return translatorDecoder.decode(datapoint, data);
+                    }
+                    // control bit and step code
+                    if ((data[0] & 0x07) == 0) {
+                        logger.debug("toType: KNX DPT_Control_Dimming: break received.");
+                        return UnDefType.UNDEF;
+                    }
+                    return (data[0] & 0x08) != 0 ? increase : decrease;
+                };
+        }
+
+        DPTDecoder numericDecoder = DPTDecoder.forType(mainNumber, subNumber);
+        if (numericDecoder == null) {
+            return translatorDecoder;
+        }
+        int typeSize = numericDecoder.getTypeSize();
+        if (typeClass.equals(PercentType.class)) {
+            return (datapoint, data) -> data.length < typeSize ? translatorDecoder.decode(datapoint, data)
+                    : new PercentType(BigDecimal.valueOf(Math.round(numericDecoder.decode(data))));
+        }
+        if (typeClass.equals(DecimalType.class)) {
+            return (datapoint, data) -> data.length < typeSize ? translatorDecoder.decode(datapoint, data)
+                    : new DecimalType(numericDecoder.decode(data));
+        }
+        return translatorDecoder;
+    }
+
+    private Type toType(Datapoint datapoint, DPTXlator translator, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
             String value = translator.getValue();
 
             String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
             int mainNumber = getMainNumber(id);
             if (mainNumber == -1) {
@@ -730,27 +842,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                         case 8:
                             return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
                     }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
                     break;
                 case 18:
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
@@ -853,8 +944,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         } catch (KNXIllegalArgumentException kiae) {
             logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
                     datapoint.getDPT());
-        } catch (KNXException e) {
-            logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
         }
 
         return null;
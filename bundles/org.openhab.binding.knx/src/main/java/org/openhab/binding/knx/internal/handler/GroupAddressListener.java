@@ -30,6 +30,9 @@ public interface GroupAddressListener extends BusMessageListener {
     /**
      * Called to verify if the GroupAddressListener has an interest in the given GroupAddress
      *
+     * The client remembers the answer for each group address until a listener is registered or unregistered, so the
+     * group addresses of a listener have to be known when it is registered.
+     *
      * @param destination
      */
     public boolean listensTo(GroupAddress destination);
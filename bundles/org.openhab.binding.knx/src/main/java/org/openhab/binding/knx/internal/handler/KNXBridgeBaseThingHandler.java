@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
+
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -72,4 +74,9 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
     public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, @Nullable String description) {
         super.updateStatus(status, statusDetail, description);
     }
+
+    @Override
+    public void readsCompleted(int completed) {
+        updateProperty(READS_COMPLETED, Integer.toString(completed));
+    }
 }
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * Tests for {@link ReadDatapointQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueueTest {
+
+    private static ReadDatapoint read(int address) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 1, address), "test", 0, "1.001"), 3);
+    }
+
+    private static int address(@Nullable ReadDatapoint datapoint) {
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().getRawAddress() & 0xFF;
+    }
+
+    @Test
+    public void testGroupAddressQueuedOnce() {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+
+        assertTrue(queue.add(read(1)));
+        assertTrue(queue.add(read(2)));
+        assertFalse(queue.add(read(1)));
+        assertEquals(2, queue.size());
+
+        assertEquals(1, address(queue.poll()));
+        assertTrue(queue.add(read(1)));
+        assertEquals(2, address(queue.poll()));
+        assertEquals(1, address(queue.poll()));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testFirstReadsBeforeRetries() {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+
+        assertTrue(queue.addRetry(read(1)));
+        assertTrue(queue.add(read(2)));
+        assertTrue(queue.add(read(3)));
+        // already waiting for a retry
+        assertFalse(queue.add(read(1)));
+        assertFalse(queue.addRetry(read(2)));
+
+        assertEquals(2, address(queue.poll()));
+        assertEquals(3, address(queue.poll()));
+        assertEquals(1, address(queue.poll()));
+        assertNull(queue.poll());
+
+        queue.add(read(4));
+        queue.addRetry(read(5));
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * Tests for {@link ReadPacer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadPacerTest {
+
+    private static final long READING_PAUSE = 50;
+    private static final long RESPONSE_TIMEOUT = 10000;
+
+    private static GroupAddress address(int address) {
+        return new GroupAddress(1, 1, address);
+    }
+
+    private static ReadDatapoint read(int address) {
+        return new ReadDatapoint(new CommandDP(address(address), "test", 0, "1.001"), 3);
+    }
+
+    /**
+     * Sends reads as long as the pacer allows it, starting at the given address.
+     *
+     * @return the number of reads sent
+     */
+    private static int sendAll(ReadPacer pacer, int firstAddress, long now) {
+        int count = 0;
+        while (pacer.canSend()) {
+            pacer.sent(read(firstAddress + count), now);
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testWindowGrowsWithAnswers() {
+        ReadPacer pacer = new ReadPacer(READING_PAUSE, RESPONSE_TIMEOUT);
+
+        assertEquals(1, sendAll(pacer, 0, 0));
+        // a read request of someone else doesn't answer the read
+        pacer.received(address(0), false, 0);
+        assertFalse(pacer.canSend());
+        pacer.received(address(0), true, 0);
+        assertEquals(2, sendAll(pacer, 1, 0));
+
+        for (int i = 1; i < 100; i++) {
+            pacer.received(address(i), true, i * 1000);
+            sendAll(pacer, i + 2, i * 1000);
+        }
+        assertEquals(ReadPacer.MAX_UNANSWERED_READS, pacer.getUnansweredCount());
+        assertEquals(100, pacer.getAnsweredCount());
+        assertEquals(READING_PAUSE, pacer.getPause(100000));
+    }
+
+    @Test
+    public void testSendFailureSlowsDown() {
+        ReadPacer pacer = new ReadPacer(READING_PAUSE, RESPONSE_TIMEOUT);
+        int next = 0;
+        for (int i = 0; i < 20; i++) {
+            int count = sendAll(pacer, next, i * 1000);
+            for (int j = 0; j < count; j++) {
+                pacer.received(address(next + j), true, i * 1000);
+            }
+            next += count;
+        }
+        assertEquals(ReadPacer.MAX_UNANSWERED_READS, sendAll(pacer, next, 20000));
+
+        pacer.sendFailed();
+        pacer.sendFailed();
+        assertEquals(4 * READING_PAUSE, pacer.getPause(20000));
+        // the window shrank to a quarter, so most reads on the bus have to be answered first
+        for (int j = 0; j < ReadPacer.MAX_UNANSWERED_READS / 2; j++) {
+            pacer.received(address(next + j), true, 20000);
+        }
+        assertFalse(pacer.canSend());
+        for (int j = ReadPacer.MAX_UNANSWERED_READS / 2; j < ReadPacer.MAX_UNANSWERED_READS; j++) {
+            pacer.received(address(next + j), true, 20000);
+        }
+        assertTrue(sendAll(pacer, 200, 20000) < ReadPacer.MAX_UNANSWERED_READS);
+        assertEquals(READING_PAUSE, pacer.getPause(20000));
+
+        for (int i = 0; i < 10; i++) {
+            pacer.sendFailed();
+        }
+        assertEquals(READING_PAUSE * 16, pacer.getPause(20000));
+    }
+
+    @Test
+    public void testUnansweredReadsExpire() {
+        ReadPacer pacer = new ReadPacer(READING_PAUSE, RESPONSE_TIMEOUT);
+        pacer.sent(read(1), 0);
+        pacer.sent(read(2), 5000);
+
+        assertTrue(pacer.removeExpired(RESPONSE_TIMEOUT - 1).isEmpty());
+        List<ReadDatapoint> expired = pacer.removeExpired(RESPONSE_TIMEOUT);
+        assertEquals(1, expired.size());
+        assertEquals(address(1), expired.get(0).getDatapoint().getMainAddress());
+        assertEquals(1, pacer.getUnansweredCount());
+        // a late answer is no answer to the read anymore
+        pacer.received(address(1), true, RESPONSE_TIMEOUT);
+        assertEquals(0, pacer.getAnsweredCount());
+    }
+
+    @Test
+    public void testBusLoadSlowsDown() {
+        ReadPacer pacer = new ReadPacer(READING_PAUSE, RESPONSE_TIMEOUT);
+        for (int i = 0; i < ReadPacer.BUS_CAPACITY_PER_SECOND / 2; i++) {
+            pacer.received(address(200), true, 1000 + i);
+        }
+        assertEquals(READING_PAUSE, pacer.getPause(1500));
+
+        for (int i = 0; i < ReadPacer.BUS_CAPACITY_PER_SECOND / 2; i++) {
+            pacer.received(address(200), true, 1500 + i);
+        }
+        assertEquals(2 * READING_PAUSE, pacer.getPause(1999));
+        // the load of the last second still counts
+        assertEquals(2 * READING_PAUSE, pacer.getPause(2500));
+        assertEquals(READING_PAUSE, pacer.getPause(3000));
+    }
+
+    @Test
+    public void testRemainingTime() {
+        ReadPacer pacer = new ReadPacer(READING_PAUSE, RESPONSE_TIMEOUT);
+        assertEquals(0, pacer.getRemainingSeconds(0, 0));
+
+        pacer.sent(read(1), 1000);
+        assertEquals(-1, pacer.getRemainingSeconds(9, 2000));
+        pacer.received(address(1), true, 3000);
+        // one read in two seconds
+        assertEquals(18, pacer.getRemainingSeconds(9, 3000));
+
+        pacer.finished();
+        assertEquals(0, pacer.getAnsweredCount());
+        assertEquals(-1, pacer.getRemainingSeconds(9, 3000));
+
+        pacer.sent(read(2), 4000);
+        pacer.reset();
+        assertEquals(0, pacer.getUnansweredCount());
+        assertEquals(0, pacer.getRemainingSeconds(0, 4000));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.core.types.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Measures the decoding of received telegrams by {@link KNXCoreTypeMapper#toType(Datapoint, byte[])} for one datapoint
+ * type of every supported main number, compared with creating a translator and formatting its value as it was done for
+ * every telegram before. It is not run by the build, start it with the main method from the test classpath.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KNXCoreTypeMapperBenchmark {
+
+    @Param({ "1.001", "2.001", "3.007", "5.001", "5.010", "6.010", "7.001", "9.001", "10.001", "11.001", "12.001",
+            "13.001", "14.019", "16.000", "17.001", "18.001", "19.001", "20.102", "21.001", "28.001", "29.010",
+            "232.600" })
+    public String dpt = "";
+
+    private final KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+    private Datapoint datapoint = new CommandDP(new GroupAddress(0, 0, 1), "benchmark");
+    private byte[] data = new byte[0];
+
+    @Setup
+    public void setUp() throws KNXException {
+        datapoint = new CommandDP(new GroupAddress(1, 2, 3), "benchmark", 0, dpt);
+        // the default value of the translator is valid for all types
+        data = TranslatorTypes.createTranslator(0, dpt).getData();
+    }
+
+    @Benchmark
+    public Type toType() {
+        return mapper.toType(datapoint, data);
+    }
+
+    @Benchmark
+    public String newTranslator() throws KNXException {
+        DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+        translator.setData(data);
+        return translator.getValue();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(KNXCoreTypeMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
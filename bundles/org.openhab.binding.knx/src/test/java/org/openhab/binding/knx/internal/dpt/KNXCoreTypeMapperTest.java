@@ -16,6 +16,16 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.Type;
+import org.openhab.core.types.UnDefType;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
 
 /**
  *
@@ -29,4 +39,55 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+
+        assertEquals(OnOffType.ON, toType(mapper, "1.001", 0x01));
+        assertEquals(UpDownType.DOWN, toType(mapper, "1.008", 0x01));
+        assertEquals(new DecimalType(3), toType(mapper, "2.001", 0x03));
+        assertEquals(IncreaseDecreaseType.INCREASE, toType(mapper, "3.007", 0x0B));
+        assertEquals(UpDownType.UP, toType(mapper, "3.008", 0x03));
+        assertEquals(UnDefType.UNDEF, toType(mapper, "3.007", 0x08));
+        assertDecimal(PercentType.class, 100, toType(mapper, "5.001", 0xFF));
+        assertDecimal(DecimalType.class, 180.706, toType(mapper, "5.003", 0x80));
+        assertDecimal(DecimalType.class, -5, toType(mapper, "6.010", 0xFB));
+        assertDecimal(DecimalType.class, 2580, toType(mapper, "7.003", 0x01, 0x02));
+        assertDecimal(DecimalType.class, 21, toType(mapper, "9.001", 0x0C, 0x1A));
+        assertDecimal(DecimalType.class, -30, toType(mapper, "9.001", 0x8A, 0x24));
+        assertDecimal(DecimalType.class, 4294967295L, toType(mapper, "12.001", 0xFF, 0xFF, 0xFF, 0xFF));
+        assertDecimal(DecimalType.class, -1, toType(mapper, "13.001", 0xFF, 0xFF, 0xFF, 0xFF));
+        assertDecimal(DecimalType.class, 1.5, toType(mapper, "14.019", 0x3F, 0xC0, 0x00, 0x00));
+        assertDecimal(DecimalType.class, 5, toType(mapper, "17.001", 0xC5));
+        assertEquals(StringType.valueOf("KNX"),
+                toType(mapper, "16.000", 0x4B, 0x4E, 0x58, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0));
+
+        // the same type again is decoded by the same decoder
+        assertEquals(OnOffType.OFF, toType(mapper, "1.001", 0x00));
+        assertDecimal(DecimalType.class, 22, toType(mapper, "9.001", 0x0C, 0x4C));
+    }
+
+    @Test
+    public void testToTypeInvalidData() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+
+        assertNull(toType(mapper, "1.001"));
+        assertNull(toType(mapper, "9.001", 0x0C));
+        assertNull(toType(mapper, "14.019", 0x3F, 0xC0));
+        assertNull(toType(mapper, "999.001", 0x01));
+    }
+
+    private static void assertDecimal(Class<?> expectedClass, double expected, Type type) {
+        assertEquals(expectedClass, type.getClass());
+        assertEquals(expected, ((DecimalType) type).doubleValue(), 0.001);
+    }
+
+    private static Type toType(KNXCoreTypeMapper mapper, String dpt, int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return mapper.toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), bytes);
+    }
 }
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.modbus.handler;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -22,7 +23,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner.PlannedPoll;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -99,10 +103,13 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         @Override
         public synchronized void handle(AsyncModbusReadResult result) {
             // Casting to allow registers.orElse(null) below..
-            Optional<@Nullable ModbusRegisterArray> registers = (Optional<@Nullable ModbusRegisterArray>) result
-                    .getRegisters();
-            lastPolledDataCache.set(registers.orElse(null));
-            handleResult(new PollResult(result));
+            ModbusRegisterArray registers = ((Optional<@Nullable ModbusRegisterArray>) result.getRegisters())
+                    .orElse(null);
+            if (registers != null) {
+                registers = getOwnRegisters(result.getRequest(), registers);
+            }
+            lastPolledDataCache.set(registers);
+            handleResult(new PollResult(result, registers));
         }
 
         @Override
@@ -163,15 +170,19 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
         public final @Nullable AsyncModbusReadResult result;
         public final @Nullable AsyncModbusFailure<ModbusReadRequestBlueprint> failure;
+        // registers of this poller, which are only part of the result in case the poll was merged with other pollers
+        public final @Nullable ModbusRegisterArray registers;
 
-        PollResult(AsyncModbusReadResult result) {
+        PollResult(AsyncModbusReadResult result, @Nullable ModbusRegisterArray registers) {
             this.result = result;
             this.failure = null;
+            this.registers = registers;
         }
 
         PollResult(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
             this.result = null;
             this.failure = failure;
+            this.registers = null;
         }
 
         @Override
@@ -189,6 +200,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusPollPlanner pollPlanner;
+    private volatile @Nullable PlannedPoll plannedPoll;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -313,7 +326,15 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollPlanner localPollPlanner = this.pollPlanner;
+        PlannedPoll localPlannedPoll = this.plannedPoll;
+        if (localPollPlanner != null && localPlannedPoll != null) {
+            logger.debug("Unregistering polling from endpoint");
+            localPollPlanner.unregister(localPlannedPoll);
+        }
         this.pollTask = null;
+        this.pollPlanner = null;
+        this.plannedPoll = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -328,7 +349,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || plannedPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -362,10 +383,21 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
-            logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
-            assert pollTask != null;
+            ModbusPollPlanner localPollPlanner = slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler
+                    ? ((AbstractModbusEndpointThingHandler<?, ?>) slaveEndpointThingHandler).getPollPlanner()
+                    : null;
+            if (localPollPlanner != null) {
+                // the endpoint merges the polls of its pollers where possible
+                logger.debug("Registering polling with endpoint");
+                pollPlanner = localPollPlanner;
+                plannedPoll = localPollPlanner.register(localRequest, config.getRefresh(), callbackDelegator,
+                        callbackDelegator);
+            } else {
+                logger.debug("Registering polling with ModbusManager");
+                pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
+                        callbackDelegator);
+                assert pollTask != null;
+            }
             updateStatus(ThingStatus.ONLINE);
         }
     }
@@ -431,15 +463,11 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         ModbusRegisterArray possiblyMutatedCache = lastPolledDataCache.get();
         AtomicStampedValue<PollResult> lastPollResult = callbackDelegator.lastResult;
         if (lastPollResult != null && possiblyMutatedCache != null) {
-            AsyncModbusReadResult lastSuccessfulPollResult = lastPollResult.getValue().result;
-            if (lastSuccessfulPollResult != null) {
-                ModbusRegisterArray lastRegisters = ((Optional<@Nullable ModbusRegisterArray>) lastSuccessfulPollResult
-                        .getRegisters()).orElse(null);
-                if (lastRegisters != null && !possiblyMutatedCache.equals(lastRegisters)) {
-                    // Register has been mutated in between by a data thing that writes "individual bits"
-                    // Invalidate cache for a fresh poll
-                    callbackDelegator.resetCache();
-                }
+            ModbusRegisterArray lastRegisters = lastPollResult.getValue().registers;
+            if (lastRegisters != null && !possiblyMutatedCache.equals(lastRegisters)) {
+                // Register has been mutated in between by a data thing that writes "individual bits"
+                // Invalidate cache for a fresh poll
+                callbackDelegator.resetCache();
             }
         }
 
@@ -461,6 +489,23 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Get the registers of this poller from the result of a poll, which might have been merged with other pollers
+     */
+    private ModbusRegisterArray getOwnRegisters(ModbusReadRequestBlueprint resultRequest,
+            ModbusRegisterArray registers) {
+        ModbusReadRequestBlueprint localRequest = request;
+        if (localRequest == null || resultRequest == localRequest) {
+            return registers;
+        }
+        int offset = localRequest.getReference() - resultRequest.getReference();
+        int length = localRequest.getDataLength();
+        if (offset < 0 || offset + length > registers.size() || (offset == 0 && length == registers.size())) {
+            return registers;
+        }
+        return new ModbusRegisterArray(Arrays.copyOfRange(registers.getBytes(), offset * 2, (offset + length) * 2));
+    }
+
     public AtomicReference<@Nullable ModbusRegisterArray> getLastPolledDataCache() {
         return lastPolledDataCache;
     }
@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plans the regular polls of the pollers of one endpoint.
+ *
+ * Polls of the same slave with the same function code and poll period are merged into one read request, when their
+ * ranges overlap or at most <code>maxGap</code> registers or bits lie between them, and the merged request stays within
+ * the protocol limits. The result of the merged request is passed as is to the callbacks of all merged polls, so the
+ * receivers must address the data relative to the reference of {@link AsyncModbusReadResult#getRequest()}.
+ *
+ * A poll which is not merged with any other is registered with its own request, exactly as without planning.
+ *
+ * Changes are not planned right away, but collected for <code>replanDelayMillis</code>. Pollers of an endpoint are
+ * typically (re)initialized together, so the merged requests are registered once instead of after every poller.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlanner {
+
+    /**
+     * A poll registered with the planner
+     */
+    public static class PlannedPoll {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private volatile boolean registered = true;
+
+        private PlannedPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        private int getStart() {
+            return request.getReference();
+        }
+
+        private int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+
+        private Object getGroupKey() {
+            return List.of(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis);
+        }
+    }
+
+    /**
+     * A read request registered with the communication interface, polling the data of one or more planned polls
+     */
+    private static class Block implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<PlannedPoll> polls;
+        private @Nullable PollTask pollTask;
+
+        Block(ModbusReadRequestBlueprint request, List<PlannedPoll> polls) {
+            this.request = request;
+            this.polls = polls;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (PlannedPoll poll : polls) {
+                // unregistered polls are only removed from the block when the group is planned again
+                if (poll.registered) {
+                    poll.resultCallback.handle(result);
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (PlannedPoll poll : polls) {
+                if (poll.registered) {
+                    poll.failureCallback.handle(failure);
+                }
+            }
+        }
+
+        boolean isSamePlan(Block other) {
+            return request.getReference() == other.request.getReference()
+                    && request.getDataLength() == other.request.getDataLength()
+                    && request.getMaxTries() == other.request.getMaxTries() && polls.equals(other.polls);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollPlanner.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final int maxGap;
+    private final ScheduledExecutorService scheduler;
+    private final long replanDelayMillis;
+    private final Map<Object, List<PlannedPoll>> pollsByGroup = new HashMap<>();
+    private final Map<Object, List<Block>> blocksByGroup = new HashMap<>();
+    private final Map<Object, Long> changedGroups = new HashMap<>();
+    private @Nullable ScheduledFuture<?> replanJob;
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param maxGap maximum number of registers or bits between two polls to merge them. With a negative value polls
+     *            are never merged.
+     * @param scheduler scheduler planning the changed groups
+     * @param replanDelayMillis time in milliseconds to collect changes before planning them. With zero or a negative
+     *            value changes are planned right away.
+     */
+    public ModbusPollPlanner(ModbusCommunicationInterface comms, int maxGap, ScheduledExecutorService scheduler,
+            long replanDelayMillis) {
+        this.comms = comms;
+        this.maxGap = maxGap;
+        this.scheduler = scheduler;
+        this.replanDelayMillis = replanDelayMillis;
+    }
+
+    /**
+     * Register a regular poll, merging it with the other polls of the same slave, function code and poll period if
+     * possible. The poll is registered with the communication interface once the changes are planned.
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll period in milliseconds
+     * @param resultCallback callback receiving the data of the request, possibly as part of a larger request
+     * @param failureCallback callback receiving the failures of the request, possibly of a larger request
+     * @return the registered poll, to be passed to {@link #unregister(PlannedPoll)}
+     */
+    public synchronized PlannedPoll register(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        PlannedPoll poll = new PlannedPoll(request, pollPeriodMillis, resultCallback, failureCallback);
+        pollsByGroup.computeIfAbsent(poll.getGroupKey(), key -> new ArrayList<>()).add(poll);
+        scheduleReplan(poll.getGroupKey(), pollPeriodMillis);
+        return poll;
+    }
+
+    /**
+     * Unregister a poll
+     *
+     * @param poll poll returned by {@link #register}
+     * @return whether the poll was registered
+     */
+    public synchronized boolean unregister(PlannedPoll poll) {
+        Object key = poll.getGroupKey();
+        List<PlannedPoll> polls = pollsByGroup.get(key);
+        if (polls == null || !polls.remove(poll)) {
+            return false;
+        }
+        poll.registered = false;
+        if (polls.isEmpty()) {
+            pollsByGroup.remove(key);
+        }
+        scheduleReplan(key, poll.pollPeriodMillis);
+        return true;
+    }
+
+    /**
+     * Unregister all polls
+     */
+    public synchronized void dispose() {
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob != null) {
+            localReplanJob.cancel(false);
+            replanJob = null;
+        }
+        changedGroups.clear();
+        blocksByGroup.values().forEach(blocks -> blocks.forEach(this::unregisterBlock));
+        blocksByGroup.clear();
+        pollsByGroup.values().forEach(polls -> polls.forEach(poll -> poll.registered = false));
+        pollsByGroup.clear();
+    }
+
+    private void scheduleReplan(Object key, long pollPeriodMillis) {
+        changedGroups.put(key, pollPeriodMillis);
+        if (replanDelayMillis <= 0) {
+            replanChangedGroups();
+        } else if (replanJob == null) {
+            replanJob = scheduler.schedule(this::replanChangedGroups, replanDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void replanChangedGroups() {
+        replanJob = null;
+        changedGroups.forEach(this::replan);
+        changedGroups.clear();
+    }
+
+    /**
+     * Merge the polls of a group into blocks, (re)registering only the blocks which changed
+     */
+    private void replan(Object key, long pollPeriodMillis) {
+        List<Block> oldBlocks = blocksByGroup.getOrDefault(key, List.of());
+        List<Block> newBlocks = plan(pollsByGroup.getOrDefault(key, List.of()), maxGap);
+        List<Block> blocks = new ArrayList<>(newBlocks.size());
+        for (Block block : newBlocks) {
+            Block oldBlock = oldBlocks.stream().filter(block::isSamePlan).findFirst().orElse(null);
+            blocks.add(oldBlock != null ? oldBlock : block);
+        }
+        for (Block oldBlock : oldBlocks) {
+            if (!blocks.contains(oldBlock)) {
+                unregisterBlock(oldBlock);
+            }
+        }
+        for (Block block : blocks) {
+            if (block.pollTask == null) {
+                logger.debug("Registering regular poll of {} for {} poller(s)", block.request, block.polls.size());
+                block.pollTask = comms.registerRegularPoll(block.request, pollPeriodMillis, 0, block, block);
+            }
+        }
+        if (blocks.isEmpty()) {
+            blocksByGroup.remove(key);
+        } else {
+            blocksByGroup.put(key, blocks);
+        }
+    }
+
+    private void unregisterBlock(Block block) {
+        PollTask pollTask = block.pollTask;
+        if (pollTask != null) {
+            comms.unregisterRegularPoll(pollTask);
+            block.pollTask = null;
+        }
+    }
+
+    /**
+     * Merge polls of one group into blocks
+     *
+     * @param polls polls with same slave, function code and poll period
+     * @param maxGap maximum number of registers or bits between two merged polls, or negative to not merge
+     * @return blocks ordered by their start
+     */
+    private static List<Block> plan(List<PlannedPoll> polls, int maxGap) {
+        List<PlannedPoll> sorted = new ArrayList<>(polls);
+        sorted.sort(Comparator.comparingInt(PlannedPoll::getStart).thenComparingInt(PlannedPoll::getEnd));
+        List<Block> blocks = new ArrayList<>();
+        List<PlannedPoll> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (PlannedPoll poll : sorted) {
+            if (!current.isEmpty() && maxGap >= 0 && poll.getStart() - end <= maxGap
+                    && Math.max(end, poll.getEnd()) - start <= getMaxLength(poll.request.getFunctionCode())) {
+                current.add(poll);
+                end = Math.max(end, poll.getEnd());
+                continue;
+            }
+            if (!current.isEmpty()) {
+                blocks.add(createBlock(current, start, end));
+            }
+            current = new ArrayList<>();
+            current.add(poll);
+            start = poll.getStart();
+            end = poll.getEnd();
+        }
+        if (!current.isEmpty()) {
+            blocks.add(createBlock(current, start, end));
+        }
+        return blocks;
+    }
+
+    private static Block createBlock(List<PlannedPoll> polls, int start, int end) {
+        ModbusReadRequestBlueprint first = polls.get(0).request;
+        if (polls.size() == 1) {
+            return new Block(first, polls);
+        }
+        int maxTries = polls.stream().mapToInt(poll -> poll.request.getMaxTries()).max().orElse(first.getMaxTries());
+        return new Block(new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start, end - start,
+                maxTries), polls);
+    }
+
+    private static int getMaxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+}
@@ -13,8 +13,12 @@
 package org.openhab.binding.modbus.internal;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +33,12 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.TypeParser;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.SynchronousBundleListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,12 +71,28 @@ public class SingleValueTransformation implements ValueTransformation {
         DEFAULT_TYPES.add(OnOffType.class);
     }
 
+    private static final String TRANSFORMATION_SERVICE_FILTER = "(" + Constants.OBJECTCLASS + "="
+            + TransformationService.class.getName() + ")";
+    private static final String TRANSFORMATION_TYPE_FILTER = "(openhab.transform=%s)";
+
+    /**
+     * Incremented whenever a transformation service is registered, modified or unregistered, invalidating the
+     * services cached by the transformations
+     */
+    private static final AtomicInteger SERVICE_REGISTRY_VERSION = new AtomicInteger();
+    private static final ServiceListener SERVICE_LISTENER = event -> SERVICE_REGISTRY_VERSION.incrementAndGet();
+    private static final Set<BundleContext> LISTENED_CONTEXTS = ConcurrentHashMap.newKeySet();
+
     private final Logger logger = LoggerFactory.getLogger(SingleValueTransformation.class);
 
     private final @Nullable String transformation;
     final @Nullable String transformationServiceName;
     final @Nullable String transformationServiceParam;
 
+    private volatile @Nullable ServiceReference<TransformationService> cachedServiceReference;
+    private volatile @Nullable TransformationService cachedTransformationService;
+    private volatile int cachedServiceRegistryVersion;
+
     /**
      *
      * @param transformation either FUN(VAL) (standard transformation syntax), default (identity transformation
@@ -134,7 +160,7 @@ public class SingleValueTransformation implements ValueTransformation {
                             "transformation service parameter is missing! Invalid transform?");
                 }
                 @Nullable
-                TransformationService transformationService = TransformationHelper.getTransformationService(context,
+                TransformationService transformationService = getTransformationService(context,
                         transformationServiceName);
                 if (transformationService != null) {
                     transformedResponse = transformationService.transform(transformationServiceParam, value);
@@ -162,6 +188,75 @@ public class SingleValueTransformation implements ValueTransformation {
         return transformedResponse == null ? "" : transformedResponse;
     }
 
+    /**
+     * Get the transformation service, looking it up only when there is no cached service, the transformation
+     * services changed since the lookup or the cached service has been unregistered
+     */
+    private @Nullable TransformationService getTransformationService(BundleContext context, String serviceName) {
+        if (!listenToServiceChanges(context)) {
+            return TransformationHelper.getTransformationService(context, serviceName);
+        }
+        // read the version before the lookup, so that a change during the lookup triggers another lookup
+        int version = SERVICE_REGISTRY_VERSION.get();
+        ServiceReference<TransformationService> reference = cachedServiceReference;
+        TransformationService transformationService = cachedTransformationService;
+        // A service looked up while it is being unregistered is cached after its last event. The reference of an
+        // unregistered service has no bundle.
+        if (reference == null || transformationService == null || version != cachedServiceRegistryVersion
+                || reference.getBundle() == null) {
+            reference = getServiceReference(context, serviceName);
+            transformationService = reference == null ? null : context.getService(reference);
+            cachedServiceReference = reference;
+            cachedTransformationService = transformationService;
+            cachedServiceRegistryVersion = version;
+        }
+        return transformationService;
+    }
+
+    private @Nullable ServiceReference<TransformationService> getServiceReference(BundleContext context,
+            String serviceName) {
+        try {
+            String filter = String.format(TRANSFORMATION_TYPE_FILTER, serviceName);
+            Collection<ServiceReference<TransformationService>> references = context
+                    .getServiceReferences(TransformationService.class, filter);
+            return references == null || references.isEmpty() ? null : references.iterator().next();
+        } catch (InvalidSyntaxException e) {
+            logger.debug("Cannot look up transformation service '{}': {}", serviceName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Make sure changes of the transformation services are tracked in the given context. The listeners are removed by
+     * the framework, and the context is forgotten, when the bundle stops.
+     *
+     * @return whether the changes are tracked, i.e. whether looked up services may be cached
+     */
+    private boolean listenToServiceChanges(BundleContext context) {
+        if (LISTENED_CONTEXTS.contains(context)) {
+            return true;
+        }
+        synchronized (LISTENED_CONTEXTS) {
+            if (LISTENED_CONTEXTS.contains(context)) {
+                return true;
+            }
+            try {
+                context.addServiceListener(SERVICE_LISTENER, TRANSFORMATION_SERVICE_FILTER);
+                context.addBundleListener((SynchronousBundleListener) event -> {
+                    if (event.getType() == BundleEvent.STOPPING && event.getBundle().equals(context.getBundle())) {
+                        LISTENED_CONTEXTS.remove(context);
+                    }
+                });
+                LISTENED_CONTEXTS.add(context);
+                return true;
+            } catch (InvalidSyntaxException | IllegalStateException e) {
+                logger.debug("Could not listen to transformation service changes, not caching the service: {}",
+                        e.getMessage());
+                return false;
+            }
+        }
+    }
+
     @Override
     public boolean isIdentityTransform() {
         return TRANSFORM_DEFAULT.equalsIgnoreCase(this.transformation);
@@ -38,6 +38,7 @@ public class ModbusSerialConfiguration {
     private int connectMaxTries = 1;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private int pollMergeMaxGap = -1;
 
     public @Nullable String getPort() {
         return port;
@@ -158,4 +159,12 @@ public class ModbusSerialConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public int getPollMergeMaxGap() {
+        return pollMergeMaxGap;
+    }
+
+    public void setPollMergeMaxGap(int pollMergeMaxGap) {
+        this.pollMergeMaxGap = pollMergeMaxGap;
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -42,12 +43,22 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEndpoint, C> extends BaseBridgeHandler
         implements ModbusEndpointThingHandler {
 
+    /**
+     * Time to collect the (un)registrations of pollers before merging their polls again
+     */
+    private static final long POLL_REPLAN_DELAY_MILLIS = 500;
+
     protected volatile @Nullable C config;
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
+    /**
+     * Maximum number of registers or bits between the polls of two pollers to merge them, negative to never merge
+     */
+    protected volatile int pollMergeMaxGap = -1;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollPlanner pollPlanner;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +87,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    pollPlanner = new ModbusPollPlanner(comms, pollMergeMaxGap, scheduler, POLL_REPLAN_DELAY_MILLIS);
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -94,6 +106,10 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     @Override
     public void dispose() {
         try {
+            ModbusPollPlanner localPollPlanner = pollPlanner;
+            if (localPollPlanner != null) {
+                localPollPlanner.dispose();
+            }
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
                 localComms.close();
@@ -101,6 +117,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         } catch (Exception e) {
             logger.warn("Error closing modbus communication interface", e);
         } finally {
+            pollPlanner = null;
             comms = null;
         }
     }
@@ -110,6 +127,17 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Get the planner merging the regular polls of the pollers of this endpoint
+     *
+     * Note that this can be <code>null</code> in case of incomplete initialization
+     *
+     * @return poll planner of this endpoint
+     */
+    public @Nullable ModbusPollPlanner getPollPlanner() {
+        return pollPlanner;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
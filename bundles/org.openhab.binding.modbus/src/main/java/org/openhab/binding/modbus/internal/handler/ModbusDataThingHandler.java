@@ -151,6 +151,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // raw bits of the last processed read value, to skip processing when the polled data did not change
+    private volatile long lastReadRawValue;
+    private volatile boolean lastReadRawValueValid;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -484,6 +487,20 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastReadRawValueValid = false;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // states of the newly linked channel are not known yet
+        lastReadRawValueValid = false;
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public synchronized void channelUnlinked(ChannelUID channelUID) {
+        lastReadRawValueValid = false;
+        super.channelUnlinked(channelUID);
     }
 
     @Override
@@ -828,15 +845,27 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
         // respectively.
         // with >=16 bit types, this is index of first register
+        //
+        // The index is relative to the request of the result, which covers the registers of several pollers in case
+        // the endpoint merged their polls
         int extractIndex;
         if (readValueType.getBits() >= 16) {
             // Invariant, checked in initialize
             assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
+            extractIndex = readIndex.get() - request.getReference();
         } else {
             int subIndex = readSubIndex.orElse(0);
             int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
+            extractIndex = (readIndex.get() - request.getReference()) * itemsPerRegister + subIndex;
+        }
+        int valueTypeBits = readValueType.getBits();
+        boolean rawValueAvailable = hasRawValue(registers, extractIndex, valueTypeBits);
+        long rawValue = rawValueAvailable ? getRawValue(registers, extractIndex, valueTypeBits) : 0;
+        if (rawValueAvailable && isUnchangedRawValue(rawValue)) {
+            logger.trace("Thing {} polled value unchanged. Registers {} for request {}", thing.getUID(), registers,
+                    request);
+            processUnchangedValue();
+            return;
         }
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
@@ -846,6 +875,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
                 boolValue, registers, request);
+        lastReadRawValue = rawValue;
+        lastReadRawValueValid = rawValueAvailable;
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -854,12 +885,83 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        boolean boolValue = bits.getBit(readIndex.get() - request.getReference());
+        long rawValue = boolValue ? 1 : 0;
+        if (isUnchangedRawValue(rawValue)) {
+            logger.trace("Thing {} polled value unchanged. Bits {} for request {}", thing.getUID(), bits, request);
+            processUnchangedValue();
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        lastReadRawValue = rawValue;
+        lastReadRawValueValid = true;
+    }
+
+    /**
+     * Check whether the value at the extract index lies within the polled registers
+     */
+    private static boolean hasRawValue(ModbusRegisterArray registers, int extractIndex, int valueTypeBits) {
+        if (extractIndex < 0) {
+            return false;
+        }
+        if (valueTypeBits >= 16) {
+            return extractIndex + valueTypeBits / 16 <= registers.size();
+        }
+        return extractIndex / (16 / valueTypeBits) < registers.size();
+    }
+
+    /**
+     * Get the raw bits of the value at the extract index, reading the polled registers in place
+     *
+     * @param registers polled registers
+     * @param extractIndex index of the value, as with {@link ModbusBitUtilities#extractStateFromRegisters}
+     * @param valueTypeBits bits of the value type, at most 64
+     * @return raw bits of the value, to compare with raw bits of previous polls
+     */
+    private static long getRawValue(ModbusRegisterArray registers, int extractIndex, int valueTypeBits) {
+        if (valueTypeBits >= 16) {
+            long rawValue = 0;
+            for (int i = 0; i < valueTypeBits / 16; i++) {
+                rawValue = rawValue << 16 | registers.getRegister(extractIndex + i);
+            }
+            return rawValue;
+        }
+        // items are counted from the least significant bits of the register
+        int itemsPerRegister = 16 / valueTypeBits;
+        int register = registers.getRegister(extractIndex / itemsPerRegister);
+        return (register >> (extractIndex % itemsPerRegister * valueTypeBits)) & ((1 << valueTypeBits) - 1);
+    }
+
+    private boolean isUnchangedRawValue(long rawValue) {
+        return lastReadRawValueValid && lastReadRawValue == rawValue;
+    }
+
+    /**
+     * Update linked channels with the states of the previous poll, since the polled value did not change
+     *
+     * Only channels not updated in a while, and the last read success channel, are updated.
+     */
+    private void processUnchangedValue() {
+        synchronized (this) {
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            long now = System.currentTimeMillis();
+            ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+            Map<ChannelUID, State> states = channelLastState;
+            for (Map.Entry<ChannelUID, State> entry : states.entrySet()) {
+                if (!entry.getKey().equals(lastReadSuccessUID)) {
+                    updateExpiredChannel(now, entry.getKey(), entry.getValue());
+                }
+            }
+            if (isLinked(lastReadSuccessUID)) {
+                State lastReadSuccess = new DateTimeType();
+                updateExpiredChannel(now, lastReadSuccessUID, lastReadSuccess);
+                states.put(lastReadSuccessUID, lastReadSuccess);
+            }
+        }
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
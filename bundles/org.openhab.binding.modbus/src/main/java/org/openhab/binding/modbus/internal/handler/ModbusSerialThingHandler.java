@@ -69,6 +69,8 @@ public class ModbusSerialThingHandler
         poolConfiguration.setInterConnectDelayMillis(1000);
         poolConfiguration.setReconnectAfterMillis(-1);
 
+        pollMergeMaxGap = config.getPollMergeMaxGap();
+
         endpoint = new ModbusSerialSlaveEndpoint(port, baud, flowControlIn, flowControlOut, config.getDataBits(),
                 stopBits, parity, encoding, config.isEcho(), config.getReceiveTimeoutMillis());
     }
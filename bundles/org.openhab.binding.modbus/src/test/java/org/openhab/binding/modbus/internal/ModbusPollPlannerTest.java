@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner.PlannedPoll;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * Tests for {@link ModbusPollPlanner}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings("unchecked")
+public class ModbusPollPlannerTest {
+
+    private static final long REFRESH = 1000;
+
+    private static class RegisteredPoll {
+        final ModbusReadRequestBlueprint request;
+        final ModbusReadCallback resultCallback;
+        final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        RegisteredPoll(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+    }
+
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final Map<PollTask, RegisteredPoll> registeredPolls = new HashMap<>();
+    private final Map<PlannedPoll, ModbusReadCallback> resultCallbacks = new HashMap<>();
+    private final Map<PlannedPoll, ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCallbacks =
+            new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            PollTask task = mock(PollTask.class);
+            registeredPolls.put(task, new RegisteredPoll(invocation.getArgument(0), invocation.getArgument(3),
+                    invocation.getArgument(4)));
+            return task;
+        });
+        when(comms.unregisterRegularPoll(any()))
+                .thenAnswer(invocation -> registeredPolls.remove(invocation.getArgument(0)) != null);
+    }
+
+    /**
+     * Planner planning every change right away
+     */
+    private ModbusPollPlanner planner(int maxGap) {
+        return new ModbusPollPlanner(comms, maxGap, scheduler, 0);
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private static ModbusReadRequestBlueprint registers(int start, int length) {
+        return request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    private PlannedPoll register(ModbusPollPlanner planner, ModbusReadRequestBlueprint request, long refresh) {
+        ModbusReadCallback resultCallback = mock(ModbusReadCallback.class);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        PlannedPoll poll = planner.register(request, refresh, resultCallback, failureCallback);
+        resultCallbacks.put(poll, resultCallback);
+        failureCallbacks.put(poll, failureCallback);
+        return poll;
+    }
+
+    /**
+     * Registered requests as "start+length", ordered by start
+     */
+    private List<String> registeredRequests() {
+        return registeredPolls.values().stream().map(poll -> poll.request)
+                .sorted(Comparator.comparingInt(ModbusReadRequestBlueprint::getReference))
+                .map(request -> request.getReference() + "+" + request.getDataLength()).collect(Collectors.toList());
+    }
+
+    private RegisteredPoll registeredPoll(int start) {
+        return registeredPolls.values().stream().filter(poll -> poll.request.getReference() == start).findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    public void testNoMergingWhenDisabled() {
+        ModbusPollPlanner planner = planner(-1);
+        ModbusReadRequestBlueprint first = registers(0, 4);
+        ModbusReadRequestBlueprint second = registers(4, 4);
+        register(planner, first, REFRESH);
+        register(planner, second, REFRESH);
+
+        assertEquals(List.of("0+4", "4+4"), registeredRequests());
+        // not merged polls are registered with their own request
+        assertSame(first, registeredPoll(0).request);
+        assertSame(second, registeredPoll(4).request);
+    }
+
+    @Test
+    public void testMergeWithinGap() {
+        ModbusPollPlanner planner = planner(2);
+        PlannedPoll first = register(planner, registers(0, 4), REFRESH);
+        PlannedPoll second = register(planner, registers(6, 2), REFRESH);
+        PlannedPoll overlapping = register(planner, registers(1, 2), REFRESH);
+        register(planner, registers(11, 2), REFRESH);
+
+        assertEquals(List.of("0+8", "11+2"), registeredRequests());
+
+        RegisteredPoll merged = registeredPoll(0);
+        AsyncModbusReadResult result = new AsyncModbusReadResult(merged.request,
+                new ModbusRegisterArray(1, 2, 3, 4, 5, 6, 7, 8));
+        merged.resultCallback.handle(result);
+        for (PlannedPoll poll : List.of(first, second, overlapping)) {
+            verify(resultCallbacks.get(poll)).handle(same(result));
+        }
+        AsyncModbusFailure<ModbusReadRequestBlueprint> failure = new AsyncModbusFailure<>(merged.request,
+                new Exception("failed"));
+        merged.failureCallback.handle(failure);
+        for (PlannedPoll poll : List.of(first, second, overlapping)) {
+            verify(failureCallbacks.get(poll)).handle(same(failure));
+        }
+    }
+
+    @Test
+    public void testMergeOnlySameGroup() {
+        ModbusPollPlanner planner = planner(0);
+        register(planner, registers(0, 4), REFRESH);
+        register(planner, registers(4, 4), 2 * REFRESH);
+        register(planner, request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 8, 4), REFRESH);
+        register(planner, new ModbusReadRequestBlueprint(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 4, 3),
+                REFRESH);
+
+        assertEquals(List.of("0+4", "4+4", "8+4", "12+4"), registeredRequests());
+    }
+
+    @Test
+    public void testMergeWithinProtocolLimits() {
+        ModbusPollPlanner planner = planner(0);
+        register(planner, registers(0, 100), REFRESH);
+        register(planner, registers(100, 25), REFRESH);
+        register(planner, registers(125, 1), REFRESH);
+        register(planner, request(ModbusReadFunctionCode.READ_COILS, 0, 1000), REFRESH);
+        register(planner, request(ModbusReadFunctionCode.READ_COILS, 1000, 1000), REFRESH);
+
+        List<String> requests = registeredRequests();
+        assertEquals(3, requests.size());
+        assertTrue(requests.containsAll(List.of("0+125", "125+1", "0+2000")), requests.toString());
+    }
+
+    @Test
+    public void testUnregisterReplans() {
+        ModbusPollPlanner planner = planner(0);
+        PlannedPoll first = register(planner, registers(0, 4), REFRESH);
+        PlannedPoll second = register(planner, registers(4, 4), REFRESH);
+        PlannedPoll third = register(planner, registers(20, 4), REFRESH);
+        assertEquals(List.of("0+8", "20+4"), registeredRequests());
+        PollTask untouched = registeredPolls.keySet().stream()
+                .filter(task -> registeredPolls.get(task).request.getReference() == 20).findFirst().orElseThrow();
+
+        assertTrue(planner.unregister(second));
+        assertFalse(planner.unregister(second));
+        assertEquals(List.of("0+4", "20+4"), registeredRequests());
+        assertSame(first.getRequest(), registeredPoll(0).request);
+        // blocks which did not change are not registered again
+        assertTrue(registeredPolls.containsKey(untouched));
+
+        planner.unregister(first);
+        assertEquals(List.of("20+4"), registeredRequests());
+        planner.dispose();
+        assertEquals(List.of(), registeredRequests());
+        assertFalse(planner.unregister(third));
+    }
+
+    @Test
+    public void testReplanIsDebounced() {
+        ScheduledFuture<?> replanJob = mock(ScheduledFuture.class);
+        ArgumentCaptor<Runnable> replan = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(replanJob).when(scheduler).schedule(replan.capture(), anyLong(), any());
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, 0, scheduler, 500);
+
+        register(planner, registers(0, 4), REFRESH);
+        register(planner, registers(4, 4), REFRESH);
+        register(planner, registers(20, 4), 2 * REFRESH);
+        // nothing is registered before the changes are planned, and they are planned only once
+        assertEquals(List.of(), registeredRequests());
+        verify(scheduler).schedule(any(Runnable.class), eq(500L), eq(TimeUnit.MILLISECONDS));
+
+        replan.getValue().run();
+        assertEquals(List.of("0+8", "20+4"), registeredRequests());
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+
+        // later changes are collected again
+        register(planner, registers(8, 4), REFRESH);
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any());
+        replan.getValue().run();
+        assertEquals(List.of("0+12", "20+4"), registeredRequests());
+    }
+
+    @Test
+    public void testUnregisteredPollIsNotCalledBeforeReplan() {
+        ScheduledFuture<?> replanJob = mock(ScheduledFuture.class);
+        ArgumentCaptor<Runnable> replan = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(replanJob).when(scheduler).schedule(replan.capture(), anyLong(), any());
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, 0, scheduler, 500);
+        PlannedPoll first = register(planner, registers(0, 4), REFRESH);
+        PlannedPoll second = register(planner, registers(4, 4), REFRESH);
+        replan.getValue().run();
+
+        planner.unregister(second);
+        RegisteredPoll merged = registeredPoll(0);
+        AsyncModbusReadResult result = new AsyncModbusReadResult(merged.request,
+                new ModbusRegisterArray(1, 2, 3, 4, 5, 6, 7, 8));
+        merged.resultCallback.handle(result);
+        verify(resultCallbacks.get(first)).handle(same(result));
+        verify(resultCallbacks.get(second), never()).handle(any());
+
+        planner.dispose();
+        verify(replanJob).cancel(false);
+        assertEquals(List.of(), registeredRequests());
+    }
+}
@@ -13,11 +13,25 @@
 package org.openhab.binding.modbus.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
 
 /**
  * @author Sami Salonen - Initial contribution
@@ -80,4 +94,82 @@ public class SingleValueTransformationTest {
         assertFalse(transformation.isIdentityTransform());
         assertEquals("static", transformation.transform(Mockito.mock(BundleContext.class), "xx"));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTransformationServiceIsLookedUpOnlyAfterServiceChanges()
+            throws InvalidSyntaxException, TransformationException {
+        BundleContext context = mock(BundleContext.class);
+        ServiceReference<TransformationService> reference = mock(ServiceReference.class);
+        TransformationService service = mock(TransformationService.class);
+        when(context.getServiceReferences(eq(TransformationService.class), anyString())).thenReturn(List.of(reference));
+        when(context.getService(reference)).thenReturn(service);
+        when(reference.getBundle()).thenReturn(mock(Bundle.class));
+        when(service.transform("myregex(.*)", "xx")).thenReturn("yy");
+
+        SingleValueTransformation transformation = new SingleValueTransformation("REGEX:myregex(.*)");
+        assertEquals("yy", transformation.transform(context, "xx"));
+        assertEquals("yy", transformation.transform(context, "xx"));
+        verify(context, times(1)).getServiceReferences(eq(TransformationService.class), anyString());
+
+        ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+        verify(context).addServiceListener(listener.capture(), anyString());
+        listener.getValue().serviceChanged(new ServiceEvent(ServiceEvent.UNREGISTERING, reference));
+        assertEquals("yy", transformation.transform(context, "xx"));
+        verify(context, times(2)).getServiceReferences(eq(TransformationService.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnregisteredTransformationServiceIsNotCached()
+            throws InvalidSyntaxException, TransformationException {
+        BundleContext context = mock(BundleContext.class);
+        ServiceReference<TransformationService> dyingReference = mock(ServiceReference.class);
+        ServiceReference<TransformationService> reference = mock(ServiceReference.class);
+        TransformationService dyingService = mock(TransformationService.class);
+        TransformationService service = mock(TransformationService.class);
+        when(context.getServiceReferences(eq(TransformationService.class), anyString()))
+                .thenReturn(List.of(dyingReference), List.of(reference));
+        when(context.getService(dyingReference)).thenReturn(dyingService);
+        when(context.getService(reference)).thenReturn(service);
+        when(reference.getBundle()).thenReturn(mock(Bundle.class));
+        when(dyingService.transform("myregex(.*)", "xx")).thenReturn("dying");
+        when(service.transform("myregex(.*)", "xx")).thenReturn("yy");
+
+        // the service was looked up after its unregistering event, before it was unregistered
+        SingleValueTransformation transformation = new SingleValueTransformation("REGEX:myregex(.*)");
+        assertEquals("dying", transformation.transform(context, "xx"));
+        // unregistered, its reference has no bundle anymore
+        assertEquals("yy", transformation.transform(context, "xx"));
+        assertEquals("yy", transformation.transform(context, "xx"));
+        verify(context, times(2)).getServiceReferences(eq(TransformationService.class), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testContextIsForgottenWhenBundleStops() throws InvalidSyntaxException, TransformationException {
+        BundleContext context = mock(BundleContext.class);
+        Bundle bundle = mock(Bundle.class);
+        ServiceReference<TransformationService> reference = mock(ServiceReference.class);
+        TransformationService service = mock(TransformationService.class);
+        when(context.getBundle()).thenReturn(bundle);
+        when(context.getServiceReferences(eq(TransformationService.class), anyString())).thenReturn(List.of(reference));
+        when(context.getService(reference)).thenReturn(service);
+        when(reference.getBundle()).thenReturn(mock(Bundle.class));
+        when(service.transform("myregex(.*)", "xx")).thenReturn("yy");
+
+        SingleValueTransformation transformation = new SingleValueTransformation("REGEX:myregex(.*)");
+        assertEquals("yy", transformation.transform(context, "xx"));
+        ArgumentCaptor<BundleListener> listener = ArgumentCaptor.forClass(BundleListener.class);
+        verify(context).addBundleListener(listener.capture());
+
+        // other bundles stopping do not matter
+        listener.getValue().bundleChanged(new BundleEvent(BundleEvent.STOPPING, mock(Bundle.class)));
+        assertEquals("yy", transformation.transform(context, "xx"));
+        verify(context, times(1)).addServiceListener(any(), anyString());
+
+        listener.getValue().bundleChanged(new BundleEvent(BundleEvent.STOPPING, bundle));
+        assertEquals("yy", transformation.transform(context, "xx"));
+        verify(context, times(2)).addServiceListener(any(), anyString());
+    }
 }
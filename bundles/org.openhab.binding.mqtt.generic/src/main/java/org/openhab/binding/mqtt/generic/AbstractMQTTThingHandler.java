@@ -146,7 +146,9 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
 
-        final CompletableFuture<Boolean> future = data.publishValue(command);
+        final AbstractBrokerHandler brokerHandler = getBridgeHandler();
+        final CompletableFuture<Boolean> future = data.publishValue(command,
+                brokerHandler != null ? brokerHandler.getPublishQueue() : null);
         future.handle((v, ex) -> {
             if (ex != null) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, ex.getLocalizedMessage());
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -25,6 +26,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.MqttPublishQueue;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.StringType;
@@ -61,6 +63,24 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    // The last successfully processed text payload and its processing result
+    private volatile @Nullable ProcessedPayload lastPayload;
+
+    /**
+     * A received text payload together with the value after applying the incoming transformations and the command
+     * parsed from it. Both only depend on the payload, so they can be reused if the same payload arrives again.
+     */
+    private static class ProcessedPayload {
+        final byte[] payload;
+        final String value;
+        final @Nullable Command command;
+
+        ProcessedPayload(byte[] payload, String value, @Nullable Command command) {
+            this.payload = payload;
+            this.value = value;
+            this.command = command;
+        }
+    }
 
     /**
      * Creates a new channel state.
@@ -92,6 +112,7 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public void addTransformation(ChannelStateTransformation transformation) {
         transformationsIn.add(transformation);
+        lastPayload = null;
     }
 
     /**
@@ -110,6 +131,7 @@ public class ChannelState implements MqttMessageSubscriber {
     public void clearTransformations() {
         transformationsIn.clear();
         transformationsOut.clear();
+        lastPayload = null;
     }
 
     /**
@@ -152,16 +174,33 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
-                receivedOrTimeout();
-                return;
+        // Devices often repeat the same payload. Then the transformations and the parsing can be skipped, but the
+        // update is still posted, because rules might wait for it.
+        final ProcessedPayload last = lastPayload;
+        final String strValue;
+        final @Nullable Command command;
+        if (last != null && Arrays.equals(last.payload, payload)) {
+            strValue = last.value;
+            command = last.command;
+        } else {
+            // String value: Apply transformations
+            String transformedValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String value = t.processValue(transformedValue);
+                if (value != null) {
+                    transformedValue = value;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", transformedValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+            strValue = transformedValue;
+            command = config.trigger ? null
+                    : TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+            if (config.trigger || command != null) {
+                lastPayload = new ProcessedPayload(payload, strValue, command);
             }
         }
 
@@ -172,7 +211,6 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
         if (command == null) {
             logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
                     cachedValue.getClass().getSimpleName());
@@ -254,6 +292,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastPayload = null;
         cachedValue.resetState();
     }
 
@@ -331,6 +370,18 @@ public class ChannelState implements MqttMessageSubscriber {
      *         and exceptionally otherwise.
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
+        return publishValue(command, null);
+    }
+
+    /**
+     * Publishes a value on MQTT. A command topic needs to be set in the configuration.
+     *
+     * @param command The command to send
+     * @param publishQueue The publish queue of the broker connection, or null to publish directly
+     * @return A future that completes with true if the publishing worked and false if it is a readonly topic
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> publishValue(Command command, @Nullable MqttPublishQueue publishQueue) {
         cachedValue.update(command);
 
         Value mqttCommandValue = cachedValue;
@@ -382,6 +433,9 @@ public class ChannelState implements MqttMessageSubscriber {
 
         int qos = (config.qos != null) ? config.qos : connection.getQos();
 
+        if (publishQueue != null) {
+            return publishQueue.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
+        }
         return connection.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
     }
 
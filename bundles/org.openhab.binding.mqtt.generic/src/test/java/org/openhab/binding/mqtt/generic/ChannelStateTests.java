@@ -154,6 +154,39 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveRepeatedPayloadTest() {
+        ChannelStateTransformation transformation = mock(ChannelStateTransformation.class);
+        doReturn("TRANSFORMED").when(transformation).processValue(anyString());
+        ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
+        c.addTransformation(transformation);
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A TEST".getBytes());
+        c.processMessage("state", "A TEST".getBytes());
+
+        // The same payload is only transformed once, but every update is posted
+        verify(transformation, times(1)).processValue(anyString());
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID),
+                argThat(s -> "TRANSFORMED".equals(s.toString())));
+
+        c.processMessage("state", "ANOTHER TEST".getBytes());
+        verify(transformation, times(2)).processValue(anyString());
+    }
+
+    @Test
+    public void receiveRepeatedIncreaseTest() {
+        PercentageValue value = new PercentageValue(new BigDecimal(0), new BigDecimal(100), new BigDecimal(10), null,
+                null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "50".getBytes());
+        c.processMessage("state", "INCREASE".getBytes());
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("70"));
+    }
+
     @Test
     public void receiveDecimalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
@@ -20,7 +20,6 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.ChannelState;
-import org.openhab.binding.mqtt.generic.ChannelStateTransformation;
 import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
@@ -56,8 +55,6 @@ import org.openhab.core.types.StateDescriptionFragment;
  */
 @NonNullByDefault
 public class CChannel {
-    private static final String JINJA = "JINJA";
-
     private final ChannelUID channelUID;
     private final ChannelState channelState;
     private final Channel channel;
@@ -229,9 +226,9 @@ public class CChannel {
                     .getTransformationServiceProvider();
 
             final String templateIn = this.templateIn;
-            if (templateIn != null && transformationProvider != null) {
-                channelState
-                        .addTransformation(new ChannelStateTransformation(JINJA, templateIn, transformationProvider));
+            if (templateIn != null && localStateTopic != null && transformationProvider != null) {
+                channelState.addTransformation(new ValueTemplateTransformation(templateIn, localStateTopic,
+                        componentConfiguration.getJsonStateCache(), transformationProvider));
             }
             if (addToComponent) {
                 component.channels.put(channelID, result);
@@ -44,15 +44,16 @@ public class CFactory {
      * @param configJSON Most components expect a "name", a "state_topic" and "command_topic" like with
      *            "{name:'Name',state_topic:'homeassistant/switch/0/object/state',command_topic:'homeassistant/switch/0/object/set'".
      * @param updateListener A channel state update listener
+     * @param jsonStateCache The parsed state payloads, shared by all components of a thing
      * @return A HA MQTT Component
      */
     public static @Nullable AbstractComponent<?> createComponent(ThingUID thingUID, HaID haID,
             String channelConfigurationJSON, ChannelStateUpdateListener updateListener, AvailabilityTracker tracker,
             ScheduledExecutorService scheduler, Gson gson,
-            TransformationServiceProvider transformationServiceProvider) {
+            TransformationServiceProvider transformationServiceProvider, JsonStateCache jsonStateCache) {
         ComponentConfiguration componentConfiguration = new ComponentConfiguration(thingUID, haID,
                 channelConfigurationJSON, gson, updateListener, tracker, scheduler)
-                        .transformationProvider(transformationServiceProvider);
+                        .transformationProvider(transformationServiceProvider).jsonStateCache(jsonStateCache);
         try {
             switch (haID.component) {
                 case "alarm_control_panel":
@@ -91,6 +92,7 @@ public class CFactory {
         private final Gson gson;
         private final ScheduledExecutorService scheduler;
         private @Nullable TransformationServiceProvider transformationServiceProvider;
+        private JsonStateCache jsonStateCache = new JsonStateCache();
 
         protected ComponentConfiguration(ThingUID thingUID, HaID haID, String configJSON, Gson gson,
                 ChannelStateUpdateListener updateListener, AvailabilityTracker tracker,
@@ -110,6 +112,11 @@ public class CFactory {
             return this;
         }
 
+        public ComponentConfiguration jsonStateCache(JsonStateCache jsonStateCache) {
+            this.jsonStateCache = jsonStateCache;
+            return this;
+        }
+
         public ThingUID getThingUID() {
             return thingUID;
         }
@@ -131,6 +138,10 @@ public class CFactory {
             return transformationServiceProvider;
         }
 
+        public JsonStateCache getJsonStateCache() {
+            return jsonStateCache;
+        }
+
         public Gson getGson() {
             return gson;
         }
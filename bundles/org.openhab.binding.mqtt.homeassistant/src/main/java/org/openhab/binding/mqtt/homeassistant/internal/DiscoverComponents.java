@@ -49,6 +49,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private final ChannelStateUpdateListener updateListener;
     private final AvailabilityTracker tracker;
     private final TransformationServiceProvider transformationServiceProvider;
+    private final JsonStateCache jsonStateCache;
 
     protected final CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
     private final Gson gson;
@@ -72,16 +73,18 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      * @param thingUID The Thing UID to perform the discovery for.
      * @param scheduler A scheduler for timeouts
      * @param channelStateUpdateListener Channel update listener. Usually the handler.
+     * @param jsonStateCache The parsed state payloads of the thing
      */
     public DiscoverComponents(ThingUID thingUID, ScheduledExecutorService scheduler,
             ChannelStateUpdateListener channelStateUpdateListener, AvailabilityTracker tracker, Gson gson,
-            TransformationServiceProvider transformationServiceProvider) {
+            TransformationServiceProvider transformationServiceProvider, JsonStateCache jsonStateCache) {
         this.thingUID = thingUID;
         this.scheduler = scheduler;
         this.updateListener = channelStateUpdateListener;
         this.gson = gson;
         this.tracker = tracker;
         this.transformationServiceProvider = transformationServiceProvider;
+        this.jsonStateCache = jsonStateCache;
     }
 
     @Override
@@ -97,7 +100,7 @@ public class DiscoverComponents implements MqttMessageSubscriber {
 
         if (config.length() > 0) {
             component = CFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler, gson,
-                    transformationServiceProvider);
+                    transformationServiceProvider, jsonStateCache);
         }
         if (component != null) {
             component.setConfigSeen();
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Remembers the last parsed JSON payload of every state topic of a thing. Devices like Zigbee2MQTT publish one JSON
+ * payload on a single state topic, that the value templates of many channels read right after each other. The payload
+ * is only parsed for the first of them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonStateCache {
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    private final Map<String, ParsedState> states = new ConcurrentHashMap<>();
+
+    private static class ParsedState {
+        final String payload;
+        final @Nullable JsonElement json;
+
+        ParsedState(String payload, @Nullable JsonElement json) {
+            this.payload = payload;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Return the parsed JSON of the given payload received on the given topic.
+     *
+     * @param topic The state topic
+     * @param payload The received payload
+     * @return The JSON tree or null if the payload is not valid JSON
+     */
+    public @Nullable JsonElement get(String topic, String payload) {
+        ParsedState state = states.get(topic);
+        if (state == null || !state.payload.equals(payload)) {
+            state = new ParsedState(payload, parse(payload));
+            states.put(topic, state);
+        }
+        return state.json;
+    }
+
+    public void clear() {
+        states.clear();
+    }
+
+    private static @Nullable JsonElement parse(String payload) {
+        // Strict parsing, a payload is only JSON if the JINJA transformation would accept it as well
+        try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+            reader.setLenient(false);
+            JsonElement json = JSON_ELEMENT_ADAPTER.read(reader);
+            return reader.peek() == JsonToken.END_DOCUMENT ? json : null;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+}
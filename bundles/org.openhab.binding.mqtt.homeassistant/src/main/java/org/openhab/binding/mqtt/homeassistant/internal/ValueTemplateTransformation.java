@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.math.BigDecimal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.ChannelStateTransformation;
+import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * The JINJA transformation of a Home Assistant value template. Most templates only select a field of a JSON
+ * payload, like <code>{{ value_json.temperature }}</code>. Those are resolved on the payload parsed by the
+ * {@link JsonStateCache}, so that a payload shared by many channels is only parsed once. All other templates and
+ * values are rendered by the JINJA transformation service.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ValueTemplateTransformation extends ChannelStateTransformation {
+    private static final String JINJA = "JINJA";
+    private static final Pattern VALUE_JSON_PATH = Pattern
+            .compile("\\{\\{\\s*value_json((?:\\.[A-Za-z_][A-Za-z0-9_]*)+)\\s*\\}\\}");
+
+    private final String stateTopic;
+    private final JsonStateCache jsonStateCache;
+    private final String @Nullable [] path;
+
+    public ValueTemplateTransformation(String template, String stateTopic, JsonStateCache jsonStateCache,
+            TransformationServiceProvider provider) {
+        super(JINJA, template, provider);
+        this.stateTopic = stateTopic;
+        this.jsonStateCache = jsonStateCache;
+        Matcher matcher = VALUE_JSON_PATH.matcher(template.trim());
+        this.path = matcher.matches() ? matcher.group(1).substring(1).split("\\.") : null;
+    }
+
+    @Override
+    protected @Nullable String processValue(String value) {
+        final String[] path = this.path;
+        if (path != null) {
+            String result = select(jsonStateCache.get(stateTopic, value), path);
+            if (result != null) {
+                return result;
+            }
+        }
+        return super.processValue(value);
+    }
+
+    /**
+     * Select the value at the given path, formatted like the JINJA transformation does.
+     *
+     * @return The value or null if the path does not lead to a plain value
+     */
+    private static @Nullable String select(@Nullable JsonElement json, String[] path) {
+        JsonElement element = json;
+        for (String field : path) {
+            if (element == null || !element.isJsonObject()) {
+                return null;
+            }
+            element = element.getAsJsonObject().get(field);
+        }
+        if (element == null || !element.isJsonPrimitive()) {
+            return null;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return Boolean.toString(primitive.getAsBoolean());
+        } else if (primitive.isNumber()) {
+            // The JINJA transformation reads fractions as double and integers as exact values
+            String number = primitive.getAsString();
+            return number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0
+                    ? BigDecimal.valueOf(Double.parseDouble(number)).toString()
+                    : new BigDecimal(number).toString();
+        }
+        String text = primitive.getAsString();
+        // Text looking like a template is interpreted once more by JINJA
+        return text.contains("{") ? null : text;
+    }
+}
@@ -17,13 +17,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -32,6 +31,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.discovery.AbstractMQTTDiscovery;
 import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryService;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
 import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homeassistant.internal.BaseChannelConfiguration;
 import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationTypeAdapterFactory;
@@ -61,15 +61,45 @@ import com.google.gson.GsonBuilder;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.mqttha")
 @NonNullByDefault
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
-    @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
     protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
     protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
     protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
 
-    private @Nullable ScheduledFuture<?> future;
+    private final DelayedBatchProcessing<ConfigMessage> delayedProcessing;
     private final Gson gson;
 
+    /**
+     * A received or vanished component configuration, waiting to be processed in order with all others of the same
+     * burst.
+     */
+    protected static class ConfigMessage {
+        final ThingUID connectionBridge;
+        final String topic;
+        // null if the configuration vanished
+        final byte @Nullable [] payload;
+
+        ConfigMessage(ThingUID connectionBridge, String topic, byte @Nullable [] payload) {
+            this.connectionBridge = connectionBridge;
+            this.topic = topic;
+            this.payload = payload;
+        }
+    }
+
+    private static class PendingResult {
+        final ThingUID connectionBridge;
+        final HaID haID;
+        final String thingID;
+        final BaseChannelConfiguration config;
+
+        PendingResult(ThingUID connectionBridge, HaID haID, String thingID, BaseChannelConfiguration config) {
+            this.connectionBridge = connectionBridge;
+            this.haID = haID;
+            this.thingID = thingID;
+            this.config = config;
+        }
+    }
+
     public static final Map<String, String> HA_COMP_TO_NAME = new TreeMap<>();
     {
         HA_COMP_TO_NAME.put("alarm_control_panel", "Alarm Control Panel");
@@ -85,6 +115,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     }
 
     static final String BASE_TOPIC = "homeassistant";
+    static final int CONFIG_COLLECT_TIME_MS = 2000;
 
     @NonNullByDefault({})
     protected MqttChannelTypeProvider typeProvider;
@@ -95,6 +126,8 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     public HomeAssistantDiscovery() {
         super(null, 3, true, BASE_TOPIC + "/#");
         this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
+        this.delayedProcessing = new DelayedBatchProcessing<>(CONFIG_COLLECT_TIME_MS, this::processConfigMessages,
+                scheduler);
     }
 
     @Reference
@@ -139,20 +172,64 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
-        // Reset the found-component timer.
-        // We will collect components for the thing label description for another 2 seconds.
-        final ScheduledFuture<?> future = this.future;
-        if (future != null) {
-            future.cancel(false);
+        // We will collect components for the thing label description until no new one was found for 2 seconds.
+        // Then all of them are processed at once, instead of rebuilding the result of a thing for every component.
+        delayedProcessing.accept(new ConfigMessage(connectionBridge, topic, payload));
+    }
+
+    /**
+     * Callback of {@link DelayedBatchProcessing} with all component configurations received since the last call.
+     */
+    protected synchronized void processConfigMessages(List<ConfigMessage> messages) {
+        // Discovery results are only built once for every thing that got a new component
+        Map<ThingUID, PendingResult> pendingResults = new LinkedHashMap<>();
+
+        for (ConfigMessage message : messages) {
+            final byte[] payload = message.payload;
+            if (payload == null) {
+                removeComponent(message.topic, pendingResults);
+                continue;
+            }
+            try {
+                addComponent(message.connectionBridge, message.topic, payload, pendingResults);
+            } catch (RuntimeException e) {
+                logger.warn("Invalid HomeAssistant discovery configuration on topic {}: {}", message.topic,
+                        e.getMessage());
+            }
+        }
+
+        for (Map.Entry<ThingUID, PendingResult> entry : pendingResults.entrySet()) {
+            final PendingResult pending = entry.getValue();
+            final Set<HaID> components = componentsPerThingID.getOrDefault(pending.thingID, Collections.emptySet());
+
+            final String componentNames = components.stream().map(id -> id.component)
+                    .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
+
+            final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
+
+            Map<String, Object> properties = new HashMap<>();
+            HandlerConfiguration handlerConfig = new HandlerConfiguration(pending.haID.baseTopic, topics);
+            properties = handlerConfig.appendToProperties(properties);
+            properties = pending.config.appendToProperties(properties);
+            properties.put("deviceId", pending.thingID);
+
+            results.put(entry.getKey().getAsString(),
+                    DiscoveryResultBuilder.create(entry.getKey()).withProperties(properties)
+                            .withRepresentationProperty("deviceId").withBridge(pending.connectionBridge)
+                            .withLabel(pending.config.getThingName() + " (" + componentNames + ")").build());
         }
-        this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
+        publishResults();
+    }
+
+    private void addComponent(ThingUID connectionBridge, String topic, byte[] payload,
+            Map<ThingUID, PendingResult> pendingResults) {
         BaseChannelConfiguration config = BaseChannelConfiguration
                 .fromString(new String(payload, StandardCharsets.UTF_8), gson);
 
-        // We will of course find multiple of the same unique Thing IDs, for each different component another one.
-        // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
-        // easily recognize object capabilities.
+        // We will of course find multiple of the same unique Thing IDs, for each different component another
+        // one. Therefore the components are assembled into a list and given to the DiscoveryResult label for the
+        // user to easily recognize object capabilities.
 
         HaID haID = new HaID(topic);
         final String thingID = config.getThingId(haID.objectID);
@@ -168,25 +245,25 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
         components.add(haID);
 
-        final String componentNames = components.stream().map(id -> id.component)
-                .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
-
-        final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
-
-        Map<String, Object> properties = new HashMap<>();
-        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
-        properties = handlerConfig.appendToProperties(properties);
-        properties = config.appendToProperties(properties);
-        properties.put("deviceId", thingID);
+        // The last configuration of a thing provides the thing name and properties, as before
+        pendingResults.put(thingUID, new PendingResult(connectionBridge, haID, thingID, config));
+    }
 
-        // Because we need the new properties map with the updated "components" list
-        results.put(thingUID.getAsString(),
-                DiscoveryResultBuilder.create(thingUID).withProperties(properties)
-                        .withRepresentationProperty("deviceId").withBridge(connectionBridge)
-                        .withLabel(config.getThingName() + " (" + componentNames + ")").build());
+    private void removeComponent(String topic, Map<ThingUID, PendingResult> pendingResults) {
+        ThingUID thingUID = thingIDPerTopic.remove(topic);
+        if (thingUID == null) {
+            return;
+        }
+        Set<HaID> components = componentsPerThingID.getOrDefault(thingUID.getId(), Collections.emptySet());
+        components.remove(new HaID(topic));
+        if (components.isEmpty()) {
+            // A thing that got a component earlier in the same burst must not be published anymore
+            pendingResults.remove(thingUID);
+            thingRemoved(thingUID);
+        }
     }
 
-    protected void publishResults() {
+    protected synchronized void publishResults() {
         Collection<DiscoveryResult> localResults;
 
         localResults = new ArrayList<>(results.values());
@@ -206,17 +283,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
-            ThingUID thingUID = thingIDPerTopic.remove(topic);
-            final String thingID = thingUID.getId();
-
-            HaID haID = new HaID(topic);
-
-            Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
-            components.remove(haID);
-            if (components.isEmpty()) {
-                thingRemoved(thingUID);
-            }
-        }
+        // Removals are queued with the received configurations, so that they are applied in order
+        delayedProcessing.accept(new ConfigMessage(connectionBridge, topic, null));
     }
 }
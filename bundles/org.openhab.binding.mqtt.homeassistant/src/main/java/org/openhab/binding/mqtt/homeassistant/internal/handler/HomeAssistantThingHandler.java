@@ -40,6 +40,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents;
 import org.openhab.binding.mqtt.homeassistant.internal.DiscoverComponents.ComponentDiscovered;
 import org.openhab.binding.mqtt.homeassistant.internal.HaID;
 import org.openhab.binding.mqtt.homeassistant.internal.HandlerConfiguration;
+import org.openhab.binding.mqtt.homeassistant.internal.JsonStateCache;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -94,6 +95,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     private Set<HaID> discoveryHomeAssistantIDs = new HashSet<>();
 
     protected final TransformationServiceProvider transformationServiceProvider;
+    private final JsonStateCache jsonStateCache = new JsonStateCache();
 
     private boolean started;
 
@@ -116,7 +118,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.attributeReceiveTimeout = attributeReceiveTimeout;
         this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
         this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler, this, this, gson,
-                this.transformationServiceProvider);
+                this.transformationServiceProvider, jsonStateCache);
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -154,7 +156,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 logger.warn("Provided channel does not have a 'config' configuration key!");
             } else {
                 component = CFactory.createComponent(thingUID, haID, channelConfigurationJSON, this, this, scheduler,
-                        gson, transformationServiceProvider);
+                        gson, transformationServiceProvider, jsonStateCache);
             }
 
             if (component != null) {
@@ -216,6 +218,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     // we need to join all the stops, otherwise they might not be done when start is called
                     .collect(FutureCollector.allOf()).join();
 
+            jsonStateCache.clear();
             started = false;
         }
         super.stop();
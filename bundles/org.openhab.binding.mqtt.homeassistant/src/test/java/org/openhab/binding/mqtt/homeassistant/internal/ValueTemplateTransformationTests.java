@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.core.transform.TransformationException;
+import org.openhab.core.transform.TransformationService;
+
+/**
+ * Tests the {@link ValueTemplateTransformation} and the {@link JsonStateCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class ValueTemplateTransformationTests {
+    private static final String STATE_TOPIC = "zigbee2mqtt/sensor";
+
+    private @Mock TransformationServiceProvider provider;
+    private @Mock TransformationService jinja;
+
+    private final JsonStateCache jsonStateCache = new JsonStateCache();
+
+    @BeforeEach
+    public void setUp() throws TransformationException {
+        when(provider.getTransformationService("JINJA")).thenReturn(jinja);
+        when(jinja.transform(anyString(), anyString())).thenReturn("JINJA");
+    }
+
+    private ValueTemplateTransformation transformation(String template) {
+        return new ValueTemplateTransformation(template, STATE_TOPIC, jsonStateCache, provider);
+    }
+
+    @Test
+    public void selectsFieldsOfSharedPayload() throws TransformationException {
+        String json = "{\"temperature\":21.5,\"humidity\":40,\"battery\":{\"low\":false},\"state\":\"ON\"}";
+
+        assertThat(transformation("{{ value_json.temperature }}").processValue(json), is("21.5"));
+        assertThat(transformation("{{value_json.humidity}}").processValue(json), is("40"));
+        assertThat(transformation("{{ value_json.battery.low }}").processValue(json), is("false"));
+        assertThat(transformation("{{ value_json.state }}").processValue(json), is("ON"));
+
+        verify(jinja, never()).transform(anyString(), anyString());
+    }
+
+    @Test
+    public void formatsNumbersLikeJinja() {
+        assertThat(transformation("{{ value_json.t }}").processValue("{\"t\":22.0}"), is("22.0"));
+        assertThat(transformation("{{ value_json.t }}").processValue("{\"t\":22.50}"), is("22.5"));
+        assertThat(transformation("{{ value_json.t }}").processValue("{\"t\":-3}"), is("-3"));
+    }
+
+    @Test
+    public void otherTemplatesAreRenderedByJinja() throws TransformationException {
+        String json = "{\"state\":\"ON\",\"color\":{\"x\":0.1}}";
+
+        assertThat(transformation("{{ value_json.state | lower }}").processValue(json), is("JINJA"));
+        assertThat(transformation("{{ value }}").processValue(json), is("JINJA"));
+        // not a plain value
+        assertThat(transformation("{{ value_json.color }}").processValue(json), is("JINJA"));
+        // unknown fields fail in JINJA
+        assertThat(transformation("{{ value_json.missing }}").processValue(json), is("JINJA"));
+        // not JSON
+        assertThat(transformation("{{ value_json.state }}").processValue("ON"), is("JINJA"));
+        assertThat(transformation("{{ value_json.state }}").processValue("{state:'ON'}"), is("JINJA"));
+
+        verify(jinja, times(6)).transform(anyString(), anyString());
+    }
+
+    @Test
+    public void cacheKeepsLastPayloadPerTopic() {
+        String json = "{\"temperature\":21.5}";
+
+        Object parsed = jsonStateCache.get(STATE_TOPIC, json);
+        assertThat(jsonStateCache.get(STATE_TOPIC, json), is(sameInstance(parsed)));
+        assertThat(jsonStateCache.get("zigbee2mqtt/other", json), is(not(sameInstance(parsed))));
+
+        assertThat(jsonStateCache.get(STATE_TOPIC, "{\"temperature\":22}"), is(not(sameInstance(parsed))));
+        assertThat(jsonStateCache.get(STATE_TOPIC, "no json"), is(nullValue()));
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.homeassistant.internal.discovery.HomeAssistantDiscovery.ConfigMessage;
+import org.openhab.core.config.discovery.DiscoveryListener;
+import org.openhab.core.config.discovery.DiscoveryResult;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.thing.ThingUID;
+
+/**
+ * Tests the batched processing of the {@link HomeAssistantDiscovery}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class HomeAssistantDiscoveryTests {
+    private static final ThingUID BRIDGE_UID = new ThingUID("mqtt", "broker", "myBroker");
+    private static final String SENSOR_TOPIC = "homeassistant/sensor/0x01/temperature/config";
+    private static final String SWITCH_TOPIC = "homeassistant/switch/0x01/switch/config";
+    private static final String DEVICE_CONFIG = "{\"name\":\"%s\",\"state_topic\":\"zigbee2mqtt/0x01\","
+            + "\"device\":{\"identifiers\":[\"0x01\"],\"name\":\"Plug\"}}";
+
+    private @Mock(answer = Answers.RETURNS_DEEP_STUBS) MqttChannelTypeProvider typeProvider;
+    private @Mock DiscoveryListener listener;
+    private @Mock MqttBrokerConnection connection;
+
+    private final HomeAssistantDiscovery discovery = new HomeAssistantDiscovery();
+
+    @BeforeEach
+    public void setUp() {
+        discovery.setTypeProvider(typeProvider);
+        discovery.addDiscoveryListener(listener);
+    }
+
+    private static ConfigMessage message(String topic, @Nullable String payload) {
+        return new ConfigMessage(BRIDGE_UID, topic, payload == null ? null : payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void batchPublishesOneResultPerThing() {
+        discovery.processConfigMessages(List.of(message(SENSOR_TOPIC, String.format(DEVICE_CONFIG, "Temperature")),
+                message(SWITCH_TOPIC, String.format(DEVICE_CONFIG, "Switch"))));
+
+        ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
+        verify(listener).thingDiscovered(eq(discovery), result.capture());
+        assertThat(result.getValue().getThingUID().getId(), is("0x01"));
+        assertThat(result.getValue().getLabel(), containsString("Sensor"));
+        assertThat(result.getValue().getLabel(), containsString("Switch"));
+    }
+
+    @Test
+    public void invalidMessageDoesNotDropBatch() {
+        discovery.processConfigMessages(List.of(message(SENSOR_TOPIC, "{invalid"),
+                message(SWITCH_TOPIC, String.format(DEVICE_CONFIG, "Switch"))));
+
+        verify(listener).thingDiscovered(eq(discovery), any());
+    }
+
+    @Test
+    public void vanishedTopicIsQueued() {
+        discovery.processConfigMessages(List.of(message(SENSOR_TOPIC, String.format(DEVICE_CONFIG, "Temperature"))));
+        discovery.topicVanished(BRIDGE_UID, connection, SENSOR_TOPIC);
+
+        // removed once the batch is processed, not before
+        verify(listener, never()).thingRemoved(any(), any());
+    }
+
+    @Test
+    public void vanishAfterConfigInSameBatchRemovesThing() {
+        discovery.processConfigMessages(List.of(message(SENSOR_TOPIC, String.format(DEVICE_CONFIG, "Temperature")),
+                message(SENSOR_TOPIC, null)));
+
+        verify(listener, never()).thingDiscovered(any(), any());
+        verify(listener).thingRemoved(eq(discovery), any());
+    }
+
+    @Test
+    public void configAfterVanishInSameBatchAddsThing() {
+        discovery.processConfigMessages(List.of(message(SENSOR_TOPIC, String.format(DEVICE_CONFIG, "Temperature"))));
+        discovery.processConfigMessages(List.of(message(SENSOR_TOPIC, null),
+                message(SENSOR_TOPIC, String.format(DEVICE_CONFIG, "Temperature"))));
+
+        verify(listener).thingRemoved(eq(discovery), any());
+        verify(listener, times(2)).thingDiscovered(eq(discovery), any());
+    }
+}
@@ -17,6 +17,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -49,6 +51,7 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements MqttConnectionObserver {
     public static final int TIMEOUT_DEFAULT = 1200; /* timeout in milliseconds */
+    private static final int PUBLISH_STATISTICS_INTERVAL_S = 60;
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
@@ -56,6 +59,8 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
+    private @Nullable MqttPublishQueue publishQueue;
+    private @Nullable ScheduledFuture<?> publishStatisticsJob;
 
     public AbstractBrokerHandler(Bridge thing) {
         super(thing);
@@ -81,6 +86,35 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the queue that all publishes on the connection of this broker pass, if the handler is initialized.
+     */
+    public @Nullable MqttPublishQueue getPublishQueue() {
+        return publishQueue;
+    }
+
+    /**
+     * Publish a message through the queue of this broker.
+     *
+     * @param topic The topic
+     * @param payload The message payload
+     * @param qos The quality of service level, 0 to 2
+     * @param retain True if the message should be retained by the broker
+     * @return A future that completes with the result of the publish. It completes with false if the handler has no
+     *         connection.
+     */
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        final MqttPublishQueue publishQueue = this.publishQueue;
+        if (publishQueue != null) {
+            return publishQueue.publish(topic, payload, qos, retain);
+        }
+        final MqttBrokerConnection connection = this.connection;
+        if (connection != null) {
+            return connection.publish(topic, payload, qos, retain);
+        }
+        return CompletableFuture.completedFuture(false);
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -108,6 +142,15 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
 
         connection.addConnectionObserver(this);
 
+        final MqttPublishQueue publishQueue = new MqttPublishQueue(connection);
+        this.publishQueue = publishQueue;
+        publishStatisticsJob = scheduler.scheduleWithFixedDelay(() -> {
+            String statistics = publishQueue.getStatisticsAndReset();
+            if (statistics != null) {
+                logger.debug("MQTT publishes on broker {}: {}", thing.getUID(), statistics);
+            }
+        }, PUBLISH_STATISTICS_INTERVAL_S, PUBLISH_STATISTICS_INTERVAL_S, TimeUnit.SECONDS);
+
         connection.start().exceptionally(e -> {
             connectionStateChanged(MqttConnectionState.DISCONNECTED, e);
             return false;
@@ -151,6 +194,10 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             channelStateByChannelUID.values().forEach(PublishTriggerChannel::start);
         } else {
             channelStateByChannelUID.values().forEach(PublishTriggerChannel::stop);
+            final MqttPublishQueue publishQueue = this.publishQueue;
+            if (publishQueue != null && state == MqttConnectionState.DISCONNECTED) {
+                publishQueue.reset();
+            }
             if (error == null) {
                 updateStatus(ThingStatus.OFFLINE);
             } else {
@@ -179,6 +226,17 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             });
         });
 
+        final ScheduledFuture<?> publishStatisticsJob = this.publishStatisticsJob;
+        if (publishStatisticsJob != null) {
+            publishStatisticsJob.cancel(false);
+            this.publishStatisticsJob = null;
+        }
+        final MqttPublishQueue publishQueue = this.publishQueue;
+        if (publishQueue != null) {
+            publishQueue.close();
+            this.publishQueue = null;
+        }
+
         if (connection != null) {
             connection.removeConnectionObserver(this);
         } else {
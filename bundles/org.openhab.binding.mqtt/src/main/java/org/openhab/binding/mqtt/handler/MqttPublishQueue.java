@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MqttPublishQueue} limits the number of publishes that are in flight on a broker connection at the same
+ * time, separately for every QoS level. Publishes beyond the limit are queued in order.
+ *
+ * While a retained publish waits in the queue, a new retained publish to the same topic replaces it. The new publish
+ * is appended to the queue, so that it is still sent after everything that was published before it. Only the latest
+ * value of a retained topic matters to the broker and to new subscribers, so a flood of dimmer moves does not pile up
+ * if the broker is slow. Non-retained publishes are never merged.
+ *
+ * The queue of a connection is owned by its {@link AbstractBrokerHandler}, see
+ * {@link AbstractBrokerHandler#publish(String, byte[], int, boolean)}. Publishes in flight are forgotten when the
+ * connection is lost, because they might never be confirmed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttPublishQueue {
+    static final int[] MAX_INFLIGHT_PER_QOS = { 64, 16, 8 };
+    static final int MAX_QUEUED = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(MqttPublishQueue.class);
+    private final MqttBrokerConnection connection;
+    private final Lane[] lanes = new Lane[MAX_INFLIGHT_PER_QOS.length];
+    private boolean closed = false;
+
+    // Statistics since the last call of getStatisticsAndReset()
+    private long published;
+    private long coalesced;
+    private long dropped;
+    private long failed;
+    private long latencySumInNS;
+    private long latencyMaxInNS;
+
+    private static class Lane {
+        final int maxInflight;
+        final Deque<PendingPublish> queue = new ArrayDeque<>();
+        // Retained publishes in the queue by topic
+        final Map<String, PendingPublish> retained = new HashMap<>();
+        final Set<PendingPublish> inflight = new HashSet<>();
+
+        Lane(int maxInflight) {
+            this.maxInflight = maxInflight;
+        }
+    }
+
+    private static class PendingPublish {
+        final String topic;
+        final int qos;
+        final boolean retain;
+        final long enqueuedInNS = System.nanoTime();
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        final byte[] payload;
+
+        PendingPublish(String topic, byte[] payload, int qos, boolean retain) {
+            this.topic = topic;
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+    }
+
+    public MqttPublishQueue(MqttBrokerConnection connection) {
+        this.connection = connection;
+        for (int qos = 0; qos < lanes.length; qos++) {
+            lanes[qos] = new Lane(MAX_INFLIGHT_PER_QOS[qos]);
+        }
+    }
+
+    /**
+     * Add a publish to the queue. It is sent right away if the QoS level has a free slot.
+     *
+     * @param topic The topic
+     * @param payload The message payload
+     * @param qos The quality of service level, 0 to 2
+     * @param retain True if the message should be retained by the broker
+     * @return A future that completes with the result of the publish. If a retained publish was replaced by a newer
+     *         one, the future completes with the result of the newer publish.
+     */
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        final PendingPublish pending;
+        final List<PendingPublish> toSend;
+        synchronized (this) {
+            if (closed) {
+                return connection.publish(topic, payload, qos, retain);
+            }
+            Lane lane = lane(qos);
+            PendingPublish superseded = retain ? lane.retained.remove(topic) : null;
+            if (superseded != null) {
+                // Appending the new publish keeps the order to other topics, the superseded one is never sent
+                lane.queue.remove(superseded);
+                coalesced++;
+            } else if (lane.queue.size() >= MAX_QUEUED) {
+                dropped++;
+                CompletableFuture<Boolean> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException("MQTT publish queue is full"));
+                return future;
+            }
+            pending = new PendingPublish(topic, payload, qos, retain);
+            if (superseded != null) {
+                final CompletableFuture<Boolean> supersededFuture = superseded.future;
+                pending.future.whenComplete((result, e) -> {
+                    if (e != null) {
+                        supersededFuture.completeExceptionally(e);
+                    } else {
+                        supersededFuture.complete(result);
+                    }
+                });
+            }
+            lane.queue.add(pending);
+            if (retain) {
+                lane.retained.put(topic, pending);
+            }
+            toSend = poll(lane);
+            if (!lane.queue.isEmpty()) {
+                logger.trace("{} publishes with QoS {} are waiting for the broker", lane.queue.size(), qos);
+            }
+        }
+        // Send outside of the lock, the future might complete right away
+        send(toSend);
+        return pending.future;
+    }
+
+    /**
+     * Return the number of publishes waiting for a free slot.
+     */
+    public synchronized int getQueuedCount() {
+        int queued = 0;
+        for (Lane lane : lanes) {
+            queued += lane.queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Return the number of publishes that were sent but not confirmed yet.
+     */
+    public synchronized int getInflightCount() {
+        int inflight = 0;
+        for (Lane lane : lanes) {
+            inflight += lane.inflight.size();
+        }
+        return inflight;
+    }
+
+    /**
+     * Return a summary of the publishes since the last call and start over, or null if nothing was published.
+     */
+    public synchronized @Nullable String getStatisticsAndReset() {
+        if (published + coalesced + dropped + failed == 0) {
+            return null;
+        }
+        long average = published == 0 ? 0 : latencySumInNS / published;
+        String statistics = String.format(
+                "published %d, coalesced %d, dropped %d, failed %d, queued %d, in flight %d, latency avg %d ms max %d ms",
+                published, coalesced, dropped, failed, getQueuedCount(), getInflightCount(),
+                TimeUnit.NANOSECONDS.toMillis(average), TimeUnit.NANOSECONDS.toMillis(latencyMaxInNS));
+        published = coalesced = dropped = failed = latencySumInNS = latencyMaxInNS = 0;
+        return statistics;
+    }
+
+    /**
+     * Forget the publishes in flight. Call this if the connection was lost, they might never be confirmed and would
+     * block their slots forever. Their futures fail, and waiting publishes take over the free slots.
+     */
+    public void reset() {
+        List<PendingPublish> abandoned = new ArrayList<>();
+        List<PendingPublish> toSend = new ArrayList<>();
+        synchronized (this) {
+            for (Lane lane : lanes) {
+                abandoned.addAll(lane.inflight);
+                failed += lane.inflight.size();
+                lane.inflight.clear();
+                toSend.addAll(poll(lane));
+            }
+        }
+        if (!abandoned.isEmpty()) {
+            logger.debug("{} MQTT publishes were in flight when the connection changed", abandoned.size());
+        }
+        for (PendingPublish pending : abandoned) {
+            pending.future.completeExceptionally(new IllegalStateException("MQTT connection lost"));
+        }
+        send(toSend);
+    }
+
+    /**
+     * Stop queueing. Publishes still waiting are sent directly, and so are all further publishes.
+     */
+    public void close() {
+        List<PendingPublish> toSend = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (Lane lane : lanes) {
+                toSend.addAll(poll(lane));
+            }
+        }
+        send(toSend);
+    }
+
+    private Lane lane(int qos) {
+        return lanes[Math.max(0, Math.min(lanes.length - 1, qos))];
+    }
+
+    private List<PendingPublish> poll(Lane lane) {
+        List<PendingPublish> toSend = new ArrayList<>();
+        while ((closed || lane.inflight.size() < lane.maxInflight) && !lane.queue.isEmpty()) {
+            PendingPublish pending = lane.queue.poll();
+            if (pending.retain) {
+                // From now on the payload can not be replaced anymore
+                lane.retained.remove(pending.topic, pending);
+            }
+            lane.inflight.add(pending);
+            toSend.add(pending);
+        }
+        return toSend;
+    }
+
+    private void send(List<PendingPublish> toSend) {
+        for (PendingPublish pending : toSend) {
+            connection.publish(pending.topic, pending.payload, pending.qos, pending.retain)
+                    .whenComplete((result, e) -> completed(pending, result, e));
+        }
+    }
+
+    private void completed(PendingPublish pending, @Nullable Boolean result, @Nullable Throwable e) {
+        List<PendingPublish> toSend;
+        synchronized (this) {
+            Lane lane = lane(pending.qos);
+            if (!lane.inflight.remove(pending)) {
+                // Abandoned by reset(), the slot was freed already
+                return;
+            }
+            long latency = System.nanoTime() - pending.enqueuedInNS;
+            if (e != null || !Boolean.TRUE.equals(result)) {
+                failed++;
+            } else {
+                published++;
+                latencySumInNS += latency;
+                latencyMaxInNS = Math.max(latencyMaxInNS, latency);
+            }
+            toSend = poll(lane);
+        }
+        if (e != null) {
+            pending.future.completeExceptionally(e);
+        } else {
+            pending.future.complete(Boolean.TRUE.equals(result));
+        }
+        send(toSend);
+    }
+}
@@ -136,7 +136,7 @@ public class MqttBrokerHandlerFactory extends BaseThingHandlerFactory implements
     public void publish(String topic, byte[] payload, int qos, boolean retain) {
         handlers.forEach(handler -> {
             handler.getConnectionAsync().thenAccept(connection -> {
-                connection.publish(topic, payload, qos, retain);
+                handler.publish(topic, payload, qos, retain);
             });
         });
     }
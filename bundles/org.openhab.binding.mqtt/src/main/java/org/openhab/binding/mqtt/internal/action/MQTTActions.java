@@ -76,7 +76,7 @@ public class MQTTActions implements ThingActions {
             return;
         }
 
-        connection.publish(topic, value.getBytes(), connection.getQos(), retain != null && retain.booleanValue())
+        brokerHandler.publish(topic, value.getBytes(), connection.getQos(), retain != null && retain.booleanValue())
                 .thenRun(() -> {
                     logger.debug("MQTT publish to {} performed", topic);
                 }).exceptionally(e -> {
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+
+/**
+ * Tests cases for {@link MqttPublishQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class MqttPublishQueueTest {
+    private @Mock MqttBrokerConnection connection;
+
+    // Publishes the broker did not confirm yet
+    private final List<CompletableFuture<Boolean>> brokerFutures = new ArrayList<>();
+    private MqttPublishQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            brokerFutures.add(future);
+            return future;
+        }).when(connection).publish(anyString(), any(), anyInt(), anyBoolean());
+        queue = new MqttPublishQueue(connection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.close();
+    }
+
+    @Test
+    public void limitInflightPerQos() {
+        int maxInflight = MqttPublishQueue.MAX_INFLIGHT_PER_QOS[2];
+        for (int i = 0; i < maxInflight + 2; i++) {
+            queue.publish("topic/" + i, new byte[] { 1 }, 2, false);
+        }
+        // Other QoS levels are not blocked
+        queue.publish("other", new byte[] { 1 }, 0, false);
+
+        verify(connection, times(maxInflight + 1)).publish(anyString(), any(), anyInt(), anyBoolean());
+        assertThat(queue.getQueuedCount(), is(2));
+
+        brokerFutures.get(0).complete(true);
+        verify(connection).publish(eq("topic/" + maxInflight), any(), eq(2), eq(false));
+        assertThat(queue.getQueuedCount(), is(1));
+    }
+
+    @Test
+    public void coalesceQueuedRetainedPublishes() {
+        int maxInflight = MqttPublishQueue.MAX_INFLIGHT_PER_QOS[1];
+        for (int i = 0; i < maxInflight; i++) {
+            queue.publish("busy/" + i, new byte[] { 1 }, 1, false);
+        }
+
+        CompletableFuture<Boolean> first = queue.publish("dimmer", new byte[] { 10 }, 1, true);
+        // Non retained messages are events and are all sent
+        queue.publish("event", new byte[] { 1 }, 1, false);
+        CompletableFuture<Boolean> second = queue.publish("dimmer", new byte[] { 20 }, 1, true);
+        queue.publish("event", new byte[] { 2 }, 1, false);
+        assertThat(queue.getQueuedCount(), is(3));
+
+        new ArrayList<>(brokerFutures).forEach(f -> f.complete(true));
+        verify(connection, never()).publish(eq("dimmer"), argThat(p -> Arrays.equals(p, new byte[] { 10 })), eq(1),
+                eq(true));
+        // The newer value is sent in the place of its own publish, not in the place of the superseded one
+        InOrder inOrder = inOrder(connection);
+        inOrder.verify(connection).publish(eq("event"), argThat(p -> Arrays.equals(p, new byte[] { 1 })), eq(1),
+                eq(false));
+        inOrder.verify(connection).publish(eq("dimmer"), argThat(p -> Arrays.equals(p, new byte[] { 20 })), eq(1),
+                eq(true));
+        inOrder.verify(connection).publish(eq("event"), argThat(p -> Arrays.equals(p, new byte[] { 2 })), eq(1),
+                eq(false));
+
+        new ArrayList<>(brokerFutures).forEach(f -> f.complete(true));
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertThat(queue.getInflightCount(), is(0));
+    }
+
+    @Test
+    public void resetFreesSlotsOfUnconfirmedPublishes() {
+        int maxInflight = MqttPublishQueue.MAX_INFLIGHT_PER_QOS[2];
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < maxInflight + 1; i++) {
+            futures.add(queue.publish("topic/" + i, new byte[] { 1 }, 2, false));
+        }
+        assertThat(queue.getQueuedCount(), is(1));
+
+        // The connection was lost, the broker will never confirm the publishes in flight
+        queue.reset();
+
+        assertTrue(futures.get(0).isCompletedExceptionally());
+        verify(connection).publish(eq("topic/" + maxInflight), any(), eq(2), eq(false));
+        assertThat(queue.getQueuedCount(), is(0));
+        assertThat(queue.getInflightCount(), is(1));
+
+        // A late confirmation of an abandoned publish does not free a slot twice
+        brokerFutures.get(0).complete(true);
+        assertThat(queue.getInflightCount(), is(1));
+        assertFalse(futures.get(maxInflight).isDone());
+    }
+
+    @Test
+    public void sendQueuedPublishesOnClose() {
+        int maxInflight = MqttPublishQueue.MAX_INFLIGHT_PER_QOS[2];
+        for (int i = 0; i < maxInflight + 3; i++) {
+            queue.publish("topic/" + i, new byte[] { 1 }, 2, false);
+        }
+        queue.close();
+
+        verify(connection, times(maxInflight + 3)).publish(anyString(), any(), anyInt(), anyBoolean());
+        // A closed queue uses the connection directly
+        queue.publish("direct", new byte[] { 1 }, 2, false);
+        verify(connection).publish(eq("direct"), any(), eq(2), eq(false));
+    }
+}
@@ -18,12 +18,17 @@ import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -31,6 +36,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
+import org.openhab.binding.network.internal.utils.AsyncProber;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
@@ -79,7 +85,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable CompletableFuture<Void> detectionFinished;
+    private final Queue<Future<?>> runningChecks = new ConcurrentLinkedQueue<>();
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -279,14 +286,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+    /**
+     * Return the shared, bounded worker pool for the blocking ICMP and ARP ping checks.
+     */
+    public ExecutorService getWorkerPool() {
+        return AsyncProber.getInstance().getWorkerPool();
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. TCP connection attempts are performed asynchronously,
+     * the other checks are queued on the shared worker pool of the {@link AsyncProber}.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,7 +310,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detectionFinished != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -327,47 +337,41 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        final CompletableFuture<Void> detectionFinished = new CompletableFuture<>();
+        this.detectionFinished = detectionFinished;
+        final ExecutorService workerPool = getWorkerPool();
 
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            runningChecks.add(performServicePing(tcpPort).whenComplete((r, e) -> checkIfFinished(detectionFinished)));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use a single check for Windows tool and
+        // an own check for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+            runningChecks.add(workerPool.submit(() -> {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
                 performARPping("");
-                checkIfFinished();
-            });
+                checkIfFinished(detectionFinished);
+            }));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
+                runningChecks.add(workerPool.submit(() -> {
                     performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                    checkIfFinished(detectionFinished);
+                }));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            runningChecks.add(workerPool.submit(() -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
-                checkIfFinished();
-            });
+                checkIfFinished(detectionFinished);
+            }));
         }
 
         if (waitForDetectionToFinish) {
@@ -380,18 +384,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and all pending checks are
+     * cancelled.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        cancelRunningChecks();
+        detectionFinished = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -412,15 +416,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             destination.invalidateValue();
         }
         updateListener.finalDetectionResult(v);
+        finished.complete(null);
+    }
+
+    private void cancelRunningChecks() {
+        Future<?> check;
+        while ((check = runningChecks.poll()) != null) {
+            check.cancel(true);
+        }
     }
 
     /**
      * This method is called after each individual check and increases a check counter.
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
+     * Checks of an already finished detection process are ignored.
      * Thread safe.
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(CompletableFuture<Void> finished) {
+        if (finished != detectionFinished) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -433,19 +449,24 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            finished.get(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ignored) {
+            // Submit whatever the checks found so far
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                cancelRunningChecks();
+                detectionFinished = null;
+            }
+            return;
         }
+        submitFinalResult();
     }
 
     /**
@@ -473,24 +494,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Performs a non-blocking TCP connection attempt to the given port.
+     *
+     * @param tcpPort The TCP port
+     * @return A future that completes as soon as the check is done
+     */
+    protected CompletableFuture<?> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
-                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
-                                getLatency(o, preferResponseTimeAsLatency));
-                        v.addReachableTcpService(tcpPort);
-                        updateListener.partialDetectionResult(v);
-                    }
-                });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return networkUtils.asyncServicePing(destinationAddress, tcpPort, timeoutInMS).thenAccept(o -> {
+            if (o.isSuccess()) {
+                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
+                        getLatency(o, preferResponseTimeAsLatency));
+                v.addReachableTcpService(tcpPort);
+                updateListener.partialDetectionResult(v);
+            }
+        });
     }
 
     /**
@@ -16,8 +16,10 @@ import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -32,6 +34,8 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.utils.ArpTable;
+import org.openhab.binding.network.internal.utils.AsyncProber;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
@@ -50,6 +54,9 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * All addresses are swept with non-blocking TCP connection attempts first. Afterwards only hosts that answered
+ * the TCP connection attempts or the ARP requests of the operating system are checked with ICMP and ARP pings.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -57,7 +64,7 @@ import org.slf4j.LoggerFactory;
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
-    static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_IPS_PER_INTERFACE = 1024;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -68,6 +75,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
     private AtomicInteger scannedIPcount = new AtomicInteger(0);
     private @Nullable ExecutorService executorService = null;
+    private @Nullable SubnetSweeper sweeper = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -121,10 +129,52 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the TCP sweep of all IPs on each interface on the network. The ping scan of the
+     * responding hosts is started as soon as the sweep is finished.
      */
     @Override
-    protected void startScan() {
+    protected synchronized void startScan() {
+        removeOlderResults(getTimestampOfLastScan(), null);
+        logger.trace("Starting Network Device Discovery");
+
+        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
+
+        final SubnetSweeper sweeper = new SubnetSweeper(AsyncProber.getInstance(), PING_TIMEOUT_IN_MS,
+                this::newServiceDevice);
+        this.sweeper = sweeper;
+        sweeper.sweep(networkIPs, tcpServicePorts)
+                .thenAccept(respondingHosts -> startPingScan(sweeper, networkIPs, respondingHosts));
+    }
+
+    /**
+     * Starts the DiscoveryThread for each IP that needs to be checked with ICMP and ARP pings
+     */
+    private synchronized void startPingScan(SubnetSweeper finishedSweeper, Set<String> networkIPs,
+            Set<String> respondingHosts) {
+        if (sweeper != finishedSweeper) {
+            // The scan was stopped in the meantime
+            return;
+        }
+        sweeper = null;
+
+        final Set<String> pingIPs;
+        Optional<ArpTable> arpTable = ArpTable.read();
+        if (arpTable.isPresent()) {
+            // The TCP sweep made the operating system resolve every address on the local networks. Hosts that are
+            // not listed now did neither answer to ARP nor to TCP and are skipped. Incomplete entries may be stale,
+            // those hosts are pinged like the resolved ones.
+            pingIPs = new LinkedHashSet<>(respondingHosts);
+            networkIPs.stream().filter(arpTable.get()::isListed).forEach(pingIPs::add);
+        } else {
+            // We cannot tell silent hosts apart from not existing ones
+            pingIPs = networkIPs;
+        }
+        logger.trace("TCP sweep finished, {} of {} IPs will be pinged", pingIPs.size(), networkIPs.size());
+
+        if (pingIPs.isEmpty()) {
+            stopScan();
+            return;
+        }
         if (executorService == null) {
             executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
         }
@@ -132,13 +182,9 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (service == null) {
             return;
         }
-        removeOlderResults(getTimestampOfLastScan(), null);
-        logger.trace("Starting Network Device Discovery");
-
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
         scannedIPcount.set(0);
 
-        for (String ip : networkIPs) {
+        for (String ip : pingIPs) {
             final PresenceDetection s = new PresenceDetection(this, 2000);
             s.setHostname(ip);
             s.setIOSDevice(true);
@@ -147,14 +193,14 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
+            // TCP services were already checked by the sweep
+            s.setServicePorts(Collections.emptySet());
 
             service.execute(() -> {
                 Thread.currentThread().setName("Discovery thread " + ip);
                 s.performPresenceDetection(true);
                 int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
+                if (count == pingIPs.size()) {
                     logger.trace("Scan of {} IPs successful", scannedIPcount);
                     stopScan();
                 }
@@ -165,6 +211,11 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
+        final SubnetSweeper sweeper = this.sweeper;
+        if (sweeper != null) {
+            this.sweeper = null;
+            sweeper.cancel();
+        }
         final ExecutorService service = executorService;
         if (service == null) {
             return;
@@ -185,7 +236,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the {@link SubnetSweeper} started in
+     * {@link startScan}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.utils.AsyncProber;
+import org.openhab.binding.network.internal.utils.TcpProbeResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SubnetSweeper} performs TCP connection attempts to many addresses and ports at once without
+ * blocking a thread per attempt.
+ *
+ * The number of concurrent connection attempts is increased with every completed attempt and halved if attempts
+ * can not be performed locally anymore (for example because no more sockets are available). The timeout of each
+ * attempt is derived from the round trip times of the hosts that answered so far, in the same way TCP estimates its
+ * retransmission timeout (RFC 6298).
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetSweeper {
+    static final int MINIMUM_CONCURRENCY = 16;
+    static final int INITIAL_CONCURRENCY = 64;
+    static final int MAXIMUM_CONCURRENCY = 512;
+    static final int MINIMUM_TIMEOUT_IN_MS = 50;
+    // Number of round trip samples before the timeout is adapted
+    static final int MINIMUM_RTT_SAMPLES = 8;
+
+    /**
+     * Listener for open TCP ports found by the sweep.
+     */
+    public interface ServiceFoundListener {
+        void serviceFound(String ip, int tcpPort);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetSweeper.class);
+    private final AsyncProber prober;
+    private final int maximumTimeoutInMS;
+    private final ServiceFoundListener listener;
+
+    private final Deque<InetSocketAddress> pending = new ArrayDeque<>();
+    private final Set<String> respondingHosts = ConcurrentHashMap.newKeySet();
+    private final CompletableFuture<Set<String>> finished = new CompletableFuture<>();
+    private final Runnable shutdownListener = this::cancel;
+
+    private int inFlight = 0;
+    private int concurrency = INITIAL_CONCURRENCY;
+    private int rttSamples = 0;
+    private double smoothedRttInMS = 0;
+    private double rttVarianceInMS = 0;
+    private boolean cancelled = false;
+
+    /**
+     * @param prober The prober to perform the connection attempts
+     * @param maximumTimeoutInMS The timeout of a single connection attempt before round trip times are known
+     * @param listener Called for every open port
+     */
+    public SubnetSweeper(AsyncProber prober, int maximumTimeoutInMS, ServiceFoundListener listener) {
+        this.prober = prober;
+        this.maximumTimeoutInMS = maximumTimeoutInMS;
+        this.listener = listener;
+    }
+
+    /**
+     * Start the sweep. A sweeper instance can only be used once.
+     *
+     * @param ips The IPv4 addresses to check
+     * @param tcpPorts The TCP ports to check on every address
+     * @return A future that completes with all addresses that answered, either by accepting or by refusing a
+     *         connection. It also completes, with the addresses found so far, if the sweep is cancelled or the
+     *         prober is shut down.
+     */
+    public CompletableFuture<Set<String>> sweep(Collection<String> ips, Collection<Integer> tcpPorts) {
+        synchronized (this) {
+            // Probe all addresses for one port before the next port, so that a single host is not hit at once
+            for (int tcpPort : tcpPorts) {
+                for (String ip : ips) {
+                    pending.add(new InetSocketAddress(ip, tcpPort));
+                }
+            }
+        }
+        logger.trace("Sweeping {} addresses on ports {}", ips.size(), tcpPorts);
+        finished.whenComplete((r, e) -> prober.removeShutdownListener(shutdownListener));
+        prober.addShutdownListener(shutdownListener);
+        startPendingProbes();
+        return finished;
+    }
+
+    /**
+     * Stop the sweep. Connection attempts in progress are not awaited.
+     */
+    public void cancel() {
+        synchronized (this) {
+            cancelled = true;
+            pending.clear();
+        }
+        finished.complete(respondingHosts);
+    }
+
+    /**
+     * Return the timeout for new connection attempts.
+     */
+    synchronized int getTimeoutInMS() {
+        if (rttSamples < MINIMUM_RTT_SAMPLES) {
+            return maximumTimeoutInMS;
+        }
+        long timeout = Math.round(smoothedRttInMS + 4 * rttVarianceInMS);
+        return (int) Math.max(MINIMUM_TIMEOUT_IN_MS, Math.min(maximumTimeoutInMS, timeout));
+    }
+
+    synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+    private void startPendingProbes() {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        final int timeoutInMS;
+        final boolean done;
+        synchronized (this) {
+            while (!cancelled && inFlight < concurrency && !pending.isEmpty()) {
+                addresses.add(pending.poll());
+                inFlight++;
+            }
+            done = inFlight == 0 && pending.isEmpty();
+            timeoutInMS = getTimeoutInMS();
+        }
+
+        for (InetSocketAddress address : addresses) {
+            prober.probe(address, timeoutInMS).thenAccept(result -> {
+                try {
+                    // Continue on the worker pool, so that the listener is not called on the I/O thread
+                    prober.getWorkerPool().execute(() -> probeFinished(address, result));
+                } catch (RejectedExecutionException e) {
+                    // The prober has been shut down
+                    cancel();
+                }
+            });
+        }
+        if (done) {
+            logger.trace("Sweep finished, {} hosts answered", respondingHosts.size());
+            finished.complete(respondingHosts);
+        }
+    }
+
+    private void probeFinished(InetSocketAddress address, TcpProbeResult result) {
+        String ip = address.getHostString();
+        synchronized (this) {
+            inFlight--;
+            if (result.getOutcome() == TcpProbeResult.Outcome.FAILED) {
+                concurrency = Math.max(MINIMUM_CONCURRENCY, concurrency / 2);
+            } else {
+                concurrency = Math.min(MAXIMUM_CONCURRENCY, concurrency + 1);
+            }
+            if (result.isHostResponding()) {
+                updateRoundTripTime(result.getTimeInMS());
+            }
+        }
+
+        if (result.isHostResponding()) {
+            respondingHosts.add(ip);
+        }
+        if (result.getOutcome() == TcpProbeResult.Outcome.ACCEPTED && !finished.isDone()) {
+            listener.serviceFound(ip, address.getPort());
+        }
+        startPendingProbes();
+    }
+
+    private void updateRoundTripTime(double rttInMS) {
+        if (rttSamples == 0) {
+            smoothedRttInMS = rttInMS;
+            rttVarianceInMS = rttInMS / 2;
+        } else {
+            rttVarianceInMS = 0.75 * rttVarianceInMS + 0.25 * Math.abs(smoothedRttInMS - rttInMS);
+            smoothedRttInMS = 0.875 * smoothedRttInMS + 0.125 * rttInMS;
+        }
+        rttSamples++;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A snapshot of the kernel ARP table as provided by Linux in /proc/net/arp.
+ *
+ * Addresses with a complete entry answered an ARP request recently. An incomplete entry only tells that an address
+ * was requested and did not answer yet. It can be stale, so such addresses still have to be checked like addresses
+ * the table knows nothing about.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ArpTable {
+    private static final Path PROC_NET_ARP = Paths.get("/proc/net/arp");
+    // ATF_COM from the kernel's if_arp.h: The entry is complete, the hardware address is known
+    private static final int ATF_COM = 0x02;
+
+    private final Set<String> resolvedAddresses;
+    private final Set<String> listedAddresses;
+
+    ArpTable(Set<String> resolvedAddresses, Set<String> listedAddresses) {
+        this.resolvedAddresses = Collections.unmodifiableSet(resolvedAddresses);
+        this.listedAddresses = Collections.unmodifiableSet(listedAddresses);
+    }
+
+    /**
+     * Read the ARP table of the operating system.
+     *
+     * @return The ARP table. Optional is empty if the ARP table is not available on this system.
+     */
+    public static Optional<ArpTable> read() {
+        if (!Files.isReadable(PROC_NET_ARP)) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(PROC_NET_ARP, StandardCharsets.US_ASCII)) {
+            return Optional.of(parse(reader));
+        } catch (IOException e) {
+            LoggerFactory.getLogger(ArpTable.class).debug("Failed to read the ARP table", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Parse an ARP table in the format of /proc/net/arp.
+     *
+     * @param reader The table. The first line is the header and will be skipped.
+     * @return The parsed ARP table
+     * @throws IOException If the table could not be read
+     */
+    public static ArpTable parse(Reader reader) throws IOException {
+        final Logger logger = LoggerFactory.getLogger(ArpTable.class);
+        Set<String> resolved = new HashSet<>();
+        Set<String> listed = new HashSet<>();
+
+        BufferedReader lineReader = reader instanceof BufferedReader ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        // Skip header
+        String line = lineReader.readLine();
+        while ((line = lineReader.readLine()) != null) {
+            // IP address, HW type, Flags, HW address, Mask, Device
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length < 4) {
+                continue;
+            }
+            try {
+                int flags = Integer.decode(columns[2]);
+                if ((flags & ATF_COM) != 0) {
+                    resolved.add(columns[0]);
+                }
+                listed.add(columns[0]);
+            } catch (NumberFormatException e) {
+                logger.trace("Ignoring malformed ARP table line: {}", line);
+            }
+        }
+        return new ArpTable(resolved, listed);
+    }
+
+    /**
+     * Return all addresses with a complete ARP entry.
+     */
+    public Set<String> getResolvedAddresses() {
+        return resolvedAddresses;
+    }
+
+    /**
+     * Return true if the given address has an entry, complete or incomplete. An incomplete entry does not prove
+     * that the host is absent, it has to be probed.
+     */
+    public boolean isListed(String ipAddress) {
+        return listedAddresses.contains(ipAddress);
+    }
+
+    /**
+     * Return true if the given address has a complete ARP entry on any interface.
+     */
+    public boolean isResolved(String ipAddress) {
+        return resolvedAddresses.contains(ipAddress);
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.NetworkBindingConstants;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton that is shared by all presence detections and the discovery. It performs TCP connection attempts
+ * asynchronously with a single NIO channel group, so that a pending connect does not occupy a thread. Checks that
+ * can only be performed blocking (native ping and arping processes, Java pings) are queued on a bounded worker pool
+ * instead of creating a new thread pool for each detection cycle.
+ *
+ * The instance is created on first use and released by {@link #shutdown()}. Probes that are still pending then
+ * complete with a failed result, and the registered shutdown listeners are notified.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AsyncProber {
+    private static final int MAXIMUM_BLOCKING_WORKERS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final long WORKER_KEEP_ALIVE_IN_S = 60;
+
+    private static @Nullable AsyncProber instance;
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncProber.class);
+    private final ThreadPoolExecutor workerPool;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final @Nullable AsynchronousChannelGroup channelGroup;
+    private final Set<CompletableFuture<TcpProbeResult>> pendingProbes = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> shutdownListeners = new ArrayList<>();
+    private volatile boolean disposed = false;
+
+    AsyncProber(ScheduledExecutorService timeoutScheduler) {
+        this.timeoutScheduler = timeoutScheduler;
+        workerPool = new ThreadPoolExecutor(MAXIMUM_BLOCKING_WORKERS, MAXIMUM_BLOCKING_WORKERS, WORKER_KEEP_ALIVE_IN_S,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("network-prober", true));
+        workerPool.allowCoreThreadTimeOut(true);
+
+        AsynchronousChannelGroup group = null;
+        try {
+            group = AsynchronousChannelGroup.withFixedThreadPool(1, new NamedThreadFactory("network-prober-io", true));
+        } catch (IOException e) {
+            logger.warn("Could not create an asynchronous channel group, using the default group instead", e);
+        }
+        channelGroup = group;
+    }
+
+    /**
+     * Return the shared prober instance and create it if necessary.
+     */
+    public static synchronized AsyncProber getInstance() {
+        AsyncProber prober = instance;
+        if (prober == null) {
+            prober = new AsyncProber(ThreadPoolManager.getScheduledPool(NetworkBindingConstants.BINDING_ID));
+            instance = prober;
+        }
+        return prober;
+    }
+
+    /**
+     * Release the shared prober instance, if any. Pending probes complete with a failed result.
+     */
+    public static synchronized void shutdown() {
+        AsyncProber prober = instance;
+        if (prober != null) {
+            prober.dispose();
+        }
+        instance = null;
+    }
+
+    /**
+     * Register a listener that is called once this prober is shut down. The listener is called immediately if the
+     * prober is already shut down.
+     */
+    public void addShutdownListener(Runnable listener) {
+        synchronized (shutdownListeners) {
+            if (!disposed) {
+                shutdownListeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    public void removeShutdownListener(Runnable listener) {
+        synchronized (shutdownListeners) {
+            shutdownListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Return the bounded worker pool for checks that block a thread while they are performed.
+     * The pool must not be shut down by the caller.
+     */
+    public ExecutorService getWorkerPool() {
+        return workerPool;
+    }
+
+    /**
+     * Try to establish a TCP connection to the given address without blocking the calling thread.
+     * The returned future is always completed normally: With a successful {@link PingResult} if the connection was
+     * established and with a failed one if it was refused, timed out or could not be attempted.
+     *
+     * @param address The resolved address and TCP port
+     * @param timeoutInMS Timeout in milliseconds
+     * @return A future that completes with the ping result
+     */
+    public CompletableFuture<PingResult> connect(InetSocketAddress address, int timeoutInMS) {
+        return probe(address, timeoutInMS)
+                .thenApply(r -> new PingResult(r.getOutcome() == TcpProbeResult.Outcome.ACCEPTED, r.getTimeInMS()));
+    }
+
+    /**
+     * Try to establish a TCP connection to the given address without blocking the calling thread and report
+     * how the remote side answered. The returned future is always completed normally.
+     *
+     * @param address The resolved address and TCP port
+     * @param timeoutInMS Timeout in milliseconds
+     * @return A future that completes with the probe result
+     */
+    public CompletableFuture<TcpProbeResult> probe(InetSocketAddress address, int timeoutInMS) {
+        CompletableFuture<TcpProbeResult> result = new CompletableFuture<>();
+        final long startTimeInNS = System.nanoTime();
+        if (disposed) {
+            result.complete(new TcpProbeResult(TcpProbeResult.Outcome.FAILED, 0));
+            return result;
+        }
+
+        final AsynchronousSocketChannel channel;
+        try {
+            channel = AsynchronousSocketChannel.open(channelGroup);
+        } catch (IOException | RuntimeException e) {
+            // A ShutdownChannelGroupException is thrown if the prober was shut down concurrently
+            logger.trace("Could not open a socket channel for {}", address, e);
+            result.complete(new TcpProbeResult(TcpProbeResult.Outcome.FAILED, 0));
+            return result;
+        }
+
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        final ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            timedOut.set(true);
+            close(channel);
+        }, timeoutInMS, TimeUnit.MILLISECONDS);
+        // The socket is closed as soon as the result is known, at the latest when the timeout elapses. Cancelling
+        // a future derived from the result, like the one returned by connect(), does not close it earlier.
+        result.whenComplete((r, e) -> {
+            pendingProbes.remove(result);
+            timeout.cancel(false);
+            close(channel);
+        });
+        pendingProbes.add(result);
+        if (disposed) {
+            // dispose() may have missed this probe
+            result.complete(new TcpProbeResult(TcpProbeResult.Outcome.FAILED, 0));
+            return result;
+        }
+
+        try {
+            channel.connect(address, null, new CompletionHandler<@Nullable Void, @Nullable Void>() {
+                @Override
+                public void completed(@Nullable Void v, @Nullable Void attachment) {
+                    result.complete(new TcpProbeResult(TcpProbeResult.Outcome.ACCEPTED, elapsedMS(startTimeInNS)));
+                }
+
+                @Override
+                public void failed(@Nullable Throwable e, @Nullable Void attachment) {
+                    logger.trace("TCP connection to {} failed: {}", address, e == null ? "" : e.getMessage());
+                    final TcpProbeResult.Outcome outcome;
+                    if (timedOut.get()) {
+                        outcome = TcpProbeResult.Outcome.TIMEOUT;
+                    } else if (e instanceof ConnectException) {
+                        outcome = TcpProbeResult.Outcome.REFUSED;
+                    } else if (e instanceof NoRouteToHostException) {
+                        outcome = TcpProbeResult.Outcome.UNREACHABLE;
+                    } else {
+                        outcome = TcpProbeResult.Outcome.FAILED;
+                    }
+                    result.complete(new TcpProbeResult(outcome, elapsedMS(startTimeInNS)));
+                }
+            });
+        } catch (RuntimeException e) {
+            // For example an UnresolvedAddressException or a ShutdownChannelGroupException
+            logger.trace("Could not connect to {}", address, e);
+            result.complete(new TcpProbeResult(TcpProbeResult.Outcome.FAILED, elapsedMS(startTimeInNS)));
+        }
+        return result;
+    }
+
+    private static double elapsedMS(long startTimeInNS) {
+        return (System.nanoTime() - startTimeInNS) / 1000000.0;
+    }
+
+    private void close(AsynchronousSocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The channel is not used anymore
+        }
+    }
+
+    private void dispose() {
+        final List<Runnable> listeners;
+        synchronized (shutdownListeners) {
+            disposed = true;
+            listeners = new ArrayList<>(shutdownListeners);
+            shutdownListeners.clear();
+        }
+        workerPool.shutdownNow();
+        listeners.forEach(Runnable::run);
+        // Nobody would complete the pending probes anymore
+        for (CompletableFuture<TcpProbeResult> pendingProbe : new ArrayList<>(pendingProbes)) {
+            pendingProbe.complete(new TcpProbeResult(TcpProbeResult.Outcome.FAILED, 0));
+        }
+        AsynchronousChannelGroup group = channelGroup;
+        if (group != null) {
+            try {
+                group.shutdownNow();
+            } catch (IOException e) {
+                logger.debug("Failed to shut down the asynchronous channel group", e);
+            }
+        }
+    }
+}
@@ -34,6 +34,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SystemUtils;
@@ -168,6 +169,19 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Try to establish a tcp connection to the given port without blocking the calling thread.
+     * The connection attempt is performed by the shared {@link AsyncProber}.
+     *
+     * @param destinationAddress The resolved address
+     * @param port The tcp port. Must be not 0.
+     * @param timeout Timeout in ms
+     * @return A future with the ping result information. The future always completes normally.
+     */
+    public CompletableFuture<PingResult> asyncServicePing(InetAddress destinationAddress, int port, int timeout) {
+        return AsyncProber.getInstance().connect(new InetSocketAddress(destinationAddress, port), timeout);
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
@@ -266,7 +280,7 @@ public class NetworkUtils {
         // Exception: return code is also 0 in Windows for all requests on the local subnet.
         // see https://superuser.com/questions/403905/ping-from-windows-7-get-no-reply-but-sets-errorlevel-to-0
 
-        int result = proc.waitFor();
+        int result = waitFor(proc);
         if (result != 0) {
             return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
         }
@@ -335,7 +349,20 @@ public class NetworkUtils {
 
         // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
         // network interface not ready.
-        return Optional.of(new PingResult(proc.waitFor() == 0, System.currentTimeMillis() - execStartTimeInMS));
+        return Optional.of(new PingResult(waitFor(proc) == 0, System.currentTimeMillis() - execStartTimeInMS));
+    }
+
+    /**
+     * Wait for the given ping process to exit. If the waiting thread is interrupted, because the presence detection
+     * already finished, the process is destroyed instead of being left behind.
+     */
+    private int waitFor(Process proc) throws InterruptedException {
+        try {
+            return proc.waitFor();
+        } catch (InterruptedException e) {
+            proc.destroy();
+            throw e;
+        }
     }
 
     /**
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Information about a single TCP connection attempt of the {@link AsyncProber}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpProbeResult {
+    public enum Outcome {
+        /** The connection was established, the port is open */
+        ACCEPTED,
+        /** The connection was actively refused. The host is reachable, but the port is closed */
+        REFUSED,
+        /** The host is known to be unreachable */
+        UNREACHABLE,
+        /** No answer within the timeout */
+        TIMEOUT,
+        /** The connection attempt could not be performed locally */
+        FAILED
+    }
+
+    private final Outcome outcome;
+    private final double timeInMS;
+
+    public TcpProbeResult(Outcome outcome, double timeInMS) {
+        this.outcome = outcome;
+        this.timeInMS = timeInMS;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Return true if the remote host answered, no matter if the port is open or not.
+     */
+    public boolean isHostResponding() {
+        return outcome == Outcome.ACCEPTED || outcome == Outcome.REFUSED;
+    }
+
+    /**
+     * @return Time until the connection attempt completed in ms. For a responding host this is the round trip time.
+     */
+    public double getTimeInMS() {
+        return timeInMS;
+    }
+
+    @Override
+    public String toString() {
+        return "TcpProbeResult{outcome=" + outcome + ", timeInMS=" + timeInMS + '}';
+    }
+}
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -89,26 +90,26 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are performed and return in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFinished);
 
         doNothing().when(subject).performARPping(any());
         doNothing().when(subject).performJavaPing();
         doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doReturn(new CompletableFuture<>()).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFinished);
     }
 
     @Test
@@ -117,7 +118,8 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(new PingResult(true, 10))).when(networkUtils)
+                .asyncServicePing(any(), anyInt(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -140,25 +142,28 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        CompletableFuture<PingResult> servicePing = new CompletableFuture<>();
+        doReturn(servicePing).when(networkUtils).asyncServicePing(any(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        doReturn(executorService).when(subject).getWorkerPool();
+        doReturn(new CompletableFuture<>()).when(executorService).submit(any(Runnable.class));
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection checks now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(executorService, times(2)).submit(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
+        servicePing.complete(new PingResult(true, 10));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.network.internal.discovery.SubnetSweeper.ServiceFoundListener;
+import org.openhab.binding.network.internal.utils.AsyncProber;
+import org.openhab.binding.network.internal.utils.TcpProbeResult;
+import org.openhab.binding.network.internal.utils.TcpProbeResult.Outcome;
+
+/**
+ * Tests cases for {@link SubnetSweeper}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+public class SubnetSweeperTest {
+    private @Mock AsyncProber prober;
+    private @Mock ServiceFoundListener listener;
+
+    private final ExecutorService workerPool = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    public void setUp() {
+        when(prober.getWorkerPool()).thenReturn(workerPool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        workerPool.shutdownNow();
+    }
+
+    private void answer(String ip, Outcome outcome) {
+        when(prober.probe(eq(new InetSocketAddress(ip, 80)), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(new TcpProbeResult(outcome, 5)));
+    }
+
+    @Test
+    public void sweepReportsOpenPortsAndRespondingHosts() throws Exception {
+        answer("192.168.0.1", Outcome.ACCEPTED);
+        answer("192.168.0.2", Outcome.REFUSED);
+        answer("192.168.0.3", Outcome.TIMEOUT);
+        answer("192.168.0.4", Outcome.UNREACHABLE);
+
+        SubnetSweeper sweeper = new SubnetSweeper(prober, 1000, listener);
+        Set<String> respondingHosts = sweeper
+                .sweep(List.of("192.168.0.1", "192.168.0.2", "192.168.0.3", "192.168.0.4"), List.of(80))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(respondingHosts, is(Set.of("192.168.0.1", "192.168.0.2")));
+        verify(listener).serviceFound("192.168.0.1", 80);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void sweepFinishesWhenCancelled() {
+        when(prober.probe(any(), anyInt())).thenReturn(new CompletableFuture<>());
+
+        SubnetSweeper sweeper = new SubnetSweeper(prober, 1000, listener);
+        CompletableFuture<Set<String>> finished = sweeper.sweep(List.of("192.168.0.1"), List.of(80));
+        sweeper.cancel();
+
+        assertTrue(finished.isDone());
+    }
+
+    @Test
+    public void sweepFinishesWhenProberIsShutDown() {
+        when(prober.probe(any(), anyInt())).thenReturn(new CompletableFuture<>());
+
+        SubnetSweeper sweeper = new SubnetSweeper(prober, 1000, listener);
+        CompletableFuture<Set<String>> finished = sweeper.sweep(List.of("192.168.0.1", "192.168.0.2"), List.of(80));
+
+        ArgumentCaptor<Runnable> shutdownListener = ArgumentCaptor.forClass(Runnable.class);
+        verify(prober).addShutdownListener(shutdownListener.capture());
+        shutdownListener.getValue().run();
+
+        assertTrue(finished.isDone());
+        verify(prober).removeShutdownListener(shutdownListener.getValue());
+    }
+
+    @Test
+    public void sweepFinishesWhenWorkerPoolRejectsResults() throws Exception {
+        workerPool.shutdownNow();
+        CompletableFuture<TcpProbeResult> pendingProbe = new CompletableFuture<>();
+        when(prober.probe(any(), anyInt())).thenReturn(pendingProbe);
+
+        SubnetSweeper sweeper = new SubnetSweeper(prober, 1000, listener);
+        CompletableFuture<Set<String>> finished = sweeper.sweep(List.of("192.168.0.1"), List.of(80));
+        pendingProbe.complete(new TcpProbeResult(Outcome.FAILED, 0));
+
+        assertThat(finished.get(5, TimeUnit.SECONDS), is(Set.of()));
+    }
+
+    @Test
+    public void timeoutAdaptsToRoundTripTimes() throws Exception {
+        when(prober.probe(any(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(new TcpProbeResult(Outcome.REFUSED, 5)));
+
+        SubnetSweeper sweeper = new SubnetSweeper(prober, 1000, listener);
+        assertThat(sweeper.getTimeoutInMS(), is(1000));
+        sweeper.sweep(List.of("192.168.0.1", "192.168.0.2", "192.168.0.3", "192.168.0.4", "192.168.0.5",
+                "192.168.0.6", "192.168.0.7", "192.168.0.8", "192.168.0.9"), List.of(80)).get(5, TimeUnit.SECONDS);
+
+        assertThat(sweeper.getTimeoutInMS(), is(SubnetSweeper.MINIMUM_TIMEOUT_IN_MS));
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parser for the ARP table of the operating system.
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpTableTest {
+
+    private static final String PROC_NET_ARP = String.join("\n",
+            "IP address       HW type     Flags       HW address            Mask     Device",
+            "192.168.1.1      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0",
+            "192.168.1.20     0x1         0x0         00:00:00:00:00:00     *        eth0",
+            "192.168.1.30     0x1         0x6         aa:bb:cc:dd:ee:03     *        eth0",
+            "192.168.1.40     0x1         0x0         00:00:00:00:00:00     *        wlan0",
+            "192.168.1.40     0x1         0x2         aa:bb:cc:dd:ee:04     *        eth0", "");
+
+    @Test
+    public void parseProcNetArpTest() throws IOException {
+        // Act
+        ArpTable arpTable = ArpTable.parse(new StringReader(PROC_NET_ARP));
+
+        // Assert
+        assertTrue(arpTable.isResolved("192.168.1.1"));
+        assertTrue(arpTable.isResolved("192.168.1.30"));
+        // An incomplete entry may be stale, the address is still listed
+        assertTrue(arpTable.isListed("192.168.1.20"));
+        assertFalse(arpTable.isResolved("192.168.1.20"));
+        assertFalse(arpTable.isResolved("192.168.1.99"));
+        assertFalse(arpTable.isListed("192.168.1.99"));
+        // A complete entry on any interface wins
+        assertTrue(arpTable.isResolved("192.168.1.40"));
+        assertTrue(arpTable.isListed("192.168.1.40"));
+        assertEquals(3, arpTable.getResolvedAddresses().size());
+    }
+
+    @Test
+    public void parseMalformedLinesTest() throws IOException {
+        // Act
+        ArpTable arpTable = ArpTable.parse(new StringReader(
+                "IP address HW type Flags HW address Mask Device\nfoo\n192.168.1.1 0x1 bar 00:00:00:00:00:00 * eth0\n"));
+
+        // Assert
+        assertTrue(arpTable.getResolvedAddresses().isEmpty());
+        assertFalse(arpTable.isListed("192.168.1.1"));
+    }
+}
@@ -23,8 +23,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.client.ClientBuilder;
 
@@ -100,6 +103,9 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     private static final int MAX_STATE_SIZE_FOR_LOGGING = 50;
 
+    private static final int SYNCHRONIZE_STATES_INTERVAL = 15;
+    private static final int UPDATE_EVENTS_FILTER_DELAY = 5;
+
     private final Logger logger = LoggerFactory.getLogger(RemoteopenhabBridgeHandler.class);
 
     private final HttpClient httpClientTrustingCert;
@@ -109,12 +115,21 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     private final Object updateThingLock = new Object();
 
+    /**
+     * Serializes the loading of the remote items and the synchronization of their states, which are run both by
+     * the connection check and by the periodic synchronization
+     */
+    private final Object loadItemsLock = new Object();
+
     private @NonNullByDefault({}) RemoteopenhabServerConfiguration config;
 
     private @Nullable ScheduledFuture<?> checkConnectionJob;
+    private @Nullable ScheduledFuture<?> synchronizeStatesJob;
+    private @Nullable ScheduledFuture<?> updateEventsFilterJob;
     private RemoteopenhabRestClient restClient;
 
     private Map<ChannelUID, State> channelsLastStates = new HashMap<>();
+    private Map<String, String> itemsTypes = new ConcurrentHashMap<>();
 
     public RemoteopenhabBridgeHandler(Bridge bridge, HttpClient httpClient, HttpClient httpClientTrustingCert,
             ClientBuilder clientBuilder, SseEventSourceFactory eventSourceFactory,
@@ -172,6 +187,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         if (config.accessibilityInterval > 0) {
             startCheckConnectionJob(config.accessibilityInterval, config.aliveInterval, config.restartIfNoActivity);
         }
+        startSynchronizeStatesJob();
     }
 
     @Override
@@ -179,7 +195,14 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         logger.debug("Disposing remote openHAB handler for bridge {}", getThing().getUID());
         stopStreamingUpdates(false);
         stopCheckConnectionJob();
+        stopSynchronizeStatesJob();
+        ScheduledFuture<?> localUpdateEventsFilterJob = updateEventsFilterJob;
+        if (localUpdateEventsFilterJob != null) {
+            localUpdateEventsFilterJob.cancel(true);
+            updateEventsFilterJob = null;
+        }
         channelsLastStates.clear();
+        itemsTypes.clear();
     }
 
     @Override
@@ -351,37 +374,119 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
     }
 
     public void checkConnection(boolean restartSse) {
-        logger.debug("Try the root REST API...");
-        try {
-            restClient.tryApi();
-            if (restClient.getRestApiVersion() == null) {
-                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
-                        "OH 1.x server not supported by the binding");
-            } else if (getThing().getStatus() != ThingStatus.ONLINE) {
-                List<RemoteopenhabItem> items = restClient.getRemoteItems("name,type,groupType,state,stateDescription");
-
-                if (createChannels(items, true)) {
-                    setDynamicOptions(items);
-                    for (RemoteopenhabItem item : items) {
-                        updateChannelState(item.name, null, item.state, false);
+        synchronized (loadItemsLock) {
+            logger.debug("Try the root REST API...");
+            try {
+                restClient.tryApi();
+                if (restClient.getRestApiVersion() == null) {
+                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                            "OH 1.x server not supported by the binding");
+                } else if (getThing().getStatus() != ThingStatus.ONLINE) {
+                    if (!itemsTypes.isEmpty() && synchronizeStates()) {
+                        // After a reconnection, the channels are only created again if the remote items changed
+                        logger.debug("Remote items unchanged, only the states of the channels were synchronized");
+                        updateStatus(ThingStatus.ONLINE);
+
+                        restartStreamingUpdates();
+                    } else if (loadItems()) {
+                        updateStatus(ThingStatus.ONLINE);
+
+                        restartStreamingUpdates();
+                    } else {
+                        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE,
+                                "Dynamic creation of the channels for the remote server items failed");
+                        stopStreamingUpdates();
                     }
-
-                    updateStatus(ThingStatus.ONLINE);
-
+                } else if (restartSse) {
+                    logger.debug("The SSE connection is restarted because there was no recent event received");
                     restartStreamingUpdates();
-                } else {
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE,
-                            "Dynamic creation of the channels for the remote server items failed");
-                    stopStreamingUpdates();
+                    // Events may have been lost before the restart
+                    if (!synchronizeStates()) {
+                        loadItems();
+                    }
                 }
-            } else if (restartSse) {
-                logger.debug("The SSE connection is restarted because there was no recent event received");
-                restartStreamingUpdates();
+            } catch (RemoteopenhabException e) {
+                logger.debug("{}", e.getMessage());
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+                stopStreamingUpdates();
             }
-        } catch (RemoteopenhabException e) {
-            logger.debug("{}", e.getMessage());
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
-            stopStreamingUpdates();
+        }
+    }
+
+    /**
+     * Loads all remote items, creates the channels again and sets their states
+     *
+     * @return false if the channels could not be created
+     */
+    private boolean loadItems() throws RemoteopenhabException {
+        List<RemoteopenhabItem> items = restClient.getRemoteItems("name,type,groupType,state,stateDescription");
+
+        if (!createChannels(items, true)) {
+            return false;
+        }
+        setDynamicOptions(items);
+        for (RemoteopenhabItem item : items) {
+            updateChannelState(item.name, null, item.state, false);
+        }
+        itemsTypes.clear();
+        itemsTypes.putAll(getItemsTypes(items));
+        return true;
+    }
+
+    /**
+     * Loads the states of all remote items with a single request and updates the channels whose state changed.
+     * This requires the remote items to still have the types they had when the channels were created.
+     *
+     * @return false if remote items were added, removed or changed their type, so that the channels have to be
+     *         created again
+     */
+    private boolean synchronizeStates() throws RemoteopenhabException {
+        List<RemoteopenhabItem> items = restClient.getRemoteItems("name,type,groupType,state");
+
+        if (!getItemsTypes(items).equals(itemsTypes)) {
+            return false;
+        }
+        for (RemoteopenhabItem item : items) {
+            updateChannelState(item.name, null, item.state, true);
+        }
+        return true;
+    }
+
+    private Map<String, String> getItemsTypes(List<RemoteopenhabItem> items) {
+        return items.stream().collect(Collectors.toMap(item -> item.name, this::getItemType, (type1, type2) -> type2));
+    }
+
+    private String getItemType(RemoteopenhabItem item) {
+        return item.groupType.isEmpty() ? item.type : item.type + ":" + item.groupType;
+    }
+
+    private void startSynchronizeStatesJob() {
+        ScheduledFuture<?> localSynchronizeStatesJob = synchronizeStatesJob;
+        if (localSynchronizeStatesJob == null || localSynchronizeStatesJob.isCancelled()) {
+            synchronizeStatesJob = scheduler.scheduleWithFixedDelay(() -> {
+                if (getThing().getStatus() != ThingStatus.ONLINE) {
+                    return;
+                }
+                logger.debug("Time to synchronize the states of the channels");
+                synchronized (loadItemsLock) {
+                    try {
+                        if (!synchronizeStates()) {
+                            logger.debug("Remote items changed, the channels are created again");
+                            loadItems();
+                        }
+                    } catch (RemoteopenhabException e) {
+                        logger.debug("{}", e.getMessage());
+                    }
+                }
+            }, SYNCHRONIZE_STATES_INTERVAL, SYNCHRONIZE_STATES_INTERVAL, TimeUnit.MINUTES);
+        }
+    }
+
+    private void stopSynchronizeStatesJob() {
+        ScheduledFuture<?> localSynchronizeStatesJob = synchronizeStatesJob;
+        if (localSynchronizeStatesJob != null) {
+            localSynchronizeStatesJob.cancel(true);
+            synchronizeStatesJob = null;
         }
     }
 
@@ -425,6 +530,7 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     private void startStreamingUpdates() {
         synchronized (restClient) {
+            restClient.setItemsFilter(getLinkedItemNames());
             restClient.addStreamingDataListener(this);
             restClient.addItemsDataListener(this);
             restClient.start();
@@ -443,6 +549,40 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
         }
     }
 
+    private Set<String> getLinkedItemNames() {
+        return getThing().getChannels().stream().map(Channel::getUID).filter(this::isLinked).map(ChannelUID::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        super.channelLinked(channelUID);
+        scheduleEventsFilterUpdate();
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        super.channelUnlinked(channelUID);
+        scheduleEventsFilterUpdate();
+    }
+
+    /**
+     * Updates the events requested from the remote server once the links stop changing, as links are usually added
+     * or removed in bulk
+     */
+    private void scheduleEventsFilterUpdate() {
+        ScheduledFuture<?> localUpdateEventsFilterJob = updateEventsFilterJob;
+        if (localUpdateEventsFilterJob != null) {
+            localUpdateEventsFilterJob.cancel(false);
+        }
+        updateEventsFilterJob = scheduler.schedule(() -> {
+            if (getThing().getStatus() == ThingStatus.ONLINE && restClient.setItemsFilter(getLinkedItemNames())) {
+                logger.debug("The SSE connection is restarted because the linked channels changed");
+                restartStreamingUpdates();
+            }
+        }, UPDATE_EVENTS_FILTER_DELAY, TimeUnit.SECONDS);
+    }
+
     public RemoteopenhabRestClient gestRestClient() {
         return restClient;
     }
@@ -469,16 +609,19 @@ public class RemoteopenhabBridgeHandler extends BaseBridgeHandler
 
     @Override
     public void onItemAdded(RemoteopenhabItem item) {
+        itemsTypes.put(item.name, getItemType(item));
         createChannels(List.of(item), false);
     }
 
     @Override
     public void onItemRemoved(RemoteopenhabItem item) {
+        itemsTypes.remove(item.name);
         removeChannels(List.of(item));
     }
 
     @Override
     public void onItemUpdated(RemoteopenhabItem newItem, RemoteopenhabItem oldItem) {
+        itemsTypes.put(newItem.name, getItemType(newItem));
         if (!newItem.type.equals(oldItem.type)) {
             createChannels(List.of(newItem), false);
         } else {
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.remoteopenhab.internal.rest;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.remoteopenhab.internal.data.RemoteopenhabEvent;
+import org.openhab.binding.remoteopenhab.internal.data.RemoteopenhabEventPayload;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Decodes the events received through the SSE connection in a single pass, without binding them through reflection.
+ * Item state events are by far the most frequent events, so their payload is decoded the same way.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RemoteopenhabEventReader {
+
+    private RemoteopenhabEventReader() {
+    }
+
+    /**
+     * Decodes an event. The payload is kept as JSON string, so that it is only decoded if the event is handled.
+     *
+     * @param data the data of the SSE event
+     * @return the event
+     * @throws JsonSyntaxException if the data is not a valid event
+     */
+    public static RemoteopenhabEvent readEvent(String data) throws JsonSyntaxException {
+        RemoteopenhabEvent event = new RemoteopenhabEvent();
+        try (JsonReader reader = new JsonReader(new StringReader(data))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "type":
+                        event.type = nextString(reader);
+                        break;
+                    case "topic":
+                        event.topic = nextString(reader);
+                        break;
+                    case "payload":
+                        event.payload = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return event;
+    }
+
+    /**
+     * Decodes the payload of an ItemStateEvent, ItemStateChangedEvent or GroupItemStateChangedEvent event.
+     * The previous state contained in the payload of state changed events is skipped.
+     *
+     * @param payload the payload of the event
+     * @return the new state and its type
+     * @throws JsonSyntaxException if the payload is not a valid state payload
+     */
+    public static RemoteopenhabEventPayload readStatePayload(String payload) throws JsonSyntaxException {
+        RemoteopenhabEventPayload statePayload = new RemoteopenhabEventPayload();
+        try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "type":
+                        statePayload.type = nextString(reader);
+                        break;
+                    case "value":
+                        statePayload.value = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return statePayload;
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return "";
+        }
+        return reader.nextString();
+    }
+}
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -81,6 +82,11 @@ public class RemoteopenhabRestClient {
 
     private static final int REQUEST_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(30);
 
+    /*
+     * Above this number of items, the events of all items are requested, to keep the URL of the SSE connection short
+     */
+    private static final int MAX_FILTERED_ITEMS = 100;
+
     private final Logger logger = LoggerFactory.getLogger(RemoteopenhabRestClient.class);
 
     private final ClientBuilder clientBuilder;
@@ -97,6 +103,7 @@ public class RemoteopenhabRestClient {
     private @Nullable String restApiVersion;
     private Map<String, @Nullable String> apiEndPointsUrls = new HashMap<>();
     private @Nullable String topicNamespace;
+    private volatile @Nullable Set<String> itemsFilter;
     private boolean authenticateAnyway;
     private String accessToken;
     private String credentialToken;
@@ -259,6 +266,46 @@ public class RemoteopenhabRestClient {
         return namespace != null ? namespace : "openhab";
     }
 
+    /**
+     * Restricts the item state events to the given items. Events of other items are ignored immediately; the
+     * remote server only stops sending them once the SSE connection is opened again.
+     *
+     * @param itemNames the names of the items or null to handle the state events of all items
+     * @return true if the filter changed
+     */
+    public boolean setItemsFilter(@Nullable Set<String> itemNames) {
+        @Nullable
+        Set<String> filter = itemNames == null ? null : Set.copyOf(itemNames);
+        boolean changed = !Objects.equals(filter, itemsFilter);
+        itemsFilter = filter;
+        return changed;
+    }
+
+    private boolean isItemFiltered(String itemName) {
+        @Nullable
+        Set<String> filter = itemsFilter;
+        return filter != null && !filter.contains(itemName);
+    }
+
+    private String getEventTopics() {
+        String namespace = getTopicNamespace();
+        @Nullable
+        Set<String> filter = itemsFilter;
+        StringBuilder topics = new StringBuilder();
+        if (filter == null || filter.size() > MAX_FILTERED_ITEMS) {
+            topics.append(String.format("%s/items/*/*", namespace));
+        } else {
+            // Added, removed and updated items are required for all items to keep the channels up to date
+            topics.append(String.format("%s/items/*/added,%s/items/*/removed,%s/items/*/updated", namespace,
+                    namespace, namespace));
+            filter.stream().sorted()
+                    .forEach(itemName -> topics.append(String.format(",%s/items/%s/*", namespace, itemName)));
+        }
+        topics.append(String.format(",%s/things/*/*,%s/channels/*/triggered,openhab/channels/*/descriptionchanged",
+                namespace, namespace));
+        return topics.toString();
+    }
+
     public void start() {
         synchronized (startStopLock) {
             logger.debug("Opening EventSource");
@@ -326,9 +373,7 @@ public class RemoteopenhabRestClient {
 
         String url;
         try {
-            url = String.format(
-                    "%s?topics=%s/items/*/*,%s/things/*/*,%s/channels/*/triggered,openhab/channels/*/descriptionchanged",
-                    getRestApiUrl("events"), getTopicNamespace(), getTopicNamespace(), getTopicNamespace());
+            url = String.format("%s?topics=%s", getRestApiUrl("events"), getEventTopics());
         } catch (RemoteopenhabException e) {
             logger.debug("{}", e.getMessage());
             return;
@@ -404,7 +449,7 @@ public class RemoteopenhabRestClient {
         }
 
         try {
-            RemoteopenhabEvent event = jsonParser.fromJson(data, RemoteopenhabEvent.class);
+            RemoteopenhabEvent event = RemoteopenhabEventReader.readEvent(data);
             String itemName;
             String thingUID;
             RemoteopenhabEventPayload payload;
@@ -413,19 +458,28 @@ public class RemoteopenhabRestClient {
             switch (event.type) {
                 case "ItemStateEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "state");
-                    payload = jsonParser.fromJson(event.payload, RemoteopenhabEventPayload.class);
+                    if (isItemFiltered(itemName)) {
+                        break;
+                    }
+                    payload = RemoteopenhabEventReader.readStatePayload(event.payload);
                     itemsListeners.forEach(
                             listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, false));
                     break;
                 case "ItemStateChangedEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "statechanged");
-                    payload = jsonParser.fromJson(event.payload, RemoteopenhabEventPayload.class);
+                    if (isItemFiltered(itemName)) {
+                        break;
+                    }
+                    payload = RemoteopenhabEventReader.readStatePayload(event.payload);
                     itemsListeners.forEach(
                             listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, true));
                     break;
                 case "GroupItemStateChangedEvent":
                     itemName = extractItemNameFromTopic(event.topic, event.type, "statechanged");
-                    payload = jsonParser.fromJson(event.payload, RemoteopenhabEventPayload.class);
+                    if (isItemFiltered(itemName)) {
+                        break;
+                    }
+                    payload = RemoteopenhabEventReader.readStatePayload(event.payload);
                     itemsListeners.forEach(
                             listener -> listener.onItemStateEvent(itemName, payload.type, payload.value, false));
                     break;
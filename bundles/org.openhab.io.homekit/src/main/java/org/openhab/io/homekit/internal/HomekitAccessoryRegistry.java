@@ -56,7 +56,13 @@ class HomekitAccessoryRegistry {
         return configurationRevision;
     }
 
-    public synchronized void remove(String itemName) {
+    /**
+     * Removes the accessory of an item
+     *
+     * @param itemName the name of the item
+     * @return true if the item had an accessory
+     */
+    public synchronized boolean remove(String itemName) {
         if (createdAccessories.containsKey(itemName)) {
             HomekitAccessory accessory = createdAccessories.remove(itemName);
             logger.trace("Removed accessory {} for taggedItem {}", accessory, itemName);
@@ -66,7 +72,9 @@ class HomekitAccessoryRegistry {
             } else {
                 logger.warn("trying to remove {} but bridge is null", accessory);
             }
+            return true;
         }
+        return false;
     }
 
     public synchronized void clear() {
@@ -12,10 +12,18 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.StateChangeListener;
@@ -31,11 +39,25 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Each item has a single state change listener, which dispatches to the callbacks of all characteristics linked to
+ * the item. The callbacks of changes within a short delay are invoked together, and only once per characteristic,
+ * since HomeKit clients read the current value when notified.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
+    /**
+     * Delay in milliseconds to collect the changes notified to the HomeKit clients together
+     */
+    private static final long NOTIFICATION_DELAY_MS = 50;
+
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
-    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<GenericItem, ItemSubscriptions> subscriptionsByItem = new ConcurrentHashMap<>();
+    private final Set<HomekitCharacteristicChangeCallback> pendingCallbacks = new LinkedHashSet<>();
+    private boolean notificationScheduled = false;
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -50,16 +72,16 @@ public class HomekitAccessoryUpdater {
             logger.trace("The received subscription contains a null callback, skipping");
             return;
         }
-        ItemKey itemKey = new ItemKey(item, key);
-        subscriptionsByName.compute(itemKey, (k, v) -> {
-            if (v != null) {
-                logger.debug("Received duplicate subscription for {} / {}", item, key);
-                unsubscribe(item, key);
+        subscriptionsByItem.compute(item, (k, subscriptions) -> {
+            if (subscriptions == null) {
+                subscriptions = new ItemSubscriptions(item);
+                item.addStateChangeListener(subscriptions);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
-            item.addStateChangeListener(subscription);
-            return subscription;
+            if (subscriptions.callbacks.put(getCallbackKey(key), callback) != null) {
+                logger.debug("Received duplicate subscription for {} / {}", item, key);
+            }
+            return subscriptions;
         });
     }
 
@@ -71,71 +93,69 @@ public class HomekitAccessoryUpdater {
         if (item == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
-            logger.trace("Removing existing subscription for {} / {}", item, key);
-            item.removeStateChangeListener(v);
-            return null;
+        subscriptionsByItem.computeIfPresent(item, (k, subscriptions) -> {
+            if (subscriptions.callbacks.remove(getCallbackKey(key)) != null) {
+                logger.trace("Removing existing subscription for {} / {}", item, key);
+            }
+            if (subscriptions.callbacks.isEmpty()) {
+                subscriptions.item.removeStateChangeListener(subscriptions);
+                return null;
+            }
+            return subscriptions;
         });
     }
 
-    @FunctionalInterface
-    @NonNullByDefault
-    private interface Subscription extends StateChangeListener {
+    private static String getCallbackKey(String key) {
+        return key == null ? "" : key;
+    }
 
-        @Override
-        void stateChanged(Item item, State oldState, State newState);
+    private void notifyLater(Iterable<HomekitCharacteristicChangeCallback> callbacks) {
+        synchronized (pendingCallbacks) {
+            callbacks.forEach(pendingCallbacks::add);
+            if (!notificationScheduled && !pendingCallbacks.isEmpty()) {
+                notificationScheduled = true;
+                scheduler.schedule(this::notifyPendingCallbacks, NOTIFICATION_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
 
-        @Override
-        default void stateUpdated(Item item, State state) {
-            // Do nothing on non-change update
+    private void notifyPendingCallbacks() {
+        List<HomekitCharacteristicChangeCallback> callbacks;
+        synchronized (pendingCallbacks) {
+            callbacks = new ArrayList<>(pendingCallbacks);
+            pendingCallbacks.clear();
+            notificationScheduled = false;
+        }
+        logger.trace("Notifying {} changed characteristics", callbacks.size());
+        for (HomekitCharacteristicChangeCallback callback : callbacks) {
+            try {
+                callback.changed();
+            } catch (RuntimeException e) {
+                logger.warn("Notifying HomeKit clients of a change failed: {}", e.getMessage());
+            }
         }
     }
 
-    private static class ItemKey {
-        public final GenericItem item;
-        public final String key;
+    /**
+     * The state change listener of an item, dispatching to the callbacks of the characteristics by their key
+     */
+    @NonNullByDefault
+    private class ItemSubscriptions implements StateChangeListener {
+        private final GenericItem item;
+        private final Map<String, HomekitCharacteristicChangeCallback> callbacks = new ConcurrentHashMap<>();
 
-        public ItemKey(GenericItem item, String key) {
+        ItemSubscriptions(GenericItem item) {
             this.item = item;
-            this.key = key;
         }
 
         @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((item == null) ? 0 : item.hashCode());
-            result = prime * result + ((key == null) ? 0 : key.hashCode());
-            return result;
+        public void stateChanged(Item item, State oldState, State newState) {
+            notifyLater(callbacks.values());
         }
 
         @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            ItemKey other = (ItemKey) obj;
-            if (item == null) {
-                if (other.item != null) {
-                    return false;
-                }
-            } else if (!item.equals(other.item)) {
-                return false;
-            }
-            if (key == null) {
-                if (other.key != null) {
-                    return false;
-                }
-            } else if (!key.equals(other.key)) {
-                return false;
-            }
-            return true;
+        public void stateUpdated(Item item, State state) {
+            // Do nothing on non-change update
         }
     }
 }
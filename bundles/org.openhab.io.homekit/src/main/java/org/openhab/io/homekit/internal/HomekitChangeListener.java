@@ -118,7 +118,12 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         };
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        // only items with HomeKit metadata can be accessories, so not all items need to be checked
+        for (Metadata metadata : metadataRegistry.getAll()) {
+            if (HomekitAccessoryFactory.METADATA_KEY.equals(metadata.getUID().getNamespace())) {
+                getItemOptional(metadata.getUID().getItemName()).ifPresent(this::createRootAccessories);
+            }
+        }
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
@@ -201,14 +206,19 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private synchronized void applyUpdates() {
         logger.trace("apply updates");
+        boolean accessoriesChanged = false;
         for (final String name : pendingUpdates) {
-            accessoryRegistry.remove(name);
+            accessoriesChanged |= accessoryRegistry.remove(name);
             logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
+            Optional<Item> item = getItemOptional(name);
+            if (item.isPresent()) {
+                accessoriesChanged |= createRootAccessories(item.get());
+            }
         }
-        if (!pendingUpdates.isEmpty()) {
+        pendingUpdates.clear();
+        // changes of items which are no accessories don't require the clients to reload all accessories
+        if (accessoriesChanged) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
     }
 
@@ -280,8 +290,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * Switch light "Light" (gLight) {homekit="Lighting.OnState"}
      *
      * @param item openHAB item
+     * @return true if the item is a HomeKit accessory
      */
-    private void createRootAccessories(Item item) {
+    private boolean createRootAccessories(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
@@ -291,7 +302,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
             accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
                     rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
+            return true;
         }
+        return false;
     }
 
     private void createRootAccessory(HomekitTaggedItem taggedItem) {
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized JSON object of a collection of hue resources, like all lights or all groups.
+ * <p>
+ * Hue clients like Amazon Echos poll those collections every few seconds. Each entry is only serialized again if its
+ * fingerprint changed, for example because the state of the associated item changed. The JSON object of the whole
+ * collection is only assembled again if at least one entry changed. Every new JSON object gets a new version, which
+ * is used as HTTP entity tag.
+ *
+ * @param <T> The hue resource type
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SerializedCollection<T> {
+    /**
+     * A serialized collection with its version
+     */
+    public static class Snapshot {
+        public final String json;
+        public final String etag;
+
+        Snapshot(String json, String etag) {
+            this.json = json;
+            this.etag = etag;
+        }
+    }
+
+    private static class Entry {
+        final String json;
+        final String member;
+        final Object fingerprint;
+
+        Entry(String json, String member, Object fingerprint) {
+            this.json = json;
+            this.member = member;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    // Entity tags must not repeat after a restart, so the version is prefixed with the creation time
+    private final String etagPrefix = Long.toHexString(System.currentTimeMillis()) + "-";
+    private final Gson gson;
+    private final Function<T, Object> fingerprintFunction;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private @Nullable Snapshot snapshot;
+    private long version = 0;
+
+    /**
+     * Creates a serialized collection.
+     *
+     * @param gson The gson instance used for serializing the entries
+     * @param fingerprintFunction Returns the values an entry is serialized from, usually as list. The entry is only
+     *            serialized again if the returned object is not equal to the one of the last serialization.
+     */
+    public SerializedCollection(Gson gson, Function<T, Object> fingerprintFunction) {
+        this.gson = gson;
+        this.fingerprintFunction = fingerprintFunction;
+    }
+
+    /**
+     * Returns the JSON object of the given collection. Only changed entries are serialized.
+     *
+     * @param collection The current collection, mapping hue IDs to entries
+     * @return The serialized collection and its entity tag
+     */
+    public synchronized Snapshot get(Map<String, T> collection) {
+        Snapshot current = snapshot;
+        boolean changed = current == null || entries.size() != collection.size();
+        List<Entry> members = new ArrayList<>(collection.size());
+        for (Map.Entry<String, T> element : collection.entrySet()) {
+            Entry previous = entries.get(element.getKey());
+            Entry entry = update(element.getKey(), element.getValue());
+            changed |= entry != previous;
+            members.add(entry);
+        }
+        if (!changed && current != null) {
+            return current;
+        }
+
+        entries.keySet().retainAll(collection.keySet());
+        String json = members.stream().map(entry -> entry.member).collect(Collectors.joining(",", "{", "}"));
+        current = new Snapshot(json, etagPrefix + (++version));
+        snapshot = current;
+        return current;
+    }
+
+    /**
+     * Returns the JSON object of a single entry of the collection.
+     *
+     * @param id The hue ID of the entry
+     * @param element The current entry
+     * @return The serialized entry
+     */
+    public synchronized String get(String id, T element) {
+        Entry previous = entries.get(id);
+        Entry entry = update(id, element);
+        if (entry != previous) {
+            // The cached collection does not contain this entry in its current form anymore
+            snapshot = null;
+        }
+        return entry.json;
+    }
+
+    /**
+     * Serializes the entry again, if its fingerprint changed.
+     *
+     * @return The serialized entry
+     */
+    private Entry update(String id, T element) {
+        Entry entry = entries.get(id);
+        Object fingerprint = fingerprintFunction.apply(element);
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            String json = gson.toJson(element);
+            entry = new Entry(json, gson.toJson(id) + ":" + json, fingerprint);
+            entries.put(id, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Serializes all entries again on the next request. This is required if an entry was modified in a way its
+     * fingerprint does not reflect.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        snapshot = null;
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -26,8 +27,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -45,6 +49,7 @@ import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.HueEmulationService;
 import org.openhab.io.hueemulation.internal.NetworkUtils;
+import org.openhab.io.hueemulation.internal.SerializedCollection;
 import org.openhab.io.hueemulation.internal.StateUtils;
 import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
 import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
@@ -91,6 +96,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
  * </p>
  *
  * <p>
+ * The serialized lights and groups are kept in {@link SerializedCollection}s, because hue clients poll them
+ * constantly. A light is only serialized again if the state or label of its item changed.
+ * </p>
+ *
+ * <p>
  * </p>
  *
  * @author David Graeff - Initial contribution
@@ -118,12 +128,17 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    private @NonNullByDefault({}) SerializedCollection<HueLightEntry> serializedLights;
+    private @NonNullByDefault({}) SerializedCollection<HueGroupEntry> serializedGroups;
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        serializedLights = new SerializedCollection<>(cs.gson, LightsAndGroups::lightFingerprint);
+        serializedGroups = new SerializedCollection<>(cs.gson, this::groupFingerprint);
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
@@ -133,6 +148,27 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         }
     }
 
+    /**
+     * A light is serialized from its item state and label and from the last hue state change.
+     */
+    private static Object lightFingerprint(HueLightEntry light) {
+        return Arrays.asList(light, light.item, light.item.getState(), light.item.getLabel(), light.lastCommand,
+                light.lastHueChange);
+    }
+
+    /**
+     * A group is serialized from the hue IDs of its members, which can be changed by the item metadata. The group
+     * action is only changed by {@link #setGroupActionApi(UriInfo, String, String, String)}, which invalidates all
+     * serialized groups.
+     */
+    private Object groupFingerprint(HueGroupEntry group) {
+        GroupItem groupItem = group.groupItem;
+        List<String> lights = groupItem != null
+                ? groupItem.getMembers().stream().map(cs::mapItemUIDtoHueID).collect(Collectors.toList())
+                : group.lights;
+        return Arrays.asList(group, groupItem, lights, group.name, group.type, group.roomclass);
+    }
+
     /**
      * Unregisters from the {@link ItemRegistry}.
      */
@@ -244,15 +280,29 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         hueDevice.updateItem(element);
     }
 
+    /**
+     * Responds with the given serialized collection, or with "304 Not Modified" if the client already knows this
+     * version of the collection.
+     */
+    private static Response collectionResponse(Request request, SerializedCollection.Snapshot snapshot) {
+        EntityTag etag = new EntityTag(snapshot.etag);
+        ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(snapshot.json).tag(etag).build();
+    }
+
     @GET
     @Path("{username}/lights")
-    @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "304", description = "Not modified") })
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return collectionResponse(request, serializedLights.get(cs.ds.lights));
     }
 
     @GET
@@ -288,7 +338,11 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry hueDevice = cs.ds.lights.get(id);
+        if (hueDevice == null) {
+            return Response.ok(cs.gson.toJson(null)).build();
+        }
+        return Response.ok(serializedLights.get(id, hueDevice)).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -430,6 +484,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
                 logger.warn("No event publisher. Cannot post item '{}' command!", groupItem.getUID());
             }
         }
+        // The group action is not part of the fingerprint of a group
+        serializedGroups.invalidate();
 
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
         }.getType())).build();
@@ -437,13 +493,14 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
     @GET
     @Path("{username}/groups")
-    @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "304", description = "Not modified") })
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return collectionResponse(request, serializedGroups.get(cs.ds.groups));
     }
 
     @GET
@@ -16,7 +16,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.Inet4Address;
@@ -111,6 +111,9 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
     //// objects, set within activate()
     protected @NonNullByDefault({}) String xmlDoc;
     protected @NonNullByDefault({}) String xmlDocWithAddress;
+    // The encoded description.xml and its entity tag, both served without any per request encoding
+    private volatile byte[] xmlDocBytes = new byte[0];
+    private volatile String xmlDocETag = "";
     private @NonNullByDefault({}) String baseurl;
 
     //// services
@@ -157,13 +160,23 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
     @NonNullByDefault({})
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-        if (xmlDocWithAddress == null || xmlDocWithAddress.isEmpty()) {
+        // Read the entity tag first: it is assigned after the document, so it never belongs to a newer document
+        String etag = xmlDocETag;
+        byte[] content = xmlDocBytes;
+        if (content.length == 0) {
             resp.sendError(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-        try (PrintWriter out = resp.getWriter()) {
-            resp.setContentType("application/xml");
-            out.write(xmlDocWithAddress);
+        resp.setHeader("ETag", etag);
+        if (etag.equals(req.getHeader("If-None-Match"))) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setContentType("application/xml");
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setContentLength(content.length);
+        try (OutputStream out = resp.getOutputStream()) {
+            out.write(content);
         }
     }
 
@@ -234,6 +247,8 @@ public class UpnpServer extends HttpServlet implements Consumer<HueEmulationConf
 
         xmlDocWithAddress = String.format(xmlDoc, urlBase, r.addressString, cs.ds.config.bridgeid, cs.ds.config.uuid,
                 cs.ds.config.devicename);
+        xmlDocBytes = xmlDocWithAddress.getBytes(StandardCharsets.UTF_8);
+        xmlDocETag = "\"" + Integer.toHexString(xmlDocWithAddress.hashCode()) + "\"";
     }
 
     protected @Nullable HueEmulationConfigWithRuntime performAddressTest(
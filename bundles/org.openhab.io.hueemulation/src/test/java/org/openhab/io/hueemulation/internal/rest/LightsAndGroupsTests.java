@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -31,6 +32,8 @@ import org.junit.jupiter.api.Test;
 import org.openhab.core.events.Event;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
 import org.openhab.core.items.events.ItemCommandEvent;
 import org.openhab.core.library.items.ColorItem;
 import org.openhab.core.library.items.SwitchItem;
@@ -335,6 +338,59 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertThat(etag, is(notNullValue()));
+        assertThat(response.readEntity(String.class), containsString("\"on\":false"));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, response.getStatus());
+
+        // A changed item state results in a new version of the lights
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaderString(HttpHeaders.ETAG), is(not(etag)));
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+    }
+
+    @Test
+    public void allGroupsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, response.getStatus());
+
+        // A new group results in a new version of the groups
+        cs.ds.groups.put("11", new HueGroupEntry("newgroup", new GroupItem("newgroup"), DeviceType.SwitchType));
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.readEntity(String.class), containsString("newgroup"));
+    }
+
+    @Test
+    public void groupsAreModifiedByChangedHueIDs() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+
+        // A member of a group gets another hue ID
+        commonSetup.metadataRegistry.update(new Metadata(new MetadataKey(ConfigStore.METAKEY, "switch"), "99", null));
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.readEntity(String.class), containsString("\"99\""));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
@@ -26,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.glassfish.grizzly.osgi.httpservice.HttpServiceImpl;
@@ -118,6 +119,11 @@ public class UpnpTests {
         String body = response.readEntity(String.class);
         assertThat(body, is(subject.xmlDocWithAddress));
 
+        // The description is not sent again, if the client already has it
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        response = commonSetup.client.target(descriptionPath).request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, response.getStatus());
+
         if (r == null) {
             throw new IllegalStateException();
         }
@@ -20,17 +20,25 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
@@ -38,6 +46,7 @@ import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +67,34 @@ import io.socket.engineio.client.Transport;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+    /*
+     * Item updates are collected for this time and only the latest state of each item is sent
+     */
+    private static final int ITEM_UPDATE_DELAY_MS = 200;
+
+    /*
+     * The maximum number of proxied requests sent to the local openHAB at the same time, long-polling and event
+     * stream requests are not limited
+     */
+    private static final int MAX_RUNNING_REQUESTS = 20;
+
+    /*
+     * Proxied responses larger than this are aborted, except for long-polling and event stream requests
+     */
+    private static final long MAX_RESPONSE_SIZE = 16 * 1024 * 1024;
+
+    /*
+     * Responses for static resources like icons are kept for this time
+     */
+    private static final long RESPONSE_CACHE_TIME_TO_LIVE_MS = 30000;
+    private static final int RESPONSE_CACHE_MAX_RESPONSES = 200;
+    private static final int RESPONSE_CACHE_MAX_RESPONSE_SIZE = 64 * 1024;
+
+    /*
+     * Interval for logging the latency statistics of proxied requests on debug level
+     */
+    private static final int STATISTICS_INTERVAL_MINUTES = 15;
+
     /*
      * Logger for this class
      */
@@ -93,6 +130,23 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This queue limits the number of HTTP requests to local openHAB
+     */
+    private final ProxyRequestQueue requestQueue = new ProxyRequestQueue(MAX_RUNNING_REQUESTS);
+    private final ProxyResponseCache responseCache = new ProxyResponseCache(RESPONSE_CACHE_TIME_TO_LIVE_MS,
+            RESPONSE_CACHE_MAX_RESPONSES, RESPONSE_CACHE_MAX_RESPONSE_SIZE);
+    private final ProxyLatencyStatistics latencyStatistics = new ProxyLatencyStatistics();
+    private @Nullable ScheduledFuture<?> statisticsJob;
+
+    /*
+     * This map holds the latest states of items which have not been sent to the openHAB Cloud yet
+     */
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> itemUpdateJob;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -216,6 +270,8 @@ public class CloudClient {
             }
         });
         socket.connect();
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL_MINUTES,
+                STATISTICS_INTERVAL_MINUTES, TimeUnit.MINUTES);
     }
 
     /**
@@ -237,6 +293,7 @@ public class CloudClient {
         isConnected = false;
         // And clean up the list of running requests
         runningRequests.clear();
+        requestQueue.clear();
     }
 
     /**
@@ -269,6 +326,7 @@ public class CloudClient {
     }
 
     private void handleRequestEvent(JSONObject data) {
+        long receivedAt = System.currentTimeMillis();
         try {
             // Get unique request Id
             int requestId = data.getInt("id");
@@ -310,6 +368,10 @@ public class CloudClient {
             logger.debug("Request method is {}", requestMethod);
             Request request = jettyClient.newRequest(requestUri);
             setRequestHeaders(request, requestHeadersJson);
+            // The response is compressed for the openHAB Cloud here, the local openHAB should not compress it
+            String acceptEncoding = request.getHeaders().get(HttpHeader.ACCEPT_ENCODING);
+            request.header(HttpHeader.ACCEPT_ENCODING, null);
+            AtomicReference<@Nullable ResponseContentEncoder> encoderReference = new AtomicReference<>();
             String proto = protocol;
             if (data.has("protocol")) {
                 proto = data.getString("protocol");
@@ -325,12 +387,41 @@ public class CloudClient {
                 request.content(new BytesContentProvider(requestBody.getBytes()));
             }
 
+            boolean longLived = isLongLived(requestPath, request);
+            ProxyResponseCache.ResponseBuilder cachedResponse = null;
+            if (ProxyResponseCache.isCacheable(requestMethod, requestPath)) {
+                String cacheKey = requestUri + " " + ResponseContentEncoder.negotiate(acceptEncoding);
+                ProxyResponseCache.Response response = responseCache.get(cacheKey);
+                if (response != null) {
+                    logger.debug("Responding to request {} from cache", requestId);
+                    sendCachedResponse(requestId, response);
+                    latencyStatistics.record(requestPath, System.currentTimeMillis() - receivedAt);
+                    return;
+                }
+                cachedResponse = responseCache.newResponse(cacheKey);
+            }
+            ProxyResponseCache.ResponseBuilder cacheBuilder = cachedResponse;
+            AtomicLong responseSize = new AtomicLong();
+
             request.onResponseHeaders(response -> {
                 logger.debug("onHeaders {}", requestId);
+                HttpFields headers = response.getHeaders();
+                ResponseContentEncoder encoder = null;
+                if (method != HttpMethod.HEAD && response.getStatus() != HttpStatus.NO_CONTENT_204
+                        && response.getStatus() != HttpStatus.NOT_MODIFIED_304) {
+                    long contentLength = headers.getLongField(HttpHeader.CONTENT_LENGTH.asString());
+                    encoder = ResponseContentEncoder.create(acceptEncoding, headers.get(HttpHeader.CONTENT_TYPE),
+                            headers.get(HttpHeader.CONTENT_ENCODING), contentLength);
+                    encoderReference.set(encoder);
+                }
                 JSONObject responseJson = new JSONObject();
                 try {
+                    JSONObject headersJson = getJSONHeaders(headers, encoder);
+                    if (cacheBuilder != null && isCacheable(headers)) {
+                        cacheBuilder.headers(headersJson, response.getStatus());
+                    }
                     responseJson.put("id", requestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", headersJson);
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
@@ -341,17 +432,26 @@ public class CloudClient {
                 }
             }).onResponseContent((theResponse, content) -> {
                 logger.debug("onResponseContent: {}, content size {}", requestId, String.valueOf(content.remaining()));
-                JSONObject responseJson = new JSONObject();
+                if (!longLived && responseSize.addAndGet(content.remaining()) > MAX_RESPONSE_SIZE) {
+                    logger.debug("Response to request {} exceeds {} bytes and is aborted", requestId,
+                            MAX_RESPONSE_SIZE);
+                    theResponse.abort(new IOException("Response size limit exceeded"));
+                    return;
+                }
+                if (logger.isTraceEnabled()) {
+                    logger.trace("{}", StandardCharsets.UTF_8.decode(content.duplicate()).toString());
+                }
+                ResponseContentEncoder encoder = encoderReference.get();
                 try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("body", BufferUtil.toArray(content));
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
+                    byte[] body = encoder != null ? encoder.encode(content) : BufferUtil.toArray(content);
+                    if (body.length > 0) {
+                        sendResponseContent(requestId, body);
+                        if (cacheBuilder != null) {
+                            cacheBuilder.content(body);
+                        }
                     }
-                    socket.emit("responseContentBinary", responseJson);
-                    logger.trace("Sent content to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
+                } catch (IOException e) {
+                    logger.debug("Could not compress content of request {}: {}", requestId, e.getMessage());
                 }
             }).onRequestFailure((origRequest, failure) -> {
                 logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
@@ -363,7 +463,8 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }).send(result -> {
+            });
+            Response.CompleteListener completeListener = result -> {
                 logger.debug("onComplete: {}", requestId);
                 // Remove this request from list of running requests
                 runningRequests.remove(requestId);
@@ -379,24 +480,121 @@ public class CloudClient {
                         logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
                     }
                 }
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
+                ResponseContentEncoder encoder = encoderReference.getAndSet(null);
+                if (result.getResponseFailure() != null) {
+                    // the response is incomplete, e.g. aborted because of its size
+                    if (result.getRequestFailure() == null) {
+                        JSONObject responseJson = new JSONObject();
+                        try {
+                            responseJson.put("id", requestId);
+                            responseJson.put("responseStatusText",
+                                    "openHAB connection error: " + result.getResponseFailure().getMessage());
+                            socket.emit("responseError", responseJson);
+                        } catch (JSONException e) {
+                            logger.debug("{}", e.getMessage());
+                        }
+                    }
+                } else {
+                    if (encoder != null) {
+                        try {
+                            byte[] body = encoder.finish();
+                            if (body.length > 0) {
+                                sendResponseContent(requestId, body);
+                                if (cacheBuilder != null) {
+                                    cacheBuilder.content(body);
+                                }
+                            }
+                        } catch (IOException e) {
+                            logger.debug("Could not compress content of request {}: {}", requestId, e.getMessage());
+                        }
+                    }
+                    JSONObject responseJson = new JSONObject();
+                    try {
+                        responseJson.put("id", requestId);
+                        socket.emit("responseFinished", responseJson);
+                        logger.debug("Finished responding to request {}", requestId);
+                    } catch (JSONException e) {
+                        logger.debug("{}", e.getMessage());
+                    }
                 }
-            });
+                if (cacheBuilder != null && result.isSucceeded()) {
+                    cacheBuilder.complete();
+                }
+                if (!longLived) {
+                    latencyStatistics.record(requestPath, System.currentTimeMillis() - receivedAt);
+                    // Start the next queued request
+                    requestQueue.finished();
+                }
+            };
 
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            // Add the request to the list of currently running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
+            if (longLived) {
+                request.send(completeListener);
+            } else {
+                requestQueue.submit(requestId, ProxyRequestQueue.getPriority(requestPath),
+                        () -> request.send(completeListener));
+            }
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
     }
 
+    /**
+     * Long-polling and event stream requests stay open until there is an update, they are neither queued nor
+     * limited in size
+     */
+    private boolean isLongLived(String requestPath, Request request) {
+        return requestPath.startsWith("/rest/events") || requestPath.startsWith("/rest/sitemaps/events")
+                || request.getHeaders().containsKey("X-Atmosphere-Transport");
+    }
+
+    private boolean isCacheable(HttpFields headers) {
+        String cacheControl = headers.get(HttpHeader.CACHE_CONTROL);
+        return !headers.containsKey(HttpHeader.SET_COOKIE.asString()) && (cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    private void sendCachedResponse(int requestId, ProxyResponseCache.Response response) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("headers", response.headers);
+            responseJson.put("responseStatusCode", response.statusCode);
+            responseJson.put("responseStatusText", "OK");
+            socket.emit("responseHeader", responseJson);
+            for (byte[] body : response.content) {
+                sendResponseContent(requestId, body);
+            }
+            JSONObject finishedJson = new JSONObject();
+            finishedJson.put("id", requestId);
+            socket.emit("responseFinished", finishedJson);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Proxied request latencies, {}:", requestQueue);
+            for (String line : latencyStatistics.getSummary()) {
+                logger.debug("  {}", line);
+            }
+        }
+    }
+
+    private void sendResponseContent(int requestId, byte[] body) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("body", body);
+            socket.emit("responseContentBinary", responseJson);
+            logger.trace("Sent content to request {}", requestId);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         Iterator<String> headersIterator = requestHeadersJson.keys();
         // Convert JSONObject of headers into Header ArrayList
@@ -419,6 +617,11 @@ public class CloudClient {
         try {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
+            if (requestQueue.cancel(requestId)) {
+                // the request has not been sent yet
+                runningRequests.remove(requestId);
+                return;
+            }
             // Find and abort running request
             Request request = runningRequests.get(requestId);
             if (request != null) {
@@ -518,25 +721,50 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are collected for a short time and only the latest state of each
+     * item is sent, so that an item changing rapidly does not saturate the connection.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        if (!isConnected()) {
+            logger.debug("No connection, Item update is not sent");
+            return;
+        }
+        synchronized (pendingItemUpdates) {
+            // remove first, so that the items are sent in the order of their latest update
+            pendingItemUpdates.remove(itemName);
+            pendingItemUpdates.put(itemName, itemState);
+            if (itemUpdateJob == null) {
+                itemUpdateJob = scheduler.schedule(this::sendPendingItemUpdates, ITEM_UPDATE_DELAY_MS,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void sendPendingItemUpdates() {
+        Map<String, String> itemUpdates;
+        synchronized (pendingItemUpdates) {
+            itemUpdates = new LinkedHashMap<>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+            itemUpdateJob = null;
+        }
+        if (!isConnected()) {
+            logger.debug("No connection, {} item updates are not sent", itemUpdates.size());
+            return;
+        }
+        for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+            logger.debug("Sending update '{}' for item '{}'", itemUpdate.getValue(), itemUpdate.getKey());
             JSONObject itemUpdateMessage = new JSONObject();
             try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
+                itemUpdateMessage.put("itemName", itemUpdate.getKey());
+                itemUpdateMessage.put("itemStatus", itemUpdate.getValue());
                 socket.emit("itemupdate", itemUpdateMessage);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
-        } else {
-            logger.debug("No connection, Item update is not sent");
         }
     }
 
@@ -552,6 +780,22 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        synchronized (pendingItemUpdates) {
+            ScheduledFuture<?> job = itemUpdateJob;
+            if (job != null) {
+                job.cancel(false);
+                itemUpdateJob = null;
+            }
+            pendingItemUpdates.clear();
+        }
+        ScheduledFuture<?> job = statisticsJob;
+        if (job != null) {
+            job.cancel(false);
+            statisticsJob = null;
+        }
+        logStatistics();
+        requestQueue.clear();
+        responseCache.clear();
         socket.disconnect();
     }
 
@@ -567,11 +811,20 @@ public class CloudClient {
         this.listener = listener;
     }
 
-    private JSONObject getJSONHeaders(HttpFields httpFields) {
+    private JSONObject getJSONHeaders(HttpFields httpFields, @Nullable ResponseContentEncoder encoder) {
         JSONObject headersJSON = new JSONObject();
         try {
             for (HttpField field : httpFields) {
-                headersJSON.put(field.getName(), field.getValue());
+                // the length of the compressed body is not known in advance
+                if (encoder == null || field.getHeader() != HttpHeader.CONTENT_LENGTH) {
+                    headersJSON.put(field.getName(), field.getValue());
+                }
+            }
+            if (encoder != null) {
+                headersJSON.put(HttpHeader.CONTENT_ENCODING.asString(), encoder.getEncoding());
+                String vary = httpFields.get(HttpHeader.VARY);
+                headersJSON.put(HttpHeader.VARY.asString(),
+                        vary == null || vary.isEmpty() ? "Accept-Encoding" : vary + ", Accept-Encoding");
             }
         } catch (JSONException e) {
             logger.warn("Error forming response headers: {}", e.getMessage());
@@ -102,6 +102,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         this.httpClient.setMaxConnectionsPerDestination(DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS);
         this.httpClient.setConnectTimeout(DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT);
         this.httpClient.setFollowRedirects(false);
+        // Proxied responses are compressed by the CloudClient, their content must be received as sent by openHAB
+        this.httpClient.getContentDecoderFactories().clear();
 
         this.itemRegistry = itemRegistry;
         this.eventPublisher = eventPublisher;
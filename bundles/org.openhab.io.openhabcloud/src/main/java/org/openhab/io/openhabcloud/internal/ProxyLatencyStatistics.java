@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This class records the latency of proxied requests in a histogram per path, like "/rest/items" or "/icon".
+ * The latency is measured from the reception of a request until its response is complete, including the time the
+ * request was queued.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyLatencyStatistics {
+    /*
+     * Upper bounds of the histogram buckets in milliseconds, the last bucket holds all slower requests
+     */
+    private static final long[] BUCKET_BOUNDS = { 10, 50, 100, 250, 500, 1000, 2500, 5000 };
+
+    /*
+     * Limits the number of histograms, in case requests are sent for many different paths
+     */
+    private static final int MAX_PATHS = 50;
+    private static final String OTHER_PATHS = "other";
+
+    private final Map<String, AtomicLongArray> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the path a request is recorded for. These are the first two segments of REST API paths and the first
+     * segment of other paths.
+     *
+     * @param path the path of the request
+     * @return the path of the histogram
+     */
+    static String getHistogramPath(String path) {
+        int segments = path.startsWith("/rest/") ? 2 : 1;
+        int end = 0;
+        for (int i = 0; i < segments; i++) {
+            int next = path.indexOf('/', end + 1);
+            if (next < 0) {
+                end = path.length();
+                break;
+            }
+            end = next;
+        }
+        return path.substring(0, end);
+    }
+
+    /**
+     * Records the latency of a request
+     *
+     * @param path the path of the request
+     * @param latencyMillis the latency in milliseconds
+     */
+    public void record(String path, long latencyMillis) {
+        String histogramPath = getHistogramPath(path);
+        AtomicLongArray histogram = histograms.get(histogramPath);
+        if (histogram == null) {
+            if (histograms.size() >= MAX_PATHS) {
+                histogramPath = OTHER_PATHS;
+            }
+            histogram = histograms.computeIfAbsent(histogramPath, p -> new AtomicLongArray(BUCKET_BOUNDS.length + 1));
+        }
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && latencyMillis > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        histogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the recorded requests, one line per path with the number of requests per latency bucket, e.g.
+     * "/rest/items: <=10ms: 12, <=50ms: 3, >5000ms: 1"
+     *
+     * @return the lines, sorted by path
+     */
+    public List<String> getSummary() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, AtomicLongArray> entry : new TreeMap<>(histograms).entrySet()) {
+            StringBuilder line = new StringBuilder(entry.getKey()).append(':');
+            AtomicLongArray histogram = entry.getValue();
+            String separator = " ";
+            for (int bucket = 0; bucket < histogram.length(); bucket++) {
+                long count = histogram.get(bucket);
+                if (count > 0) {
+                    line.append(separator).append(bucket < BUCKET_BOUNDS.length ? "<=" : ">")
+                            .append(BUCKET_BOUNDS[Math.min(bucket, BUCKET_BOUNDS.length - 1)]).append("ms: ")
+                            .append(count);
+                    separator = ", ";
+                }
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Removes all recorded requests
+     */
+    public void clear() {
+        histograms.clear();
+    }
+}
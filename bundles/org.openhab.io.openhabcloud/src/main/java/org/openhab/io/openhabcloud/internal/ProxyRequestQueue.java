@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class limits the number of requests proxied from the openHAB Cloud to the local openHAB at the same time.
+ * Requests exceeding the limit are queued by the priority of their path and started once a running request has
+ * finished. Within a priority, requests are started in the order they were received.
+ *
+ * Requests are started one after the other by a single thread at a time. A request finishing while it is started,
+ * e.g. because sending it failed right away, does not start the next request recursively, the next request is
+ * started by the loop which started the finished one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyRequestQueue {
+    /**
+     * Priority of REST API requests, which deliver the data shown by the apps and accept commands
+     */
+    public static final int PRIORITY_HIGH = 0;
+
+    /**
+     * Priority of all other requests, like the pages of the UIs
+     */
+    public static final int PRIORITY_NORMAL = 1;
+
+    /**
+     * Priority of requests for static resources, like icons and images
+     */
+    public static final int PRIORITY_LOW = 2;
+
+    private static class QueuedRequest {
+        private final int requestId;
+        private final int priority;
+        private final long sequence;
+        private final Runnable start;
+
+        QueuedRequest(int requestId, int priority, long sequence, Runnable start) {
+            this.requestId = requestId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.start = start;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ProxyRequestQueue.class);
+
+    private final int maxRunningRequests;
+    private final PriorityQueue<QueuedRequest> queue = new PriorityQueue<>(Comparator
+            .<QueuedRequest> comparingInt(request -> request.priority).thenComparingLong(request -> request.sequence));
+    private final Map<Integer, QueuedRequest> queuedRequests = new HashMap<>();
+    private final Deque<QueuedRequest> startableRequests = new ArrayDeque<>();
+    private long sequence = 0;
+    private int runningRequests = 0;
+    private boolean starting = false;
+
+    /**
+     * Creates a queue
+     *
+     * @param maxRunningRequests the maximum number of requests running at the same time
+     */
+    public ProxyRequestQueue(int maxRunningRequests) {
+        this.maxRunningRequests = Math.max(1, maxRunningRequests);
+    }
+
+    /**
+     * Returns the priority of a request for the given path
+     *
+     * @param path the path of the request
+     * @return one of the PRIORITY constants
+     */
+    public static int getPriority(String path) {
+        if (path.startsWith("/rest/")) {
+            return PRIORITY_HIGH;
+        }
+        if (path.startsWith("/icon/") || path.startsWith("/images/") || path.startsWith("/static/")) {
+            return PRIORITY_LOW;
+        }
+        return PRIORITY_NORMAL;
+    }
+
+    /**
+     * Starts the request, if the limit of running requests is not reached, or queues it otherwise. Each started
+     * request must be reported by {@link #finished()} once it is complete.
+     *
+     * @param requestId the id of the request
+     * @param priority the priority of the request, one of the PRIORITY constants
+     * @param start starts the request
+     */
+    public void submit(int requestId, int priority, Runnable start) {
+        synchronized (this) {
+            QueuedRequest request = new QueuedRequest(requestId, priority, sequence++, start);
+            if (runningRequests >= maxRunningRequests) {
+                queue.add(request);
+                queuedRequests.put(requestId, request);
+                return;
+            }
+            runningRequests++;
+            startableRequests.add(request);
+        }
+        startRequests();
+    }
+
+    /**
+     * Removes a request from the queue, if it has not been started yet
+     *
+     * @param requestId the id of the request
+     * @return true if the request was removed, false if it is not queued
+     */
+    public synchronized boolean cancel(int requestId) {
+        QueuedRequest request = queuedRequests.remove(requestId);
+        return request != null && queue.remove(request);
+    }
+
+    /**
+     * Reports that a started request is complete, so that the next queued request is started
+     */
+    public void finished() {
+        synchronized (this) {
+            QueuedRequest next = queue.poll();
+            if (next == null) {
+                runningRequests = Math.max(0, runningRequests - 1);
+                return;
+            }
+            // the slot of the finished request is passed on to the next request
+            queuedRequests.remove(next.requestId);
+            startableRequests.add(next);
+        }
+        startRequests();
+    }
+
+    /**
+     * Removes all queued requests, for example because the connection to the openHAB Cloud was lost
+     */
+    public synchronized void clear() {
+        queue.clear();
+        queuedRequests.clear();
+    }
+
+    /**
+     * Returns the number of requests waiting to be started
+     */
+    public synchronized int getQueuedRequests() {
+        return queue.size();
+    }
+
+    /**
+     * Starts the startable requests, unless another call is already starting them
+     */
+    private void startRequests() {
+        synchronized (this) {
+            if (starting) {
+                return;
+            }
+            starting = true;
+        }
+        boolean stopped = false;
+        try {
+            while (true) {
+                QueuedRequest request;
+                synchronized (this) {
+                    request = startableRequests.poll();
+                    if (request == null) {
+                        starting = false;
+                        stopped = true;
+                        return;
+                    }
+                }
+                try {
+                    request.start.run();
+                } catch (RuntimeException e) {
+                    logger.debug("Could not start request {}: {}", request.requestId, e.getMessage());
+                    // the request will never report to be finished
+                    finished();
+                }
+            }
+        } finally {
+            if (!stopped) {
+                synchronized (this) {
+                    starting = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ProxyRequestQueue [running=" + runningRequests + ", queued=" + queue.size() + "]";
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * This class keeps the responses of static resources, like icons, for a short time. The apps request the same icons
+ * again and again while a sitemap is browsed, and the local openHAB renders each of them on every request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyResponseCache {
+    private static final String[] CACHEABLE_PATHS = { "/icon/", "/images/" };
+
+    /**
+     * A cached response, as it is sent to the openHAB Cloud
+     */
+    public static class Response {
+        public final JSONObject headers;
+        public final int statusCode;
+        public final List<byte[]> content;
+        private final long expiresAt;
+
+        Response(JSONObject headers, int statusCode, List<byte[]> content, long expiresAt) {
+            this.headers = headers;
+            this.statusCode = statusCode;
+            this.content = content;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Collects a response while it is proxied
+     */
+    public class ResponseBuilder {
+        private final String key;
+        private final List<byte[]> content = new ArrayList<>();
+        private @Nullable JSONObject headers;
+        private int statusCode;
+        private int size = 0;
+
+        private ResponseBuilder(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Sets the headers of the response. Only successful responses are cached.
+         *
+         * @param headers the headers as sent to the openHAB Cloud
+         * @param statusCode the HTTP status code
+         */
+        public void headers(JSONObject headers, int statusCode) {
+            this.headers = headers;
+            this.statusCode = statusCode;
+        }
+
+        /**
+         * Adds a chunk of the response body
+         *
+         * @param chunk the chunk as sent to the openHAB Cloud
+         */
+        public void content(byte[] chunk) {
+            size += chunk.length;
+            if (size <= maxResponseSize) {
+                content.add(chunk);
+            }
+        }
+
+        /**
+         * Adds the response to the cache, if it is complete and small enough
+         */
+        public void complete() {
+            JSONObject headers = this.headers;
+            if (headers != null && statusCode == 200 && size <= maxResponseSize) {
+                put(key, new Response(headers, statusCode, Collections.unmodifiableList(content),
+                        System.currentTimeMillis() + timeToLive));
+            }
+        }
+    }
+
+    private final long timeToLive;
+    private final int maxResponseSize;
+    private final Map<String, Response> responses;
+
+    /**
+     * Creates a cache
+     *
+     * @param timeToLive the time in milliseconds a response is served from the cache
+     * @param maxResponses the maximum number of responses in the cache
+     * @param maxResponseSize the maximum size in bytes of a cached response body
+     */
+    public ProxyResponseCache(long timeToLive, int maxResponses, int maxResponseSize) {
+        this.timeToLive = timeToLive;
+        this.maxResponseSize = maxResponseSize;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, Response> eldest) {
+                return size() > maxResponses;
+            }
+        };
+    }
+
+    /**
+     * Checks whether a response for the given request could be cached
+     *
+     * @param method the HTTP method of the request
+     * @param path the path of the request
+     * @return true for GET requests of static resources
+     */
+    public static boolean isCacheable(String method, String path) {
+        if (!"GET".equalsIgnoreCase(method)) {
+            return false;
+        }
+        for (String cacheablePath : CACHEABLE_PATHS) {
+            if (path.startsWith(cacheablePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a cached response
+     *
+     * @param key the key of the request, which includes the complete URI and the content encoding of the response
+     * @return the response or null if it is not cached or has expired
+     */
+    public synchronized @Nullable Response get(String key) {
+        Response response = responses.get(key);
+        if (response != null && response.expiresAt < System.currentTimeMillis()) {
+            responses.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Starts collecting a response for the cache
+     *
+     * @param key the key of the request, which includes the complete URI and the content encoding of the response
+     * @return the builder for the response
+     */
+    public ResponseBuilder newResponse(String key) {
+        return new ResponseBuilder(key);
+    }
+
+    /**
+     * Removes all responses
+     */
+    public synchronized void clear() {
+        responses.clear();
+    }
+
+    private synchronized void put(String key, Response response) {
+        responses.put(key, response);
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class compresses the body of a response that is proxied to the openHAB Cloud, if the requesting client
+ * accepts a gzip or deflate content encoding.
+ * Every chunk of the local response is compressed and flushed on its own, so that streamed responses are still
+ * forwarded as they arrive.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ResponseContentEncoder {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    /*
+     * Responses which are known to be smaller than this are not worth to be compressed
+     */
+    private static final int MIN_CONTENT_LENGTH = 256;
+
+    private final String encoding;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final DeflaterOutputStream stream;
+
+    private ResponseContentEncoder(String encoding) throws IOException {
+        this.encoding = encoding;
+        this.stream = GZIP.equals(encoding) ? new GZIPOutputStream(buffer, true)
+                : new DeflaterOutputStream(buffer, true);
+    }
+
+    /**
+     * Creates an encoder for the body of a response, if the response should be compressed
+     *
+     * @param acceptEncoding the value of the Accept-Encoding header of the request
+     * @param contentType the value of the Content-Type header of the response
+     * @param contentEncoding the value of the Content-Encoding header of the response
+     * @param contentLength the value of the Content-Length header of the response, or -1 if it is unknown
+     * @return the encoder or null if the response body should be forwarded as it is
+     */
+    public static @Nullable ResponseContentEncoder create(@Nullable String acceptEncoding,
+            @Nullable String contentType, @Nullable String contentEncoding, long contentLength) {
+        if (contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding.trim())) {
+            // already compressed by openHAB
+            return null;
+        }
+        if (contentLength >= 0 && contentLength < MIN_CONTENT_LENGTH || !isCompressible(contentType)) {
+            return null;
+        }
+        String encoding = negotiate(acceptEncoding);
+        if (encoding == null) {
+            return null;
+        }
+        try {
+            return new ResponseContentEncoder(encoding);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Selects the content encoding for the given Accept-Encoding header, gzip is preferred over deflate
+     *
+     * @param acceptEncoding the value of the Accept-Encoding header of the request
+     * @return gzip, deflate or null if none of them is accepted
+     */
+    static @Nullable String negotiate(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        @Nullable
+        Boolean gzip = null;
+        boolean deflate = false;
+        boolean any = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (GZIP.equals(name)) {
+                gzip = accepted;
+            } else if (DEFLATE.equals(name)) {
+                deflate = accepted;
+            } else if ("*".equals(name)) {
+                any = accepted;
+            }
+        }
+        if (gzip != null ? gzip : any) {
+            return GZIP;
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private static boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String mimeType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        // Server-sent events are pushed one by one, compressing them would only add overhead
+        return !"text/event-stream".equals(mimeType) && (mimeType.startsWith("text/") || mimeType.endsWith("+xml")
+                || mimeType.endsWith("+json") || "application/json".equals(mimeType)
+                || "application/javascript".equals(mimeType) || "application/xml".equals(mimeType));
+    }
+
+    /**
+     * Returns the content encoding of the compressed body
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Compresses a chunk of the response body
+     *
+     * @param content the chunk of the local response
+     * @return the compressed bytes, which may be empty
+     */
+    public byte[] encode(ByteBuffer content) throws IOException {
+        if (content.hasArray()) {
+            stream.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        } else {
+            byte[] bytes = new byte[content.remaining()];
+            content.duplicate().get(bytes);
+            stream.write(bytes);
+        }
+        stream.flush();
+        return drain();
+    }
+
+    /**
+     * Completes the compressed body and releases the compressor. Must be called once the response is complete or
+     * has failed.
+     *
+     * @return the remaining compressed bytes
+     */
+    public byte[] finish() throws IOException {
+        try (OutputStream out = stream) {
+            stream.finish();
+        }
+        return drain();
+    }
+
+    private byte[] drain() {
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        return bytes;
+    }
+}
@@ -49,6 +49,7 @@ public class JinjaTransformationService implements TransformationService {
 
     private final JinjavaConfig config = JinjavaConfig.newBuilder().withFailOnUnknownTokens(true).build();
     private final Jinjava jinjava = new Jinjava(config);
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -67,7 +68,7 @@ public class JinjaTransformationService implements TransformationService {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
+            JsonNode tree = objectMapper.readTree(value);
             bindings.put("value_json", toObject(tree));
         } catch (IOException e) {
             // ok, then value_json is null...
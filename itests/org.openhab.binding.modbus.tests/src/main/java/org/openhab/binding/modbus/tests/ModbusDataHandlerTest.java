@@ -14,6 +14,7 @@ package org.openhab.binding.modbus.tests;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,6 +30,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -103,6 +105,16 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         }
     }
 
+    private final class CountingTransformation implements TransformationService {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String transform(String function, String source) throws TransformationException {
+            calls.incrementAndGet();
+            return source;
+        }
+    }
+
     private static final String HOST = "thisishost";
     private static final int PORT = 44;
 
@@ -660,6 +672,228 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         assertSingleStateUpdate(dataHandler, CHANNEL_STRING, is(equalTo(new StringType("ON"))));
     }
 
+    private ModbusDataThingHandler createReadHandler(ModbusReadRequestBlueprint request, String start,
+            String transform, ValueType valueType, long updateUnchangedValuesEveryMillis) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", start);
+        dataConfig.put("readTransform", transform);
+        dataConfig.put("readValueType", valueType.getConfigValue());
+        dataConfig.put("updateUnchangedValuesEveryMillis", updateUnchangedValuesEveryMillis);
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig), bundleContext);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private static ModbusReadRequestBlueprint mockReadRequest(ModbusReadFunctionCode functionCode) {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(functionCode).when(request).getFunctionCode();
+        return request;
+    }
+
+    private List<State> waitForStateUpdates(ModbusDataThingHandler handler, String channel, int count) {
+        String itemName = getItemName(new ChannelUID(handler.getThing().getUID(), channel));
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(itemName);
+            assertThat(String.format("Updates of %s: %s", itemName, updates),
+                    updates == null ? 0 : updates.size(), is(equalTo(count)));
+        });
+        List<State> updates = getStateUpdates(itemName);
+        return updates == null ? List.of() : updates;
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueReusesStates() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "0", "COUNT(1)",
+                ModbusConstants.ValueType.INT16, 60_000L);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        int transformationCalls = transformation.calls.get();
+        assertThat(transformationCalls, is(greaterThan(0)));
+
+        // unchanged value: not transformed again, and unchanged channels are not updated again
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 1, 2)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(transformation.calls.get(), is(equalTo(transformationCalls)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 1), is(equalTo(List.of(new DecimalType(5)))));
+
+        // changed value is processed again
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(6, 1, 2)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 3);
+        assertThat(transformation.calls.get(), is(greaterThan(transformationCalls)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 2).get(1), is(equalTo(new DecimalType(6))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueUpdatedEveryTime() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "0", "COUNT(1)",
+                ModbusConstants.ValueType.INT16, 0L);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        int transformationCalls = transformation.calls.get();
+
+        // updateUnchangedValuesEveryMillis=0: the states of the previous poll are updated again, without
+        // transforming them again
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(transformation.calls.get(), is(equalTo(transformationCalls)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 2),
+                is(equalTo(List.of(new DecimalType(5), new DecimalType(5)))));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_STRING, 2),
+                is(equalTo(List.of(new StringType("5"), new StringType("5")))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedBitWithinRegister() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "1.1", "COUNT(1)",
+                ModbusConstants.ValueType.BIT, 60_000L);
+
+        // bit 1 of register 1 is set
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(0, 0b10, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        int transformationCalls = transformation.calls.get();
+
+        // other bits and registers changed, bit 1 of register 1 did not
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(0xffff, 0xfffe, 1)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(transformation.calls.get(), is(equalTo(transformationCalls)));
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(0xffff, 0xfffd, 1)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 3);
+        assertThat(transformation.calls.get(), is(greaterThan(transformationCalls)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 2),
+                is(equalTo(List.of(new DecimalType(1), new DecimalType(0)))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedInt8WithinRegister() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "0.1", "COUNT(1)",
+                ModbusConstants.ValueType.INT8, 60_000L);
+
+        // high byte of register 0
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(0x0301, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        int transformationCalls = transformation.calls.get();
+
+        // low byte changed, high byte did not
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(0x03ff, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(transformation.calls.get(), is(equalTo(transformationCalls)));
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(0xfeff, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 3);
+        assertThat(transformation.calls.get(), is(greaterThan(transformationCalls)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 2),
+                is(equalTo(List.of(new DecimalType(3), new DecimalType(-2)))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueAfterLinkChanges() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "0", "COUNT(1)",
+                ModbusConstants.ValueType.INT16, 60_000L);
+        ChannelUID numberUID = new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER);
+        AsyncModbusReadResult result = new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 0, 0));
+
+        dataHandler.onReadResult(result);
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        int transformationCalls = transformation.calls.get();
+
+        // the states of the previous poll do not cover the changed links, unchanged value is processed again
+        dataHandler.channelUnlinked(numberUID);
+        dataHandler.onReadResult(result);
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(transformation.calls.get(), is(greaterThan(transformationCalls)));
+        transformationCalls = transformation.calls.get();
+
+        dataHandler.onReadResult(result);
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 3);
+        assertThat(transformation.calls.get(), is(equalTo(transformationCalls)));
+
+        dataHandler.channelLinked(numberUID);
+        dataHandler.onReadResult(result);
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 4);
+        assertThat(transformation.calls.get(), is(greaterThan(transformationCalls)));
+    }
+
+    @Test
+    public void testOnRegistersValueAfterError() {
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "0", "default",
+                ModbusConstants.ValueType.INT16, 60_000L);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        dataHandler.handleReadError(
+                new AsyncModbusFailure<ModbusReadRequestBlueprint>(request, new Exception("fooerror")));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_ERROR, 1);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.OFFLINE)));
+
+        // unchanged value brings the thing back online
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(5, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        dataHandler.handleReadError(
+                new AsyncModbusFailure<ModbusReadRequestBlueprint>(request, new Exception("fooerror")));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_ERROR, 2);
+
+        // changed value is processed
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new ModbusRegisterArray(7, 0, 0)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 3);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 2),
+                is(equalTo(List.of(new DecimalType(5), new DecimalType(7)))));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_STRING, 2),
+                is(equalTo(List.of(new StringType("5"), new StringType("7")))));
+    }
+
+    @Test
+    public void testOnBitsUnchangedValue() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusReadRequestBlueprint request = mockReadRequest(ModbusReadFunctionCode.READ_COILS);
+        ModbusDataThingHandler dataHandler = createReadHandler(request, "1", "COUNT(1)",
+                ModbusConstants.ValueType.BIT, 60_000L);
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new BitArray(false, true, false)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 1);
+        int transformationCalls = transformation.calls.get();
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new BitArray(true, true, true)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 2);
+        assertThat(transformation.calls.get(), is(equalTo(transformationCalls)));
+
+        dataHandler.onReadResult(new AsyncModbusReadResult(request, new BitArray(true, false, true)));
+        waitForStateUpdates(dataHandler, CHANNEL_LAST_READ_SUCCESS, 3);
+        assertThat(transformation.calls.get(), is(greaterThan(transformationCalls)));
+        assertThat(waitForStateUpdates(dataHandler, CHANNEL_NUMBER, 2),
+                is(equalTo(List.of(new DecimalType(1), new DecimalType(0)))));
+    }
+
     @Test
     public void testWriteWithDataAsChildOfEndpoint() throws InvalidSyntaxException {
         captureModbusWrites();